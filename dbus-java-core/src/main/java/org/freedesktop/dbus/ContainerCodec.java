@@ -0,0 +1,219 @@
+package org.freedesktop.dbus;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.freedesktop.dbus.annotations.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and creates {@link Container} instances (Structs and Tuples) without per-instance reflection.<br>
+ * The {@link Position} annotated fields and the constructors of a class are inspected once,
+ * field access and instance creation afterwards use {@link MethodHandle}s.
+ * <br><br>
+ * Codecs are cached per class using a {@link ClassValue}, so the classes can still be unloaded. Codecs are thread-safe.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class ContainerCodec {
+    private static final Logger                            LOGGER          = LoggerFactory.getLogger(ContainerCodec.class);
+
+    private static final ClassValue<ContainerCodec>        CODECS          = new ClassValue<>() {
+        @Override
+        protected ContainerCodec computeValue(Class<?> _type) {
+            return new ContainerCodec(_type);
+        }
+    };
+
+    /** Primitive types in the order of allowed widening conversions. */
+    private static final List<Class<?>>                    WIDENING_ORDER  = Arrays.asList(byte.class, short.class, int.class, long.class, float.class, double.class);
+
+    private static final MethodType                        GETTER_TYPE     = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType                        CREATOR_TYPE    = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<?>                                 type;
+    private final Type[]                                   fieldTypes;
+    private final MethodHandle[]                           getters;
+    /** Reason why the field at the same position cannot be read, null if it is readable. */
+    private final Exception[]                              getterFailures;
+    private final Field[]                                  fields;
+    private final Creator[]                                creators;
+
+    private ContainerCodec(Class<?> _type) {
+        type = _type;
+        List<Field> positioned = new ArrayList<>();
+        int size = 0;
+        for (Field f : _type.getDeclaredFields()) {
+            Position p = f.getAnnotation(Position.class);
+            if (p != null) {
+                positioned.add(f);
+                size = Math.max(size, p.value() + 1);
+            }
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        fieldTypes = new Type[size];
+        getters = new MethodHandle[size];
+        getterFailures = new Exception[size];
+        fields = new Field[size];
+        for (Field f : positioned) {
+            int idx = f.getAnnotation(Position.class).value();
+            fieldTypes[idx] = f.getGenericType();
+            fields[idx] = f;
+            try {
+                f.setAccessible(true);
+                getters[idx] = lookup.unreflectGetter(f).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException _ex) {
+                // the field types are still usable to create signatures, fail when the value is read
+                LOGGER.trace("Cannot access field {} of {}", f.getName(), _type, _ex);
+                getterFailures[idx] = _ex;
+            }
+        }
+
+        List<Creator> ctors = new ArrayList<>();
+        for (Constructor<?> con : _type.getDeclaredConstructors()) {
+            try {
+                con.setAccessible(true);
+                MethodHandle mh = lookup.unreflectConstructor(con)
+                    .asSpreader(Object[].class, con.getParameterCount())
+                    .asType(CREATOR_TYPE);
+                ctors.add(new Creator(con, mh, null));
+            } catch (IllegalAccessException | RuntimeException _ex) {
+                LOGGER.trace("Cannot access constructor {} of {}", con, _type, _ex);
+                ctors.add(new Creator(con, null, _ex));
+            }
+        }
+        creators = ctors.toArray(new Creator[0]);
+    }
+
+    /**
+     * Returns the codec for the given {@link Container} subclass.
+     *
+     * @param _type class to get codec for
+     * @return ContainerCodec, never null
+     */
+    static ContainerCodec forClass(Class<?> _type) {
+        return CODECS.get(_type);
+    }
+
+    /**
+     * Generic types of all {@link Position} annotated fields, ordered by position.
+     * Positions without a field are null.
+     *
+     * @return array of types, must not be modified
+     */
+    Type[] getFieldTypes() {
+        return fieldTypes;
+    }
+
+    /**
+     * Reads the values of all {@link Position} annotated fields of the given instance.
+     *
+     * @param _instance instance to read
+     * @return values ordered by position
+     * @throws IllegalStateException if a {@link Position} annotated field is not accessible
+     */
+    Object[] getValues(Object _instance) {
+        Object[] values = new Object[getters.length];
+        for (int i = 0; i < getters.length; i++) {
+            if (getterFailures[i] != null) {
+                throw new IllegalStateException("Cannot access field " + fields[i].getName() + " of " + type, getterFailures[i]);
+            } else if (getters[i] == null) {
+                // no field annotated with this position
+                continue;
+            }
+            try {
+                values[i] = (Object) getters[i].invokeExact(_instance);
+            } catch (RuntimeException | Error _ex) {
+                throw _ex;
+            } catch (Throwable _ex) {
+                throw new IllegalStateException("Unable to read field of " + type, _ex);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Creates a new instance using the first constructor which accepts the given arguments.
+     *
+     * @param _args constructor arguments
+     * @return new instance or null if no constructor is compatible to the given arguments
+     * @throws InvocationTargetException when the constructor throws an exception
+     * @throws IllegalStateException if the first compatible constructor is not accessible
+     */
+    Object newInstance(Object[] _args) throws InvocationTargetException {
+        for (Creator creator : creators) {
+            if (!creator.accepts(_args)) {
+                continue;
+            } else if (creator.failure != null) {
+                throw new IllegalStateException("Cannot access constructor " + creator.constructor, creator.failure);
+            }
+            try {
+                return (Object) creator.handle.invokeExact(_args);
+            } catch (Throwable _ex) {
+                throw new InvocationTargetException(_ex);
+            }
+        }
+        LOGGER.trace("No constructor of {} accepts {}", type, _args);
+        return null;
+    }
+
+    static boolean isCompatible(Class<?> _paramType, Object _arg) {
+        if (_arg == null) {
+            return !_paramType.isPrimitive();
+        }
+        if (!_paramType.isPrimitive()) {
+            return _paramType.isInstance(_arg);
+        }
+
+        Class<?> argType = ArrayFrob.getWrapperToPrimitiveTypes().get(_arg.getClass());
+        if (argType == null) {
+            return false;
+        } else if (argType == _paramType) {
+            return true;
+        }
+        int from = WIDENING_ORDER.indexOf(argType);
+        int to = WIDENING_ORDER.indexOf(_paramType);
+        return from >= 0 && to > from;
+    }
+
+    /**
+     * Constructor of a container class.
+     */
+    private static final class Creator {
+        private final Constructor<?> constructor;
+        private final Class<?>[]     parameterTypes;
+        private final MethodHandle   handle;
+        /** Reason why the constructor cannot be used, null if handle is set. */
+        private final Exception      failure;
+
+        Creator(Constructor<?> _constructor, MethodHandle _handle, Exception _failure) {
+            constructor = _constructor;
+            parameterTypes = _constructor.getParameterTypes();
+            handle = _handle;
+            failure = _failure;
+        }
+
+        boolean accepts(Object[] _args) {
+            if (_args.length != parameterTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < _args.length; i++) {
+                if (!isCompatible(parameterTypes[i], _args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package org.freedesktop.dbus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.freedesktop.dbus.connections.AbstractConnection;
+import org.freedesktop.dbus.interfaces.DBusSerializable;
+import org.freedesktop.dbus.messages.Message.ArgumentType;
+import org.freedesktop.dbus.types.Variant;
+
+/**
+ * Converts values received on the bus to the generic parameter types of a method or constructor.<br>
+ * The declared types are matched against the D-Bus signature once. The resulting plan only applies the conversions
+ * which are required for this combination. Values which are already received in the expected representation
+ * (e.g. strings, numbers, variants and lists or maps of those) are passed through without inspecting them.
+ * If no conversion is required at all, applying the plan does nothing.
+ * <br><br>
+ * Whenever the required conversion cannot be determined from the types, the plan falls back to the conversion done
+ * by {@link Marshalling#deSerializeParameters(Object[], Type[], AbstractConnection)}.
+ * <br><br>
+ * Plans are immutable and thread-safe. Plans for methods are cached per received signature.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class ConversionPlan {
+    private static final Map<Method, Cache>          PARAMETER_PLANS = new ConcurrentHashMap<>();
+    private static final Map<Method, Cache>          RETURN_PLANS    = new ConcurrentHashMap<>();
+
+    private static final Converter                   IDENTITY        = (v, c) -> v;
+
+    private final Type[]                             types;
+    /** Converter for each value, null if the generic conversion has to be used. */
+    private final Converter[]                        converters;
+    /** True if none of the values requires a conversion. */
+    private final boolean                            noop;
+
+    private ConversionPlan(Type[] _types, Converter[] _converters) {
+        types = _types;
+        converters = _converters;
+
+        boolean identity = _converters != null;
+        if (_converters != null) {
+            for (Converter c : _converters) {
+                identity &= c == IDENTITY;
+            }
+        }
+        noop = identity;
+    }
+
+    /**
+     * Creates a plan converting values of the given signature to the given types.
+     *
+     * @param _types types to convert to
+     * @param _sig D-Bus signature of the received values, null if there are no values
+     * @return ConversionPlan
+     */
+    public static ConversionPlan create(Type[] _types, String _sig) {
+        String sig = _sig == null ? "" : _sig;
+        Converter[] converters = null;
+        try {
+            if (!requiresGenericConversion(_types)) {
+                List<Converter> compiled = new ArrayList<>();
+                int pos = 0;
+                while (pos < sig.length() && compiled.size() < _types.length) {
+                    compiled.add(compile(_types[compiled.size()], sig, pos, false));
+                    pos = skipType(sig, pos);
+                }
+                if (pos == sig.length() && compiled.size() == _types.length) {
+                    converters = compiled.toArray(new Converter[0]);
+                }
+            }
+        } catch (RuntimeException _ex) {
+            // invalid signature, the generic conversion will report it
+            converters = null;
+        }
+        return new ConversionPlan(_types, converters);
+    }
+
+    /**
+     * Returns the plan converting received values to the parameter types of the given method.
+     *
+     * @param _method method
+     * @param _sig D-Bus signature of the received values
+     * @return ConversionPlan
+     */
+    public static ConversionPlan forParameters(Method _method, String _sig) {
+        return PARAMETER_PLANS.computeIfAbsent(_method, m -> new Cache(m.getGenericParameterTypes())).get(_sig);
+    }
+
+    /**
+     * Returns the plan converting received values to the return type of the given method.
+     *
+     * @param _method method
+     * @param _sig D-Bus signature of the received values
+     * @return ConversionPlan
+     */
+    public static ConversionPlan forReturnValue(Method _method, String _sig) {
+        return RETURN_PLANS.computeIfAbsent(_method, m -> new Cache(new Type[] {RemoteInvocationHandler.getResultType(m)})).get(_sig);
+    }
+
+    /**
+     * True if values received with the signature of this plan never require a conversion.
+     * @return boolean
+     */
+    public boolean isNoop() {
+        return noop;
+    }
+
+    /**
+     * Converts the given values.
+     * The given array is modified and returned, unless values had to be combined (e.g. into a Tuple).
+     *
+     * @param _parameters values received on the bus
+     * @param _conn connection
+     * @return converted values
+     * @throws Exception when conversion fails
+     */
+    public Object[] apply(Object[] _parameters, AbstractConnection _conn) throws Exception {
+        if (null == _parameters || noop && _parameters.length == converters.length) {
+            return _parameters;
+        }
+        if (converters == null || _parameters.length != converters.length) {
+            return Marshalling.deSerializeParameters(_parameters, types, _conn);
+        }
+
+        for (int i = 0; i < _parameters.length; i++) {
+            if (null != _parameters[i]) {
+                _parameters[i] = converters[i].convert(_parameters[i], _conn);
+            }
+        }
+        return _parameters;
+    }
+
+    /**
+     * Checks for types which combine or split several values.
+     */
+    private static boolean requiresGenericConversion(Type[] _types) {
+        if (_types.length == 1 && Tuple.class.isAssignableFrom(rawClass(_types[0]))) {
+            return true;
+        }
+        for (Type t : _types) {
+            if (DBusSerializable.class.isAssignableFrom(rawClass(t))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> rawClass(Type _type) {
+        if (_type instanceof Class) {
+            return (Class<?>) _type;
+        } else if (_type instanceof ParameterizedType && ((ParameterizedType) _type).getRawType() instanceof Class) {
+            return (Class<?>) ((ParameterizedType) _type).getRawType();
+        }
+        return Object.class;
+    }
+
+    /**
+     * Returns the index of the first character after the complete type starting at the given index.
+     */
+    private static int skipType(String _sig, int _pos) {
+        byte code = (byte) _sig.charAt(_pos);
+        if (code == ArgumentType.ARRAY) {
+            return skipType(_sig, _pos + 1);
+        } else if (code == ArgumentType.STRUCT1 || code == ArgumentType.DICT_ENTRY1) {
+            byte end = code == ArgumentType.STRUCT1 ? ArgumentType.STRUCT2 : ArgumentType.DICT_ENTRY2;
+            int pos = _pos + 1;
+            while (_sig.charAt(pos) != end) {
+                pos = skipType(_sig, pos);
+            }
+            return pos + 1;
+        }
+        return _pos + 1;
+    }
+
+    /**
+     * Creates the converter for a value of the D-Bus type starting at the given index.
+     *
+     * @param _type type to convert to
+     * @param _sig signature
+     * @param _pos start of the type in signature
+     * @param _contained true if the value is part of an array, struct or dict entry
+     * @return Converter
+     */
+    private static Converter compile(Type _type, String _sig, int _pos, boolean _contained) {
+        byte code = (byte) _sig.charAt(_pos);
+        switch (code) {
+            case ArgumentType.BYTE:
+            case ArgumentType.BOOLEAN:
+            case ArgumentType.INT16:
+            case ArgumentType.UINT16:
+            case ArgumentType.INT32:
+            case ArgumentType.UINT32:
+            case ArgumentType.INT64:
+            case ArgumentType.UINT64:
+            case ArgumentType.DOUBLE:
+            case ArgumentType.STRING:
+            case ArgumentType.SIGNATURE:
+            case ArgumentType.FILEDESCRIPTOR:
+                return isPlainClass(_type) ? IDENTITY : generic(_type);
+            case ArgumentType.VARIANT:
+                return isPlainClass(_type) || Variant.class.equals(rawClass(_type)) && _type instanceof ParameterizedType
+                    ? IDENTITY : generic(_type);
+            case ArgumentType.ARRAY:
+                return compileArray(_type, _sig, _pos + 1, _contained);
+            case ArgumentType.STRUCT1:
+                return compileStruct(_type, _sig, _pos);
+            default:
+                return generic(_type);
+        }
+    }
+
+    private static Converter compileArray(Type _type, String _sig, int _elementPos, boolean _contained) {
+        byte element = (byte) _sig.charAt(_elementPos);
+
+        if (element == ArgumentType.DICT_ENTRY1) {
+            // received as DBusMap
+            if (!(_type instanceof ParameterizedType) || !Map.class.isAssignableFrom(rawClass(_type))) {
+                return generic(_type);
+            }
+            Type[] args = ((ParameterizedType) _type).getActualTypeArguments();
+            int keyPos = _elementPos + 1;
+            Converter key = compile(args[0], _sig, keyPos, true);
+            Converter value = compile(args[1], _sig, skipType(_sig, keyPos), true);
+            return key == IDENTITY && value == IDENTITY ? IDENTITY : mapConverter(_type, key, value);
+        }
+
+        Class<?> primitiveArray = _contained ? null : primitiveArrayClass(element);
+        if (primitiveArray != null) {
+            // received as primitive array
+            return primitiveArray.equals(_type) ? IDENTITY : generic(_type);
+        }
+
+        // received as List
+        if (!(_type instanceof ParameterizedType) || !List.class.equals(rawClass(_type))) {
+            return generic(_type);
+        }
+        Converter converter = compile(((ParameterizedType) _type).getActualTypeArguments()[0], _sig, _elementPos, true);
+        return converter == IDENTITY ? IDENTITY : listConverter(_type, converter);
+    }
+
+    private static Converter compileStruct(Type _type, String _sig, int _pos) {
+        if (!(_type instanceof Class) || !Struct.class.isAssignableFrom((Class<?>) _type)) {
+            return generic(_type);
+        }
+        ContainerCodec codec = ContainerCodec.forClass((Class<?>) _type);
+        Type[] fieldTypes = codec.getFieldTypes();
+        if (requiresGenericConversion(fieldTypes)) {
+            return generic(_type);
+        }
+
+        List<Converter> fields = new ArrayList<>();
+        int pos = _pos + 1;
+        while (_sig.charAt(pos) != ArgumentType.STRUCT2) {
+            if (fields.size() == fieldTypes.length) {
+                return generic(_type);
+            }
+            fields.add(compile(fieldTypes[fields.size()], _sig, pos, true));
+            pos = skipType(_sig, pos);
+        }
+        if (fields.size() != fieldTypes.length) {
+            return generic(_type);
+        }
+        return structConverter(_type, codec, fields.toArray(new Converter[0]));
+    }
+
+    /**
+     * Checks if a value received as basic type or variant can be passed to the given type without conversion.
+     */
+    private static boolean isPlainClass(Type _type) {
+        if (!(_type instanceof Class)) {
+            return false;
+        }
+        Class<?> clz = (Class<?>) _type;
+        return !clz.isArray() && !Float.class.equals(clz) && !Float.TYPE.equals(clz) && !Enum.class.isAssignableFrom(clz);
+    }
+
+    private static Class<?> primitiveArrayClass(byte _element) {
+        switch (_element) {
+            case ArgumentType.BYTE:
+                return byte[].class;
+            case ArgumentType.BOOLEAN:
+                return boolean[].class;
+            case ArgumentType.INT16:
+                return short[].class;
+            case ArgumentType.INT32:
+                return int[].class;
+            case ArgumentType.INT64:
+                return long[].class;
+            case ArgumentType.FLOAT:
+                return float[].class;
+            case ArgumentType.DOUBLE:
+                return double[].class;
+            default:
+                return null;
+        }
+    }
+
+    private static Converter generic(Type _type) {
+        return (v, c) -> Marshalling.deSerializeParameter(v, _type, c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Converter listConverter(Type _type, Converter _element) {
+        return (v, c) -> {
+            if (!(v instanceof List)) {
+                return Marshalling.deSerializeParameter(v, _type, c);
+            }
+            List<Object> list = (List<Object>) v;
+            for (int i = 0; i < list.size(); i++) {
+                Object o = list.get(i);
+                if (null != o) {
+                    list.set(i, _element.convert(o, c));
+                }
+            }
+            return list;
+        };
+    }
+
+    private static Converter mapConverter(Type _type, Converter _key, Converter _value) {
+        return (v, c) -> {
+            if (!(v instanceof DBusMap)) {
+                return Marshalling.deSerializeParameter(v, _type, c);
+            }
+            DBusMap<?, ?> dmap = (DBusMap<?, ?>) v;
+            for (Object[] entry : dmap.entries) {
+                if (null != entry[0]) {
+                    entry[0] = _key.convert(entry[0], c);
+                }
+                if (null != entry[1]) {
+                    entry[1] = _value.convert(entry[1], c);
+                }
+            }
+            dmap.entriesChanged();
+            return dmap;
+        };
+    }
+
+    private static Converter structConverter(Type _type, ContainerCodec _codec, Converter[] _fields) {
+        return (v, c) -> {
+            if (!(v instanceof Object[]) || ((Object[]) v).length != _fields.length) {
+                return Marshalling.deSerializeParameter(v, _type, c);
+            }
+            Object[] values = (Object[]) v;
+            for (int i = 0; i < values.length; i++) {
+                if (null != values[i]) {
+                    values[i] = _fields[i].convert(values[i], c);
+                }
+            }
+            Object struct = _codec.newInstance(values);
+            return struct == null ? values : struct;
+        };
+    }
+
+    /**
+     * Plans converting to the same types, one plan for each received signature.<br>
+     * Up to {@value #MAX_SIGNATURES} plans are cached, plans for further signatures are created on each call.
+     * <br><br>
+     * Thread-safe.
+     *
+     * @author hypfvieh
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static final class Cache {
+        private static final int                  MAX_SIGNATURES = 16;
+
+        private final Type[]                      types;
+        private final Map<String, ConversionPlan> plans          = new ConcurrentHashMap<>();
+
+        /**
+         * Creates a cache for plans converting to the given types.
+         *
+         * @param _types types to convert to
+         */
+        public Cache(Type[] _types) {
+            types = _types;
+        }
+
+        /**
+         * Returns the plan converting values of the given signature.
+         *
+         * @param _sig D-Bus signature of the received values, null if there are no values
+         * @return ConversionPlan
+         */
+        public ConversionPlan get(String _sig) {
+            String sig = Objects.requireNonNullElse(_sig, "");
+            ConversionPlan plan = plans.get(sig);
+            if (plan == null) {
+                plan = create(types, sig);
+                if (plans.size() < MAX_SIGNATURES) {
+                    plans.putIfAbsent(sig, plan);
+                }
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Converts a single value.
+     */
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(Object _value, AbstractConnection _conn) throws Exception;
+    }
+}
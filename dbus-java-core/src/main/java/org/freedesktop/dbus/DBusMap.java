@@ -11,13 +11,88 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DBusMap<K, V> implements Map<K, V> {
+    /** Maps with at least this number of entries use a hash index for lookups. */
+    private static final int INDEX_THRESHOLD = 16;
+
     // CHECKSTYLE:OFF
     Object[][] entries;
     // CHECKSTYLE:ON
+
+    /**
+     * Open addressing hash table containing the entry index + 1 (0 marks a free slot).
+     * Created on the first lookup in a large map.
+     */
+    private volatile int[] index;
+
     public DBusMap(Object[][] _entries) {
         this.entries = _entries;
     }
 
+    /**
+     * Must be called when keys in {@link #entries} were replaced.
+     */
+    void entriesChanged() {
+        index = null;
+    }
+
+    /**
+     * Returns the position of the given key in {@link #entries}.
+     *
+     * @param _key key to find
+     * @return index or -1 if key is not contained
+     */
+    private int indexOf(Object _key) {
+        if (entries.length < INDEX_THRESHOLD) {
+            for (int i = 0; i < entries.length; i++) {
+                if (_key == entries[i][0] || _key != null && _key.equals(entries[i][0])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int[] table = index;
+        if (table == null) {
+            table = buildIndex();
+            index = table;
+        }
+
+        int mask = table.length - 1;
+        for (int slot = hash(_key) & mask;; slot = (slot + 1) & mask) {
+            int i = table[slot] - 1;
+            if (i < 0) {
+                return -1;
+            }
+            if (_key == entries[i][0] || _key != null && _key.equals(entries[i][0])) {
+                return i;
+            }
+        }
+    }
+
+    private int[] buildIndex() {
+        int[] table = new int[Integer.highestOneBit(entries.length) << 2];
+        int mask = table.length - 1;
+        for (int i = 0; i < entries.length; i++) {
+            Object key = entries[i][0];
+            for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+                int existing = table[slot] - 1;
+                if (existing < 0) {
+                    table[slot] = i + 1;
+                    break;
+                } else if (Objects.equals(key, entries[existing][0])) {
+                    // duplicate key, first entry wins like in the linear search
+                    break;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int hash(Object _key) {
+        int h = _key == null ? 0 : _key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
     class Entry implements Map.Entry<K, V>, Comparable<Entry> {
         private final int entry;
 
@@ -72,12 +147,7 @@ public class DBusMap<K, V> implements Map<K, V> {
 
     @Override
     public boolean containsKey(Object _key) {
-        for (Object[] entry : entries) {
-            if (Objects.equals(_key, entry[0])) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(_key) >= 0;
     }
 
     @Override
@@ -102,12 +172,8 @@ public class DBusMap<K, V> implements Map<K, V> {
     @Override
     @SuppressWarnings("unchecked")
     public V get(Object _key) {
-        for (Object[] entry : entries) {
-            if (_key == entry[0] || _key != null && _key.equals(entry[0])) {
-                return (V) entry[1];
-            }
-        }
-        return null;
+        int i = indexOf(_key);
+        return i < 0 ? null : (V) entries[i][1];
     }
 
     @Override
@@ -2,12 +2,12 @@ package org.freedesktop.dbus;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -16,7 +16,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.freedesktop.dbus.annotations.Position;
 import org.freedesktop.dbus.connections.AbstractConnection;
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.interfaces.DBusInterface;
@@ -35,6 +34,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Contains static methods for marshalling values.
+ * <br><br>
+ * {@link ByteBuffer} is marshalled as array of bytes (ay). The remaining content of the buffer is sent,
+ * the position of the buffer is not changed.<br>
+ * Heap buffers of at least 8 KiB which span their whole backing array are not copied, the backing array is
+ * written to the bus as it is. Messages are sent asynchronously, so the content of such a buffer must not be
+ * modified until the message was sent (e.g. until the reply to a method call was received).
+ * Other buffers are copied when the message is created.
  */
 public final class Marshalling {
     private static final Logger LOGGER = LoggerFactory.getLogger(Marshalling.class);
@@ -258,19 +264,7 @@ public final class Marshalling {
                 }
             } else if (Struct.class.isAssignableFrom((Class<?>) _dataType)) {
                 _out[_level].append((char) Message.ArgumentType.STRUCT1);
-                Type[] ts = Container.getTypeCache(_dataType);
-                if (null == ts) {
-                    Field[] fs = ((Class<?>) _dataType).getDeclaredFields();
-                    ts = new Type[fs.length];
-                    for (Field f : fs) {
-                        Position p = f.getAnnotation(Position.class);
-                        if (null == p) {
-                            continue;
-                        }
-                        ts[p.value()] = f.getGenericType();
-                    }
-                    Container.putTypeCache(_dataType, ts);
-                }
+                Type[] ts = ContainerCodec.forClass(dataTypeClazz).getFieldTypes();
 
                 for (Type t : ts) {
                     if (t != null) {
@@ -281,6 +275,8 @@ public final class Marshalling {
                 }
                 _out[_level].append(')');
 
+            } else if (ByteBuffer.class.isAssignableFrom(dataTypeClazz)) {
+                _out[_level].append((char) Message.ArgumentType.ARRAY).append((char) Message.ArgumentType.BYTE);
             } else if(Enum.class.isAssignableFrom(dataTypeClazz)) {
                 _out[_level].append((char) Message.ArgumentType.STRING);
             }
@@ -501,6 +497,11 @@ public final class Marshalling {
             }
         }
 
+        // byte array requested as ByteBuffer, wrap it without copying
+        if (_parameter instanceof byte[] && ByteBuffer.class.equals(_type)) {
+            _parameter = ByteBuffer.wrap((byte[]) _parameter);
+        }
+
         // its an enum, parse either as the string name or the ordinal
         if(_parameter instanceof String && _type instanceof Class && Enum.class.isAssignableFrom((Class<?>)_type)) {
         	_parameter = Enum.valueOf((Class<Enum>) _type, (String)_parameter);
@@ -509,29 +510,13 @@ public final class Marshalling {
         // it should be a struct. create it
         if (_parameter instanceof Object[] && _type instanceof Class && Struct.class.isAssignableFrom((Class<?>) _type)) {
             LOGGER.trace("Creating Struct {} from {}", _type, _parameter);
-            Type[] ts = Container.getTypeCache(_type);
-            if (null == ts) {
-                Field[] fs = ((Class<?>) _type).getDeclaredFields();
-                ts = new Type[fs.length];
-                for (Field f : fs) {
-                    Position p = f.getAnnotation(Position.class);
-                    if (null == p) {
-                        continue;
-                    }
-                    ts[p.value()] = f.getGenericType();
-                }
-                Container.putTypeCache(_type, ts);
-            }
+            ContainerCodec codec = ContainerCodec.forClass((Class<?>) _type);
 
             // recurse over struct contents
-            _parameter = deSerializeParameters((Object[]) _parameter, ts, _conn);
-            for (Constructor<?> con : ((Class<?>) _type).getDeclaredConstructors()) {
-                try {
-                    _parameter = con.newInstance((Object[]) _parameter);
-                    break;
-                } catch (IllegalArgumentException _exIa) {
-                    LOGGER.trace("Could not create new instance", _exIa);
-                }
+            _parameter = deSerializeParameters((Object[]) _parameter, codec.getFieldTypes(), _conn);
+            Object struct = codec.newInstance((Object[]) _parameter);
+            if (struct != null) {
+                _parameter = struct;
             }
         }
 
@@ -606,6 +591,7 @@ public final class Marshalling {
                 dmap.entries[i][0] = deSerializeParameter(dmap.entries[i][0], maptypes[0], _conn);
                 dmap.entries[i][1] = deSerializeParameter(dmap.entries[i][1], maptypes[1], _conn);
             }
+            dmap.entriesChanged();
         }
         return _parameter;
     }
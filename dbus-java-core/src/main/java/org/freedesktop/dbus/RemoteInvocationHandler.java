@@ -3,8 +3,10 @@ package org.freedesktop.dbus;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
 
 import org.freedesktop.dbus.annotations.MethodNoReply;
 import org.freedesktop.dbus.connections.AbstractConnection;
@@ -15,7 +17,9 @@ import org.freedesktop.dbus.exceptions.DBusExecutionException;
 import org.freedesktop.dbus.exceptions.NotConnected;
 import org.freedesktop.dbus.interfaces.CallbackHandler;
 import org.freedesktop.dbus.interfaces.DBusInterface;
+import org.freedesktop.dbus.messages.BufferPool;
 import org.freedesktop.dbus.messages.Message;
+import org.freedesktop.dbus.messages.MessageFactory;
 import org.freedesktop.dbus.messages.MethodCall;
 import org.freedesktop.dbus.utils.DBusNamingUtil;
 import org.freedesktop.dbus.utils.LoggingHelper;
@@ -26,6 +30,8 @@ public class RemoteInvocationHandler implements InvocationHandler {
     public static final int CALL_TYPE_SYNC     = 0;
     public static final int CALL_TYPE_ASYNC    = 1;
     public static final int CALL_TYPE_CALLBACK = 2;
+    /** Call returning a {@link CompletableFuture} which is completed when the reply is received. */
+    public static final int CALL_TYPE_FUTURE   = 3;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteInvocationHandler.class);
     // CHECKSTYLE:OFF
@@ -34,21 +40,46 @@ public class RemoteInvocationHandler implements InvocationHandler {
     // CHECKSTYLE:ON
 
 
+    /**
+     * Type of the value returned by the remote method.
+     * For methods returning a {@link CompletableFuture} this is the type the future is completed with.
+     *
+     * @param _m method
+     * @return type
+     * @since 4.2.2 - 2026-10-17
+     */
+    static Type getResultType(Method _m) {
+        Type type = _m.getGenericReturnType();
+        if (!CompletableFuture.class.equals(_m.getReturnType())) {
+            return type;
+        } else if (type instanceof ParameterizedType) {
+            Type result = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return result instanceof Class<?> || result instanceof ParameterizedType ? result : Object.class;
+        }
+        return Object.class;
+    }
+
+    private static boolean isVoid(Class<?> _c) {
+        return null == _c || Void.TYPE.equals(_c) || Void.class.equals(_c);
+    }
+
     public static Object convertRV(String _sig, Object[] _rp, Method _m, AbstractConnection _conn) throws DBusException {
-        Class<? extends Object> c = _m.getReturnType();
+        Type resultType = getResultType(_m);
+        Class<?> c = _m.getReturnType();
+        if (CompletableFuture.class.equals(c)) {
+            c = (Class<?>) (resultType instanceof ParameterizedType ? ((ParameterizedType) resultType).getRawType() : resultType);
+        }
 
         if (null == _rp) {
-            if (null == c || Void.TYPE.equals(c)) {
+            if (isVoid(c)) {
                 return null;
             } else {
                 throw new DBusException("Wrong return type (got void, expected a value)");
             }
         } else {
             try {
-                LOGGER.trace("Converting return parameters from {} to type {}",LoggingHelper.arraysDeepString(LOGGER.isTraceEnabled(), _rp), _m.getGenericReturnType());
-                _rp = Marshalling.deSerializeParameters(_rp, new Type[] {
-                        _m.getGenericReturnType()
-                }, _conn);
+                LOGGER.trace("Converting return parameters from {} to type {}",LoggingHelper.arraysDeepString(LOGGER.isTraceEnabled(), _rp), resultType);
+                _rp = ConversionPlan.forReturnValue(_m, _sig).apply(_rp, _conn);
             } catch (Exception e) {
                 LOGGER.debug("Wrong return type.", e);
                 throw new DBusException(String.format("Wrong return type (failed to de-serialize correct types: %s )", e.getMessage()));
@@ -57,7 +88,7 @@ public class RemoteInvocationHandler implements InvocationHandler {
 
         switch (_rp.length) {
         case 0:
-            if (null == c || Void.TYPE.equals(c)) {
+            if (isVoid(c)) {
                 return null;
             } else {
                 throw new DBusException("Wrong return type (got void, expected a value)");
@@ -105,16 +136,17 @@ public class RemoteInvocationHandler implements InvocationHandler {
         }
         try {
             String name = DBusNamingUtil.getMethodName(_m);
-            if (null == _ro.getInterface()) {
-                call = new MethodCall(_ro.getBusName(), _ro.getObjectPath(), null, name, flags, sig, _args);
-            } else {
-                String iface = DBusNamingUtil.getInterfaceName(_ro.getInterface());
-                call = new MethodCall(_ro.getBusName(), _ro.getObjectPath(), iface, name, flags, sig, _args);
-            }
+            String iface = null == _ro.getInterface() ? null : DBusNamingUtil.getInterfaceName(_ro.getInterface());
+            // asynchronous calls are handed out to the caller, so they must not use pooled buffers
+            BufferPool pool = _syncmethod == CALL_TYPE_ASYNC ? null : _conn.getBufferPool();
+            call = MessageFactory.createMethodCall(pool, _ro.getBusName(), _ro.getObjectPath(), iface, name, flags, sig, _args);
         } catch (DBusException dbe) {
             LOGGER.debug("Failed to construct outgoing method call.", dbe);
             throw new DBusExecutionException("Failed to construct outgoing method call: " + dbe.getMessage());
         }
+        if (_ro.getReplyTimeout() > 0) {
+            call.setTimeout(_ro.getReplyTimeout());
+        }
         if (!_conn.isConnected()) {
             throw new NotConnected("Not Connected");
         }
@@ -127,6 +159,15 @@ public class RemoteInvocationHandler implements InvocationHandler {
                 _conn.queueCallback(call, _m, _callback);
                 _conn.sendMessage(call);
                 return null;
+            case CALL_TYPE_FUTURE:
+                if (_m.isAnnotationPresent(MethodNoReply.class)) {
+                    _conn.sendMessage(call);
+                    return CompletableFuture.completedFuture(null);
+                }
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                _conn.queueCallback(call, _m, new FutureCallbackHandler(future));
+                _conn.sendMessage(call);
+                return future;
             case CALL_TYPE_SYNC:
                 _conn.sendMessage(call);
                 break;
@@ -203,6 +244,35 @@ public class RemoteInvocationHandler implements InvocationHandler {
             return remote.toString();
         }
 
+        if (CompletableFuture.class.equals(_method.getReturnType())) {
+            try {
+                return executeRemoteMethod(remote, _method, conn, CALL_TYPE_FUTURE, null, _args);
+            } catch (DBusExecutionException _ex) {
+                return CompletableFuture.failedFuture(_ex);
+            }
+        }
+
         return executeRemoteMethod(remote, _method, conn, CALL_TYPE_SYNC, null, _args);
     }
+
+    /**
+     * Completes a future with the result of an asynchronous call.
+     */
+    private static final class FutureCallbackHandler implements CallbackHandler<Object> {
+        private final CompletableFuture<Object> future;
+
+        FutureCallbackHandler(CompletableFuture<Object> _future) {
+            future = _future;
+        }
+
+        @Override
+        public void handle(Object _r) {
+            future.complete(_r);
+        }
+
+        @Override
+        public void handleError(DBusExecutionException _ex) {
+            future.completeExceptionally(_ex);
+        }
+    }
 }
@@ -7,6 +7,7 @@ public class RemoteObject {
     private final String                         objectpath;
     private final Class<? extends DBusInterface> iface;
     private final boolean                        autostart;
+    private volatile long                        replyTimeout;
 
     public RemoteObject(String _busname, String _objectpath, Class<? extends DBusInterface> _iface, boolean _autostart) {
         this.busname = _busname;
@@ -62,6 +63,26 @@ public class RemoteObject {
         return iface;
     }
 
+    /**
+     * Time to wait for replies of method calls on this object.
+     *
+     * @return timeout in ms, 0 to use the default timeout of {@link org.freedesktop.dbus.messages.MethodCall}
+     * @since 4.2.2 - 2026-10-17
+     */
+    public long getReplyTimeout() {
+        return replyTimeout;
+    }
+
+    /**
+     * Set the time to wait for replies of method calls on this object.
+     *
+     * @param _replyTimeout timeout in ms, 0 to use the default timeout
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void setReplyTimeout(long _replyTimeout) {
+        replyTimeout = _replyTimeout;
+    }
+
     @Override
     public String toString() {
         return busname + ":" + objectpath + ":" + iface;
@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.freedesktop.dbus.Marshalling;
 import org.freedesktop.dbus.connections.BusAddress;
@@ -77,6 +78,7 @@ public class DBusDaemon extends Thread implements Closeable {
     private final AtomicBoolean                                                 run             =
             new AtomicBoolean(false);
     private AtomicInteger                                                       nextUnique      = new AtomicInteger(0);
+    private final AtomicLong                                                    lastSerial      = new AtomicLong(0);
 
     public DBusDaemon() {
         setName(getClass().getSimpleName() + "-Thread");
@@ -88,6 +90,14 @@ public class DBusDaemon extends Thread implements Closeable {
     }
 
     private void send(ConnectionStruct _connStruct, Message _msg, boolean _head) {
+        // messages created by the daemon get their serial here, forwarded messages keep the serial of the sender
+        if (_msg.getSerial() == 0) {
+            long serial;
+            do {
+                serial = lastSerial.incrementAndGet() & 0xFFFFFFFFL;
+            } while (serial == 0);
+            _msg.assignSerial(serial);
+        }
 
         // send to all connections
         if (null == _connStruct) {
@@ -5,6 +5,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
@@ -12,7 +13,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -20,13 +20,15 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
+import org.freedesktop.dbus.ConversionPlan;
 import org.freedesktop.dbus.DBusAsyncReply;
 import org.freedesktop.dbus.DBusCallInfo;
 import org.freedesktop.dbus.DBusMatchRule;
@@ -34,11 +36,13 @@ import org.freedesktop.dbus.Marshalling;
 import org.freedesktop.dbus.MethodTuple;
 import org.freedesktop.dbus.RemoteInvocationHandler;
 import org.freedesktop.dbus.RemoteObject;
+import org.freedesktop.dbus.connections.PendingCallbackManager.PendingCallback;
 import org.freedesktop.dbus.connections.config.ReceivingServiceConfig;
 import org.freedesktop.dbus.connections.config.TransportConfig;
 import org.freedesktop.dbus.connections.transports.AbstractTransport;
 import org.freedesktop.dbus.connections.transports.TransportBuilder;
 import org.freedesktop.dbus.errors.Error;
+import org.freedesktop.dbus.errors.NoReply;
 import org.freedesktop.dbus.errors.UnknownMethod;
 import org.freedesktop.dbus.errors.UnknownObject;
 import org.freedesktop.dbus.exceptions.DBusException;
@@ -48,9 +52,11 @@ import org.freedesktop.dbus.exceptions.NotConnected;
 import org.freedesktop.dbus.interfaces.CallbackHandler;
 import org.freedesktop.dbus.interfaces.DBusInterface;
 import org.freedesktop.dbus.interfaces.DBusSigHandler;
+import org.freedesktop.dbus.messages.BufferPool;
 import org.freedesktop.dbus.messages.DBusSignal;
 import org.freedesktop.dbus.messages.ExportedObject;
 import org.freedesktop.dbus.messages.Message;
+import org.freedesktop.dbus.messages.MessageFactory;
 import org.freedesktop.dbus.messages.MethodCall;
 import org.freedesktop.dbus.messages.MethodReturn;
 import org.freedesktop.dbus.messages.ObjectTree;
@@ -106,15 +112,20 @@ public abstract class AbstractConnection implements Closeable {
 
     private final Map<DBusMatchRule, Queue<DBusSigHandler<? extends DBusSignal>>> handledSignals;
     private final Map<DBusMatchRule, Queue<DBusSigHandler<DBusSignal>>>           genericHandledSignals;
-    private final Map<Long, MethodCall>                                           pendingCalls;
+    private final PendingCallTable                                                pendingCalls;
 
     private final IncomingMessageThread                                           readerThread;
-    private final ExecutorService                                                 senderService;
+    private final OutgoingMessageQueue                                            outgoingQueue;
+    /** Held while messages are prepared and written, keeps serials and write order of all writing threads in sync. */
+    private final ReentrantLock                                                   writeLock            = new ReentrantLock();
+    private final boolean                                                         inlineWrites;
     private final ReceivingService                                                receivingService;
     private final TransportBuilder                                                transportBuilder;
 
     private boolean                                                               weakreferences       = false;
     private volatile boolean                                                      disconnecting        = false;
+    /** Set by the first thread which disconnects because a message could not be written. */
+    private final AtomicBoolean                                                   writeErrorHandled    = new AtomicBoolean();
 
     private AbstractTransport                                                     transport;
 
@@ -131,14 +142,14 @@ public abstract class AbstractConnection implements Closeable {
         handledSignals = new ConcurrentHashMap<>();
         genericHandledSignals = new ConcurrentHashMap<>();
 
-        pendingCalls = Collections.synchronizedMap(new LinkedHashMap<>());
+        pendingCalls = new PendingCallTable(this::expirePendingCall);
         callbackManager = new PendingCallbackManager();
 
         pendingErrorQueue = new ConcurrentLinkedQueue<>();
 
         receivingService = new ReceivingService(_rsCfg);
-        senderService =
-                Executors.newFixedThreadPool(1, new NameableThreadFactory("DBus Sender Thread-", false));
+        outgoingQueue = new OutgoingMessageQueue(this::sendQueuedMessages, _transportConfig.getWriteBatchWindowNanos());
+        inlineWrites = _transportConfig.isInlineWrites();
 
         objectTree = new ObjectTree();
         fallbackContainer = new FallbackContainer();
@@ -385,6 +396,11 @@ public abstract class AbstractConnection implements Closeable {
 
     /**
      * Send a message or signal to the DBus daemon.
+     * <p>
+     * The message is usually written by a sender thread after this method returned.
+     * Large {@link java.nio.ByteBuffer} arguments are sent without copying them
+     * (see {@link Marshalling}) and must not be modified before the message was written.
+     * </p>
      * @param _message message to send
      */
     public void sendMessage(Message _message) {
@@ -392,14 +408,44 @@ public abstract class AbstractConnection implements Closeable {
             throw new NotConnected("Cannot send message: Not connected");
         }
 
-        Runnable runnable = new Runnable() {
-			@Override
-			public void run() {
-				sendMessageInternally(_message);
-			}
-    	};
+        if (inlineWrites && tryWriteInline(_message)) {
+            return;
+        }
+        try {
+            outgoingQueue.add(_message);
+        } catch (IllegalStateException _ex) {
+            // connection was closed concurrently
+            throw new NotConnected("Cannot send message: Not connected");
+        }
+    }
+
+    /**
+     * Writes the message in the current thread if no other thread is writing.
+     * Messages still waiting in the send queue are never overtaken.
+     *
+     * @param _message message to send
+     * @return true if the message was sent, false if it has to be queued
+     */
+    private boolean tryWriteInline(Message _message) {
+        if (!outgoingQueue.isIdle() || !writeLock.tryLock()) {
+            return false;
+        }
+        IOException writeError;
+        try {
+            // re-check while holding the lock, another thread may have queued a message meanwhile
+            if (!outgoingQueue.isIdle()) {
+                return false;
+            }
+            writeError = sendMessagesInternally(Collections.singletonList(_message));
+        } finally {
+            writeLock.unlock();
+        }
 
-    	senderService.execute(runnable);
+        if (writeError != null) {
+            // the current thread may belong to the receiving service, which waits for its threads when disconnecting
+            disconnectOnWriteError(writeError, true);
+        }
+        return true;
     }
 
     /**
@@ -569,24 +615,41 @@ public abstract class AbstractConnection implements Closeable {
         receivingService.shutdown(10, TimeUnit.SECONDS);
 
         // stop potentially waiting method-calls
-        logger.debug("Notifying {} method call(s) to stop waiting for replies", getPendingCalls().size());
-        for (MethodCall mthCall : getPendingCalls().values()) {
+        logger.debug("Notifying {} method call(s) to stop waiting for replies", getPendingCallTable().size());
+        Exception disconnectReason = _connectionError != null ? _connectionError : new NotConnected("Disconnected");
+        for (MethodCall mthCall : getPendingCallTable().removeAll()) {
             try {
-                mthCall.setReply(new Error(mthCall, _connectionError));
+                Error err = new Error(mthCall, disconnectReason);
+                mthCall.setReply(err);
+                // receiving service is already stopped, notify callbacks and futures on this thread
+                CallbackHandler<?> cbh = callbackManager.removeCallback(mthCall);
+                if (cbh != null) {
+                    cbh.handleError(err.getException());
+                }
             } catch (DBusException _ex) {
                 logger.debug("Cannot set method reply to error", _ex);
+            } catch (RuntimeException _ex) {
+                logger.debug("Exception while running error callback.", _ex);
             }
         }
 
-        // shutdown sender executor service, send all remaining messages in main thread when no exception caused disconnection
-        logger.debug("Shutting down SenderService");
-        List<Runnable> remainingMsgsToSend = senderService.shutdownNow();
+        // stop sender thread, send all remaining messages in this thread when no exception caused disconnection
+        logger.debug("Shutting down sender thread");
+        List<Message> remainingMsgsToSend = outgoingQueue.terminate(10, TimeUnit.SECONDS);
         // only try to send remaining messages when disconnection was not
         // caused by an IOException, otherwise we may block for method calls waiting for
         // reply which will never be received (due to disconnection by IOException)
         if (_connectionError == null) {
-            for (Runnable runnable : remainingMsgsToSend) {
-                runnable.run();
+            writeLock.lock();
+            try {
+                for (int i = 0; i < remainingMsgsToSend.size(); i += OutgoingMessageQueue.MAX_BATCH_SIZE) {
+                    IOException writeError = sendMessagesInternally(remainingMsgsToSend.subList(i, Math.min(remainingMsgsToSend.size(), i + OutgoingMessageQueue.MAX_BATCH_SIZE)));
+                    if (writeError != null) {
+                        logger.debug("Exception while sending remaining messages", writeError);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
             }
         } else if (!remainingMsgsToSend.isEmpty()) {
             logger.debug("Will not send {} messages due to connection closed by IOException", remainingMsgsToSend.size());
@@ -693,6 +756,95 @@ public abstract class AbstractConnection implements Closeable {
         }
     }
 
+    /**
+     * Call a method asynchronously and get a future which is completed with the reply.
+     * The future is completed on a thread of the receiving service, no thread is blocked while waiting for the reply.
+     *
+     * @param <T> type of the return value
+     * @param _object The remote object on which to call the method.
+     * @param _method The name of the method on the interface to call.
+     * @param _parameters The parameters to call the method with.
+     * @return future completed with the return value or exceptionally with the {@link DBusExecutionException} received
+     * @since 4.2.2 - 2026-10-17
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> callMethodFuture(DBusInterface _object, String _method, Object... _parameters) {
+        Class<?>[] types = createTypesArray(_parameters);
+        RemoteObject ro = getImportedObjects().get(_object);
+
+        try {
+            Method me;
+            if (null == ro.getInterface()) {
+                me = _object.getClass().getMethod(_method, types);
+            } else {
+                me = ro.getInterface().getMethod(_method, types);
+            }
+            return (CompletableFuture<T>) RemoteInvocationHandler.executeRemoteMethod(ro, me, this,
+                    RemoteInvocationHandler.CALL_TYPE_FUTURE, null, _parameters);
+        } catch (DBusExecutionException exDee) {
+            logger.debug("", exDee);
+            return CompletableFuture.failedFuture(exDee);
+        } catch (Exception e) {
+            logger.debug("", e);
+            return CompletableFuture.failedFuture(new DBusExecutionException(e.getMessage()));
+        }
+    }
+
+    /**
+     * Creates an asynchronous view of a remote object.<br>
+     * The returned proxy calls the same remote object as the given proxy, but implements the given interface.
+     * Methods of this interface returning a {@link CompletableFuture} do not block, the future is completed
+     * with the converted return value once the reply was received. Methods are mapped to D-Bus methods
+     * by their name (or {@link org.freedesktop.dbus.annotations.DBusMemberName}) and their parameters, the
+     * D-Bus interface name is taken from the given proxy.
+     * <br><br>
+     * Example:
+     * <pre>
+     * interface MyInterfaceAsync extends DBusInterface {
+     *     CompletableFuture&lt;String&gt; getName(int _id);
+     * }
+     *
+     * MyInterfaceAsync async = connection.getAsyncView(myInterfaceProxy, MyInterfaceAsync.class);
+     * async.getName(1).thenAccept(System.out::println);
+     * </pre>
+     *
+     * @param <A> type of the asynchronous interface
+     * @param _remoteObject proxy of the remote object, created by this connection
+     * @param _asyncInterface interface to implement
+     * @return proxy implementing the given interface
+     *
+     * @throws IllegalArgumentException when the given object is not imported by this connection
+     * @since 4.2.2 - 2026-10-17
+     */
+    public <A extends DBusInterface> A getAsyncView(DBusInterface _remoteObject, Class<A> _asyncInterface) {
+        Objects.requireNonNull(_asyncInterface, "Interface required");
+        RemoteObject ro = getImportedObjects().get(_remoteObject);
+        if (ro == null) {
+            throw new IllegalArgumentException("Not an object imported by this connection");
+        }
+        // proxies of the same remote object are equal, so the view uses the settings of the given proxy
+        return _asyncInterface.cast(Proxy.newProxyInstance(_asyncInterface.getClassLoader(), new Class<?>[] {_asyncInterface},
+                new RemoteInvocationHandler(this, ro)));
+    }
+
+    /**
+     * Set the time to wait for replies of method calls on the given remote object.
+     * Calls which did not receive a reply within this time fail with {@link NoReply}.
+     *
+     * @param _remoteObject proxy of the remote object, created by this connection
+     * @param _timeoutMillis timeout in ms, 0 to use the default timeout of {@link MethodCall}
+     *
+     * @throws IllegalArgumentException when the given object is not imported by this connection
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void setReplyTimeout(DBusInterface _remoteObject, long _timeoutMillis) {
+        RemoteObject ro = getImportedObjects().get(_remoteObject);
+        if (ro == null) {
+            throw new IllegalArgumentException("Not an object imported by this connection");
+        }
+        ro.setReplyTimeout(_timeoutMillis);
+    }
+
     private static Class<?>[] createTypesArray(Object... _parameters) {
         if (_parameters == null) {
             return null;
@@ -815,9 +967,10 @@ public abstract class AbstractConnection implements Closeable {
                 logger.debug("Running method {} for remote call", me);
 
                 try {
-                    Type[] ts = me.getGenericParameterTypes();
-                    _methodCall.setArgs(Marshalling.deSerializeParameters(_methodCall.getParameters(), ts, conn));
-                    logger.trace("Deserialised {} to types {}", LoggingHelper.arraysDeepString(logger.isTraceEnabled(), _methodCall.getParameters()), LoggingHelper.arraysDeepString(logger.isTraceEnabled(),ts));
+                    _methodCall.setArgs(ConversionPlan.forParameters(me, _methodCall.getSig()).apply(_methodCall.getParameters(), conn));
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Deserialised {} to types {}", LoggingHelper.arraysDeepString(true, _methodCall.getParameters()), LoggingHelper.arraysDeepString(true, me.getGenericParameterTypes()));
+                    }
                 } catch (Exception e) {
                     logger.debug("", e);
                     handleException(_methodCall, new UnknownMethod("Failure in de-serializing message: " + e));
@@ -845,7 +998,7 @@ public abstract class AbstractConnection implements Closeable {
                     if (!noreply) {
                         MethodReturn reply;
                         if (Void.TYPE.equals(me.getReturnType())) {
-                            reply = new MethodReturn(_methodCall, null);
+                            reply = MessageFactory.createMethodReturn(getBufferPool(), _methodCall, null);
                         } else {
                             StringBuffer sb = new StringBuffer();
                             for (String s : Marshalling.getDBusType(me.getGenericReturnType())) {
@@ -857,7 +1010,7 @@ public abstract class AbstractConnection implements Closeable {
                                     me.getGenericReturnType()
                             }, conn);
 
-                            reply = new MethodReturn(_methodCall, sb.toString(), nr);
+                            reply = MessageFactory.createMethodReturn(getBufferPool(), _methodCall, sb.toString(), nr);
                         }
                         conn.sendMessage(reply);
                     }
@@ -947,81 +1100,73 @@ public abstract class AbstractConnection implements Closeable {
 
     private void handleMessage(final Error _err) {
         logger.debug("Handling incoming error: {}", _err);
-        MethodCall m = null;
-        if (getPendingCalls() == null) {
-            return;
+        MethodCall m = getPendingCallTable().remove(_err.getReplySerial());
+        if (m != null) {
+            handleCallError(m, _err);
+        } else {
+            getPendingErrorQueue().add(_err);
         }
-        synchronized (getPendingCalls()) {
-            if (getPendingCalls().containsKey(_err.getReplySerial())) {
-                m = getPendingCalls().remove(_err.getReplySerial());
-            }
+    }
+
+    /**
+     * Fails a pending method call which did not receive a reply in time.
+     * Called by the {@link PendingCallTable} after the call has been removed.
+     *
+     * @param _call expired call
+     */
+    private void expirePendingCall(MethodCall _call) {
+        logger.debug("No reply received in time for {}", _call);
+        try {
+            handleCallError(_call, new Error(_call, new NoReply("No reply within specified time")));
+        } catch (DBusException _ex) {
+            logger.debug("Cannot set method reply to error", _ex);
         }
-        if (m != null) {
-            m.setReply(_err);
-            CallbackHandler<?> cbh;
-            cbh = callbackManager.removeCallback(m);
-            logger.trace("{} = pendingCallbacks.remove({})", cbh, m);
+    }
 
-            // queue callback for execution
-            if (null != cbh) {
-                final CallbackHandler<?> fcbh = cbh;
-                logger.trace("Adding Error Runnable with callback handler {}", fcbh);
-                Runnable command = new Runnable() {
+    private void handleCallError(MethodCall _call, final Error _err) {
+        _call.setReply(_err);
+        CallbackHandler<?> cbh = callbackManager.removeCallback(_call);
+        logger.trace("{} = pendingCallbacks.remove({})", cbh, _call);
 
-                    @Override
-                    public synchronized void run() {
-                        try {
-                            logger.trace("Running Error Callback for {}", _err);
-                            DBusCallInfo info = new DBusCallInfo(_err);
-                            INFOMAP.put(Thread.currentThread(), info);
+        // queue callback for execution
+        if (null != cbh) {
+            final CallbackHandler<?> fcbh = cbh;
+            logger.trace("Adding Error Runnable with callback handler {}", fcbh);
+            Runnable command = new Runnable() {
 
-                            fcbh.handleError(_err.getException());
-                            INFOMAP.remove(Thread.currentThread());
+                @Override
+                public synchronized void run() {
+                    try {
+                        logger.trace("Running Error Callback for {}", _err);
+                        DBusCallInfo info = new DBusCallInfo(_err);
+                        INFOMAP.put(Thread.currentThread(), info);
 
-                        } catch (Exception e) {
-                            logger.debug("Exception while running error callback.", e);
-                        }
-                    }
-                };
-                receivingService.execErrorHandler(command);
-            }
+                        fcbh.handleError(_err.getException());
+                        INFOMAP.remove(Thread.currentThread());
 
-        } else {
-            getPendingErrorQueue().add(_err);
+                    } catch (Exception e) {
+                        logger.debug("Exception while running error callback.", e);
+                    }
+                }
+            };
+            receivingService.execErrorHandler(command);
         }
     }
 
     @SuppressWarnings("unchecked")
     private void handleMessage(final MethodReturn _mr) {
         logger.debug("Handling incoming method return: {}", _mr);
-        MethodCall m = null;
-
-        if (null == getPendingCalls()) {
-            return;
-        }
-
-        synchronized (getPendingCalls()) {
-            if (getPendingCalls().containsKey(_mr.getReplySerial())) {
-                m = getPendingCalls().remove(_mr.getReplySerial());
-            }
-        }
+        MethodCall m = getPendingCallTable().remove(_mr.getReplySerial());
 
         if (null != m) {
             m.setReply(_mr);
             _mr.setCall(m);
-            @SuppressWarnings("rawtypes")
-            CallbackHandler cbh = callbackManager.getCallback(m);
-            DBusAsyncReply<?> asr = callbackManager.getCallbackReply(m);
-            callbackManager.removeCallback(m);
+            PendingCallback callback = callbackManager.takeCallback(m);
 
             // queue callback for execution
-            if (null != cbh) {
-                final CallbackHandler<Object> fcbh = cbh;
-                final DBusAsyncReply<?> fasr = asr;
-                if (fasr == null) {
-                	logger.debug("Cannot add runnable for method, given method callback was null");
-                	return;
-                }
+            if (null != callback) {
+                final CallbackHandler<Object> fcbh = (CallbackHandler<Object>) callback.getHandler();
+                final DBusAsyncReply<?> fasr = callback.getReply();
                 logger.trace("Adding Runnable for method {} with callback handler {}", fcbh, fasr.getMethod());
                 Runnable r = new Runnable() {
 
@@ -1031,9 +1176,13 @@ public abstract class AbstractConnection implements Closeable {
                             logger.trace("Running Callback for {}", _mr);
                             DBusCallInfo info = new DBusCallInfo(_mr);
                             INFOMAP.put(Thread.currentThread(), info);
-                            Object convertRV = RemoteInvocationHandler.convertRV(_mr.getSig(), _mr.getParameters(),
-                                    fasr.getMethod(), fasr.getConnection());
-                            fcbh.handle(convertRV);
+                            try {
+                                fcbh.handle(RemoteInvocationHandler.convertRV(_mr.getSig(), _mr.getParameters(),
+                                        fasr.getMethod(), fasr.getConnection()));
+                            } catch (DBusException _ex) {
+                                logger.debug("Failed to convert return value.", _ex);
+                                fcbh.handleError(new DBusExecutionException(_ex.getMessage()));
+                            }
                             INFOMAP.remove(Thread.currentThread());
 
                         } catch (Exception e) {
@@ -1059,53 +1208,137 @@ public abstract class AbstractConnection implements Closeable {
     }
 
     /**
-     * Send a message to DBus.
-     * @param _message message to send
+     * Sends a batch of queued messages, called by the sender thread.
+     * Disconnects if the messages could not be written.
+     * @param _messages messages to send
      */
-    private void sendMessageInternally(Message _message) {
+    private void sendQueuedMessages(List<Message> _messages) {
+        IOException writeError;
+        writeLock.lock();
         try {
-            if (!isConnected()) {
+            writeError = sendMessagesInternally(_messages);
+        } finally {
+            writeLock.unlock();
+        }
+
+        // disconnect without holding the lock, disconnecting waits for the sender thread which may need it
+        if (writeError != null) {
+            disconnectOnWriteError(writeError, false);
+        }
+    }
+
+    /**
+     * Disconnects because a message could not be written.
+     * Only the first failed write disconnects, errors of concurrent or later writes are ignored.
+     *
+     * @param _writeError exception which prevented writing
+     * @param _newThread true to disconnect on a new thread
+     */
+    private void disconnectOnWriteError(IOException _writeError, boolean _newThread) {
+        if (disconnecting || !writeErrorHandled.compareAndSet(false, true)) {
+            return;
+        }
+        logger.debug("Fatal IOException while sending message, disconnecting", _writeError);
+        if (_newThread) {
+            new NameableThreadFactory("DBus Disconnect Thread-", true)
+                .newThread(() -> internalDisconnect(_writeError))
+                .start();
+        } else {
+            internalDisconnect(_writeError);
+        }
+    }
+
+    /**
+     * Send messages to DBus.
+     * All messages which could be prepared for sending are written at once.
+     * The caller has to hold the write lock and has to disconnect if an {@link IOException} is returned.
+     *
+     * @param _messages messages to send
+     * @return exception which prevented writing the messages, null if they were written
+     */
+    private IOException sendMessagesInternally(List<Message> _messages) {
+        List<Message> prepared = new ArrayList<>(_messages.size());
+        for (Message message : _messages) {
+            try {
+                prepareMessage(message);
+                prepared.add(message);
+            } catch (Exception _ex) {
+                handleSendFailure(message, _ex);
+            }
+        }
+        if (prepared.isEmpty()) {
+            return null;
+        }
+
+        try {
+            AbstractTransport t = transport;
+            if (t == null) {
                 throw new NotConnected("Disconnected");
             }
-            if (_message instanceof DBusSignal) {
-                ((DBusSignal) _message).appendbody(this);
+            t.writeMessages(prepared);
+        } catch (Exception _ex) {
+            for (Message message : prepared) {
+                handleSendFailure(message, _ex);
             }
-
-            if (_message instanceof MethodCall && 0 == (_message.getFlags() & Message.Flags.NO_REPLY_EXPECTED) && null != getPendingCalls()) {
-                synchronized (getPendingCalls()) {
-                    getPendingCalls().put(_message.getSerial(), (MethodCall) _message);
-                }
+            if (_ex instanceof IOException) {
+                return (IOException) _ex;
             }
+        }
+        return null;
+    }
+
+    /**
+     * Prepares a message for sending and registers method calls waiting for a reply.
+     * @param _message message to send
+     */
+    private void prepareMessage(Message _message) throws DBusException {
+        if (!isConnected()) {
+            throw new NotConnected("Disconnected");
+        }
+        if (_message instanceof DBusSignal) {
+            ((DBusSignal) _message).appendbody(this);
+        }
 
-            transport.writeMessage(_message);
+        // serial is required to register the pending call before sending
+        transport.assignSerial(_message);
 
-        } catch (Exception _ex) {
-            logger.trace("Exception while sending message.", _ex);
+        if (_message instanceof MethodCall && 0 == (_message.getFlags() & Message.Flags.NO_REPLY_EXPECTED)) {
+            getPendingCallTable().add((MethodCall) _message);
+        }
+    }
 
-            if (_message instanceof MethodCall && _ex instanceof DBusExecutionException) {
-                try {
-                    ((MethodCall) _message).setReply(new Error(_message, _ex));
-                } catch (DBusException _exDe) {
-                    logger.trace("Could not set message reply", _exDe);
-                }
-            } else if (_message instanceof MethodCall) {
-                try {
-                    logger.info("Setting reply to {} as an error", _message);
-                    ((MethodCall) _message).setReply(
-                            new Error(_message, new DBusExecutionException("Message Failed to Send: " + _ex.getMessage())));
-                } catch (DBusException _exDe) {
-                    logger.trace("Could not set message reply", _exDe);
-                }
-            } else if (_message instanceof MethodReturn) {
-                try {
-                    transport.writeMessage(new Error(_message, _ex));
-                } catch (IOException | DBusException _exIo) {
-                    logger.debug("Error writing method return to transport", _exIo);
-                }
+    /**
+     * Handles a message which could not be sent.
+     * @param _message message
+     * @param _ex exception preventing the message from being sent
+     */
+    private void handleSendFailure(Message _message, Exception _ex) {
+        logger.trace("Exception while sending message.", _ex);
+
+        if (_message instanceof MethodCall && _ex instanceof DBusExecutionException) {
+            try {
+                getPendingCallTable().remove(_message.getSerial());
+                handleCallError((MethodCall) _message, new Error(_message, _ex));
+            } catch (DBusException _exDe) {
+                logger.trace("Could not set message reply", _exDe);
             }
-            if (_ex instanceof IOException) {
-                logger.debug("Fatal IOException while sending message, disconnecting", _ex);
-                internalDisconnect((IOException) _ex);
+        } else if (_message instanceof MethodCall) {
+            try {
+                logger.info("Setting reply to {} as an error", _message);
+                getPendingCallTable().remove(_message.getSerial());
+                handleCallError((MethodCall) _message,
+                        new Error(_message, new DBusExecutionException("Message Failed to Send: " + _ex.getMessage())));
+            } catch (DBusException _exDe) {
+                logger.trace("Could not set message reply", _exDe);
+            }
+        } else if (_message instanceof MethodReturn) {
+            try {
+                AbstractTransport t = transport;
+                if (t != null) {
+                    t.writeMessage(new Error(_message, _ex));
+                }
+            } catch (IOException | DBusException _exIo) {
+                logger.debug("Error writing method return to transport", _exIo);
             }
         }
     }
@@ -1172,6 +1405,19 @@ public abstract class AbstractConnection implements Closeable {
         return transportBuilder.getAddress();
     }
 
+    /**
+     * Returns the pool used to marshall the messages this connection creates and sends itself
+     * (method calls of remote objects and replies of exported methods).
+     * See {@link BufferPool} for details.
+     *
+     * @return pool, null if pooling is disabled or the connection is closed
+     * @since 4.2.2 - 2026-10-17
+     */
+    public BufferPool getBufferPool() {
+        AbstractTransport t = transport;
+        return t == null ? null : t.getBufferPool();
+    }
+
     public boolean isConnected() {
         return transport != null && transport.isConnected();
     }
@@ -1188,7 +1434,24 @@ public abstract class AbstractConnection implements Closeable {
         return genericHandledSignals;
     }
 
+    /**
+     * Returns the method calls waiting for a reply as map keyed by serial.
+     *
+     * @return live map view of the pending calls
+     * @deprecated use {@link #getPendingCallTable()}, iterating the view copies all pending calls
+     */
+    @Deprecated(since = "4.2.2 - 2026-10-17")
     protected Map<Long, MethodCall> getPendingCalls() {
+        return pendingCalls.asMap();
+    }
+
+    /**
+     * Returns the method calls waiting for a reply.
+     *
+     * @return table of pending calls
+     * @since 4.2.2 - 2026-10-17
+     */
+    protected PendingCallTable getPendingCallTable() {
         return pendingCalls;
     }
 
@@ -0,0 +1,126 @@
+package org.freedesktop.dbus.connections;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.freedesktop.dbus.connections.PendingCallTable.PendingCall;
+import org.freedesktop.dbus.utils.NameableThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel expiring pending method calls at their deadline.<br>
+ * Time is divided into ticks, every tick maps to one bucket of the wheel. A call is added to the bucket
+ * of the tick containing its deadline, so scheduling is constant time and each tick only inspects the calls
+ * of one bucket. Deadlines further away than one revolution of the wheel stay in their bucket until the
+ * wheel has turned often enough.
+ * <br><br>
+ * One wheel is shared by all connections. Its daemon thread is started on first use and parks while no
+ * calls are scheduled.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class DeadlineWheel {
+    private static final Logger        LOGGER     = LoggerFactory.getLogger(DeadlineWheel.class);
+
+    private static final long          TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int           BUCKETS    = 1024;
+    private static final int           MASK       = BUCKETS - 1;
+
+    private static volatile DeadlineWheel instance;
+
+    private final Queue<PendingCall>[] buckets;
+    private final long                 origin     = System.nanoTime();
+    /** Number of entries in all buckets. */
+    private final AtomicInteger        scheduled  = new AtomicInteger();
+    private final Thread               thread;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DeadlineWheel() {
+        buckets = new Queue[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        thread = new NameableThreadFactory("DBus Pending Call Timer-", true).newThread(this::run);
+        thread.start();
+    }
+
+    static DeadlineWheel getInstance() {
+        DeadlineWheel wheel = instance;
+        if (wheel == null) {
+            synchronized (DeadlineWheel.class) {
+                wheel = instance;
+                if (wheel == null) {
+                    wheel = new DeadlineWheel();
+                    instance = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Schedules the expiry of the given call.
+     *
+     * @param _call pending call
+     * @param _deadline deadline in terms of {@link System#nanoTime()}
+     */
+    void schedule(PendingCall _call, long _deadline) {
+        long tick = Math.max((_deadline - origin + TICK_NANOS - 1) / TICK_NANOS, currentTick() + 1);
+        _call.setDeadlineTick(tick);
+        buckets[(int) (tick & MASK)].add(_call);
+        if (scheduled.getAndIncrement() == 0) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - origin) / TICK_NANOS;
+    }
+
+    private void run() {
+        long processed = currentTick();
+        while (true) {
+            if (scheduled.get() == 0) {
+                long parkedAt = currentTick();
+                LockSupport.park(this);
+                // calls scheduled while parking expire after the tick at which the thread parked
+                processed = Math.max(processed, parkedAt);
+                continue;
+            }
+
+            long now = currentTick();
+            if (now <= processed) {
+                LockSupport.parkNanos(this, origin + (processed + 1) * TICK_NANOS - System.nanoTime());
+                continue;
+            }
+
+            // the last processed bucket is visited again, a call may have been added to it while it was processed;
+            // every bucket is visited at most once, even if the thread was delayed for more than one revolution
+            for (long t = Math.max(processed, now - MASK); t <= now; t++) {
+                expireBucket(buckets[(int) (t & MASK)], now);
+            }
+            processed = now;
+        }
+    }
+
+    private void expireBucket(Queue<PendingCall> _bucket, long _now) {
+        for (Iterator<PendingCall> it = _bucket.iterator(); it.hasNext();) {
+            PendingCall call = it.next();
+            if (call.isDone() || call.getDeadlineTick() <= _now) {
+                it.remove();
+                scheduled.decrementAndGet();
+                try {
+                    call.expire();
+                } catch (RuntimeException _ex) {
+                    LOGGER.warn("Failed to expire pending call", _ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.freedesktop.dbus.connections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.freedesktop.dbus.messages.Message;
+import org.freedesktop.dbus.utils.NameableThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of messages waiting to be sent.<br>
+ * Messages are added without locking. A single sender thread takes all queued messages
+ * and passes them as one batch to the writer, so they can be written to the transport at once.
+ * <br><br>
+ * If a batch window is configured, the sender thread waits this long after the first message of a batch
+ * was queued, allowing other threads to add more messages to the same batch.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class OutgoingMessageQueue {
+    /** Maximum number of messages written at once. */
+    static final int                      MAX_BATCH_SIZE = 256;
+
+    private static final Logger           LOGGER         = LoggerFactory.getLogger(OutgoingMessageQueue.class);
+
+    private final Queue<Message>          queue          = new ConcurrentLinkedQueue<>();
+    /** Number of queued messages which have not been passed to the writer completely. */
+    private final AtomicInteger           unwritten      = new AtomicInteger();
+    private final Consumer<List<Message>> writer;
+    private final long                    batchWindowNanos;
+    private final Thread                  thread;
+
+    private volatile boolean              started;
+    private volatile boolean              waiting;
+    private volatile boolean              terminated;
+
+    /**
+     * Creates a new queue, the sender thread is started when the first message is queued.
+     *
+     * @param _writer writes a batch of messages, called on the sender thread
+     * @param _batchWindowNanos time to wait for more messages before writing a batch, 0 to write immediately
+     */
+    OutgoingMessageQueue(Consumer<List<Message>> _writer, long _batchWindowNanos) {
+        writer = _writer;
+        batchWindowNanos = Math.max(0, _batchWindowNanos);
+        thread = new NameableThreadFactory("DBus Sender Thread-", false).newThread(this::run);
+    }
+
+    /**
+     * Queues a message for sending.
+     *
+     * @param _message message
+     * @throws IllegalStateException if the queue was already terminated, the message was not queued
+     */
+    void add(Message _message) {
+        if (terminated) {
+            throw new IllegalStateException("Sender already terminated");
+        }
+        if (!started) {
+            start();
+        }
+        unwritten.incrementAndGet();
+        queue.add(_message);
+        // terminate may have been called meanwhile, without draining the queue again the message would never be sent.
+        // If it is no longer queued, it was either written or returned by terminate.
+        if (terminated && queue.remove(_message)) {
+            unwritten.decrementAndGet();
+            throw new IllegalStateException("Sender already terminated");
+        }
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private synchronized void start() {
+        if (!started && !terminated) {
+            thread.start();
+            started = true;
+        }
+    }
+
+    /**
+     * Checks if all queued messages have been written.<br>
+     * A message is counted until the writer returned, so messages taken from the queue
+     * but still being written are considered as well.
+     *
+     * @return true if no message is waiting to be written
+     */
+    boolean isIdle() {
+        return unwritten.get() == 0;
+    }
+
+    /**
+     * Checks if the current thread is the sender thread.
+     * @return boolean
+     */
+    boolean isSenderThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Stops the sender thread.
+     * Waits for the batch currently written, unless called by the sender thread itself.
+     *
+     * @param _timeout maximum time to wait for the sender thread
+     * @param _unit unit of timeout
+     * @return messages which were queued but not written
+     */
+    synchronized List<Message> terminate(long _timeout, TimeUnit _unit) {
+        terminated = true;
+        if (started && !isSenderThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(_unit.toMillis(_timeout));
+                if (thread.isAlive()) {
+                    LOGGER.debug("Sender thread still writing, interrupting it");
+                    thread.interrupt();
+                }
+            } catch (InterruptedException _ex) {
+                LOGGER.debug("Interrupted while waiting for sender thread");
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Message> remaining = new ArrayList<>();
+        Message msg;
+        while ((msg = queue.poll()) != null) {
+            remaining.add(msg);
+        }
+        unwritten.addAndGet(-remaining.size());
+        return remaining;
+    }
+
+    private void run() {
+        List<Message> batch = new ArrayList<>();
+        while (!terminated) {
+            Message msg = queue.poll();
+            if (msg == null) {
+                waiting = true;
+                // re-check after announcing the wait, a message may have been added without unparking
+                if (queue.isEmpty() && !terminated) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+                continue;
+            }
+
+            batch.add(msg);
+            if (batchWindowNanos > 0) {
+                LockSupport.parkNanos(this, batchWindowNanos);
+            }
+            while (batch.size() < MAX_BATCH_SIZE && (msg = queue.poll()) != null) {
+                batch.add(msg);
+            }
+
+            try {
+                writer.accept(batch);
+            } catch (RuntimeException _ex) {
+                LOGGER.error("Exception while sending messages", _ex);
+            }
+            unwritten.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.freedesktop.dbus.connections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.freedesktop.dbus.messages.MethodCall;
+
+/**
+ * Method calls which were sent and are waiting for a reply, indexed by their serial.<br>
+ * Serials are assigned sequentially, so calls are stored in a ring of slots indexed by the lower bits of the serial.
+ * Only if a slot is still occupied by an older call, the call is stored in an overflow map.
+ * Adding and removing calls does not lock and does not box the serial.
+ * <br><br>
+ * Every call with a timeout is registered in the {@link DeadlineWheel}. If no reply was received
+ * when the timeout has elapsed, the call is removed and passed to the expiry handler.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class PendingCallTable {
+    private static final int                        SLOTS    = 1024;
+    private static final int                        MASK     = SLOTS - 1;
+
+    private final AtomicReferenceArray<PendingCall> slots    = new AtomicReferenceArray<>(SLOTS);
+    private final Map<Long, PendingCall>            overflow = new ConcurrentHashMap<>();
+    private final AtomicInteger                     size     = new AtomicInteger();
+    private final Consumer<MethodCall>              expiryHandler;
+    private final Map<Long, MethodCall>             mapView  = new MapView();
+
+    /**
+     * Creates a new table.
+     *
+     * @param _expiryHandler called (on the timer thread) with every call which did not receive a reply in time
+     */
+    PendingCallTable(Consumer<MethodCall> _expiryHandler) {
+        expiryHandler = _expiryHandler;
+    }
+
+    /**
+     * Adds a call which has been assigned a serial.
+     * If the call has a timeout, it will expire after this time.
+     *
+     * @param _call call
+     */
+    void add(MethodCall _call) {
+        PendingCall entry = new PendingCall(this, _call);
+        int slot = (int) (entry.serial & MASK);
+        if (!slots.compareAndSet(slot, null, entry)) {
+            overflow.put(entry.serial, entry);
+        }
+        size.incrementAndGet();
+
+        long timeout = _call.getTimeout();
+        if (timeout > 0) {
+            DeadlineWheel.getInstance().schedule(entry, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+        }
+    }
+
+    /**
+     * Removes the call with the given serial.
+     *
+     * @param _serial serial of the call
+     * @return call or null if no call with this serial is pending
+     */
+    MethodCall remove(long _serial) {
+        int slot = (int) (_serial & MASK);
+        PendingCall entry = slots.get(slot);
+        if (entry == null || entry.serial != _serial || !slots.compareAndSet(slot, entry, null)) {
+            entry = overflow.isEmpty() ? null : overflow.remove(_serial);
+        }
+        return entry == null ? null : entry.complete();
+    }
+
+    /**
+     * Returns the call with the given serial without removing it.
+     *
+     * @param _serial serial of the call
+     * @return call or null if no call with this serial is pending
+     */
+    public MethodCall get(long _serial) {
+        PendingCall entry = slots.get((int) (_serial & MASK));
+        if (entry == null || entry.serial != _serial) {
+            entry = overflow.isEmpty() ? null : overflow.get(_serial);
+        }
+        return entry == null ? null : entry.call;
+    }
+
+    /**
+     * Removes the given entry if it is still pending.
+     */
+    private boolean remove(PendingCall _entry) {
+        int slot = (int) (_entry.serial & MASK);
+        return slots.compareAndSet(slot, _entry, null) || overflow.remove(_entry.serial, _entry);
+    }
+
+    /**
+     * Removes all pending calls.
+     *
+     * @return removed calls
+     */
+    List<MethodCall> removeAll() {
+        List<MethodCall> result = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            PendingCall entry = slots.getAndSet(i, null);
+            if (entry != null) {
+                result.add(entry.complete());
+            }
+        }
+        for (Long serial : overflow.keySet()) {
+            PendingCall entry = overflow.remove(serial);
+            if (entry != null) {
+                result.add(entry.complete());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of calls waiting for a reply.
+     * @return int
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Checks if a call with the given serial is waiting for a reply.
+     *
+     * @param _serial serial
+     * @return true if call is pending
+     */
+    public boolean isPending(long _serial) {
+        PendingCall entry = slots.get((int) (_serial & MASK));
+        return entry != null && entry.serial == _serial || overflow.containsKey(_serial);
+    }
+
+    /**
+     * Returns a live {@link Map} view of this table, keyed by serial.<br>
+     * Provided for code written against the map previously used to store pending calls.
+     * Iterating the view is not atomic, calls added or removed meanwhile may or may not be returned.
+     *
+     * @return map view, never null
+     */
+    Map<Long, MethodCall> asMap() {
+        return mapView;
+    }
+
+    /**
+     * {@link Map} view of the table.
+     */
+    private final class MapView extends AbstractMap<Long, MethodCall> {
+        @Override
+        public int size() {
+            return PendingCallTable.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object _key) {
+            return _key instanceof Long && isPending((Long) _key);
+        }
+
+        @Override
+        public MethodCall get(Object _key) {
+            return _key instanceof Long ? PendingCallTable.this.get((Long) _key) : null;
+        }
+
+        @Override
+        public MethodCall put(Long _key, MethodCall _value) {
+            if (_key == null || _value == null || _key != _value.getSerial()) {
+                throw new IllegalArgumentException("Key must be the serial of the call");
+            }
+            MethodCall previous = PendingCallTable.this.remove(_key);
+            add(_value);
+            return previous;
+        }
+
+        @Override
+        public MethodCall remove(Object _key) {
+            return _key instanceof Long ? PendingCallTable.this.remove((Long) _key) : null;
+        }
+
+        @Override
+        public void clear() {
+            removeAll();
+        }
+
+        @Override
+        public Set<Entry<Long, MethodCall>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return PendingCallTable.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<Long, MethodCall>> iterator() {
+                    List<Entry<Long, MethodCall>> entries = new ArrayList<>();
+                    for (int i = 0; i < SLOTS; i++) {
+                        addEntry(entries, slots.get(i));
+                    }
+                    for (PendingCall entry : overflow.values()) {
+                        addEntry(entries, entry);
+                    }
+                    Iterator<Entry<Long, MethodCall>> it = entries.iterator();
+                    return new Iterator<>() {
+                        private Entry<Long, MethodCall> last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Long, MethodCall> next() {
+                            last = it.next();
+                            return last;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) {
+                                throw new IllegalStateException();
+                            }
+                            PendingCallTable.this.remove(last.getKey());
+                            last = null;
+                        }
+                    };
+                }
+            };
+        }
+
+        private void addEntry(List<Entry<Long, MethodCall>> _entries, PendingCall _entry) {
+            MethodCall call = _entry == null ? null : _entry.call;
+            if (call != null) {
+                _entries.add(new SimpleImmutableEntry<>(_entry.serial, call));
+            }
+        }
+    }
+
+    /**
+     * Entry of the table, also used as timer of the {@link DeadlineWheel}.
+     */
+    static final class PendingCall {
+        private final PendingCallTable table;
+        private final long             serial;
+        /** Call waiting for the reply, null once the call was removed. */
+        private volatile MethodCall    call;
+        /** Tick of the {@link DeadlineWheel} at which this call expires. */
+        private long                   deadlineTick;
+
+        PendingCall(PendingCallTable _table, MethodCall _call) {
+            table = _table;
+            serial = _call.getSerial();
+            call = _call;
+        }
+
+        long getDeadlineTick() {
+            return deadlineTick;
+        }
+
+        void setDeadlineTick(long _deadlineTick) {
+            deadlineTick = _deadlineTick;
+        }
+
+        boolean isDone() {
+            return call == null;
+        }
+
+        /**
+         * Releases the call after it was removed from the table.
+         */
+        private MethodCall complete() {
+            MethodCall result = call;
+            call = null;
+            table.size.decrementAndGet();
+            return result;
+        }
+
+        /**
+         * Called by the {@link DeadlineWheel} when the deadline has been reached.
+         */
+        void expire() {
+            if (call != null && table.remove(this)) {
+                table.expiryHandler.accept(complete());
+            }
+        }
+    }
+}
@@ -8,32 +8,64 @@ import org.freedesktop.dbus.DBusAsyncReply;
 import org.freedesktop.dbus.interfaces.CallbackHandler;
 import org.freedesktop.dbus.messages.MethodCall;
 
+/**
+ * Callback handlers of method calls waiting for a reply.<br>
+ * Handler and reply handle of a call are stored in one entry, so queueing and taking a callback
+ * are single operations on a concurrent map and do not require locking.
+ */
 public class PendingCallbackManager {
-    private final Map<MethodCall, CallbackHandler<? extends Object>> pendingCallbacks;
-    private final Map<MethodCall, DBusAsyncReply<?>>                 pendingCallbackReplys;
+    private final Map<MethodCall, PendingCallback> pendingCallbacks;
 
     PendingCallbackManager() {
         pendingCallbacks = new ConcurrentHashMap<>();
-        pendingCallbackReplys = new ConcurrentHashMap<>();
     }
-    
-    public synchronized void queueCallback(MethodCall _call, Method _method, CallbackHandler<?> _callback, AbstractConnection _connection) {
-        pendingCallbacks.put(_call, _callback);
-        pendingCallbackReplys.put(_call, new DBusAsyncReply<>(_call, _method, _connection));
 
+    public void queueCallback(MethodCall _call, Method _method, CallbackHandler<?> _callback, AbstractConnection _connection) {
+        pendingCallbacks.put(_call, new PendingCallback(_callback, new DBusAsyncReply<>(_call, _method, _connection)));
     }
-    
-    public synchronized CallbackHandler<? extends Object> removeCallback(MethodCall _methodCall) {
-        pendingCallbackReplys.remove(_methodCall);
-        return pendingCallbacks.remove(_methodCall);
+
+    public CallbackHandler<? extends Object> removeCallback(MethodCall _methodCall) {
+        PendingCallback callback = pendingCallbacks.remove(_methodCall);
+        return callback == null ? null : callback.getHandler();
+    }
+
+    public CallbackHandler<? extends Object> getCallback(MethodCall _methodCall) {
+        PendingCallback callback = pendingCallbacks.get(_methodCall);
+        return callback == null ? null : callback.getHandler();
     }
 
-    public synchronized CallbackHandler<? extends Object> getCallback(MethodCall _methodCall) {
-        return pendingCallbacks.get(_methodCall);
+    public DBusAsyncReply<?> getCallbackReply(MethodCall _methodCall) {
+        PendingCallback callback = pendingCallbacks.get(_methodCall);
+        return callback == null ? null : callback.getReply();
     }
-    
-    public synchronized DBusAsyncReply<?> getCallbackReply(MethodCall _methodCall) {
-        return pendingCallbackReplys.get(_methodCall);
+
+    /**
+     * Removes and returns the callback of the given call.
+     *
+     * @param _methodCall call
+     * @return callback or null if no callback was queued for the call
+     * @since 4.2.2 - 2026-10-17
+     */
+    PendingCallback takeCallback(MethodCall _methodCall) {
+        return pendingCallbacks.remove(_methodCall);
+    }
+
+    static final class PendingCallback {
+        private final CallbackHandler<?> handler;
+        private final DBusAsyncReply<?>  reply;
+
+        PendingCallback(CallbackHandler<?> _handler, DBusAsyncReply<?> _reply) {
+            handler = _handler;
+            reply = _reply;
+        }
+
+        CallbackHandler<?> getHandler() {
+            return handler;
+        }
+
+        DBusAsyncReply<?> getReply() {
+            return reply;
+        }
     }
 
 }
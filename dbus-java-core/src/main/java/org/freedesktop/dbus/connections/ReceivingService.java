@@ -1,12 +1,15 @@
 package org.freedesktop.dbus.connections;
 
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.freedesktop.dbus.connections.config.ReceivingServiceConfig;
 import org.freedesktop.dbus.connections.config.ReceivingServiceConfigBuilder;
@@ -29,6 +32,8 @@ public class ReceivingService {
     private boolean closed = false;
 
     private final Map<ExecutorNames, ExecutorService> executors = new ConcurrentHashMap<>();
+    /** Executors provided by the caller, these are not shut down by this service. */
+    private final Set<ExecutorNames> sharedExecutors = EnumSet.noneOf(ExecutorNames.class);
 
     private final IThreadPoolRetryHandler retryHandler;
 
@@ -39,16 +44,40 @@ public class ReceivingService {
      */
     ReceivingService(ReceivingServiceConfig _rsCfg) {
         ReceivingServiceConfig rsCfg = Optional.ofNullable(_rsCfg).orElse(ReceivingServiceConfigBuilder.getDefaultConfig());
-        executors.put(ExecutorNames.SIGNAL, Executors.newFixedThreadPool(rsCfg.getSignalThreadPoolSize(), new NameableThreadFactory("DBus-Signal-Receiver-", true, rsCfg.getSignalThreadPriority())));
-        executors.put(ExecutorNames.ERROR, Executors.newFixedThreadPool(rsCfg.getErrorThreadPoolSize(), new NameableThreadFactory("DBus-Error-Receiver-", true, rsCfg.getErrorThreadPriority())));
+        createExecutor(rsCfg, ExecutorNames.SIGNAL, () -> Executors.newFixedThreadPool(rsCfg.getSignalThreadPoolSize(), new NameableThreadFactory("DBus-Signal-Receiver-", true, rsCfg.getSignalThreadPriority())));
+        createExecutor(rsCfg, ExecutorNames.ERROR, () -> Executors.newFixedThreadPool(rsCfg.getErrorThreadPoolSize(), new NameableThreadFactory("DBus-Error-Receiver-", true, rsCfg.getErrorThreadPriority())));
 
         // we need multiple threads here so recursive method calls are possible
-        executors.put(ExecutorNames.METHODCALL, Executors.newFixedThreadPool(rsCfg.getMethodCallThreadPoolSize(), new NameableThreadFactory("DBus-MethodCall-Receiver-", true, rsCfg.getMethodCallThreadPriority())));
-        executors.put(ExecutorNames.METHODRETURN, Executors.newFixedThreadPool(rsCfg.getMethodReturnThreadPoolSize(), new NameableThreadFactory("DBus-MethodReturn-Receiver-", true, rsCfg.getMethodReturnThreadPriority())));
+        createExecutor(rsCfg, ExecutorNames.METHODCALL, () -> Executors.newFixedThreadPool(rsCfg.getMethodCallThreadPoolSize(), new NameableThreadFactory("DBus-MethodCall-Receiver-", true, rsCfg.getMethodCallThreadPriority())));
+        createExecutor(rsCfg, ExecutorNames.METHODRETURN, () -> Executors.newFixedThreadPool(rsCfg.getMethodReturnThreadPoolSize(), new NameableThreadFactory("DBus-MethodReturn-Receiver-", true, rsCfg.getMethodReturnThreadPriority())));
 
         retryHandler = rsCfg.getRetryHandler();
     }
 
+    /**
+     * Creates the executor service for the given executor.
+     * Uses the executor service or factory of the configuration if present, the given default otherwise.
+     *
+     * @param _rsCfg configuration
+     * @param _executor executor to create
+     * @param _default creates the default executor service
+     */
+    private void createExecutor(ReceivingServiceConfig _rsCfg, ExecutorNames _executor, Supplier<ExecutorService> _default) {
+        ExecutorService shared = _rsCfg.getExecutorService(_executor);
+        if (shared != null) {
+            sharedExecutors.add(_executor);
+            executors.put(_executor, shared);
+            return;
+        }
+
+        Supplier<? extends ExecutorService> factory = _rsCfg.getExecutorServiceFactory(_executor);
+        ExecutorService created = factory == null ? null : factory.get();
+        if (factory != null && created == null) {
+            throw new IllegalThreadPoolStateException("Executor service factory for " + _executor + " returned null");
+        }
+        executors.put(_executor, created == null ? _default.get() : created);
+    }
+
     /**
      * Execute a runnable which handles a signal.
      *
@@ -162,11 +191,17 @@ public class ReceivingService {
      */
     public synchronized void shutdown(int _timeout, TimeUnit _unit) {
         for (Entry<ExecutorNames, ExecutorService> es : executors.entrySet()) {
+            if (sharedExecutors.contains(es.getKey())) {
+                continue;
+            }
             logger.debug("Shutting down executor: {}", es.getKey());
             es.getValue().shutdown();
         }
 
         for (Entry<ExecutorNames, ExecutorService> es : executors.entrySet()) {
+            if (sharedExecutors.contains(es.getKey())) {
+                continue;
+            }
             try {
                 es.getValue().awaitTermination(_timeout, _unit);
             } catch (InterruptedException _ex) {
@@ -182,7 +217,7 @@ public class ReceivingService {
      */
     public synchronized void shutdownNow() {
         for (Entry<ExecutorNames, ExecutorService> es : executors.entrySet()) {
-            if (!es.getValue().isTerminated()) {
+            if (!sharedExecutors.contains(es.getKey()) && !es.getValue().isTerminated()) {
                 logger.debug("Forcefully stopping {}", es.getKey());
                 es.getValue().shutdownNow();
             }
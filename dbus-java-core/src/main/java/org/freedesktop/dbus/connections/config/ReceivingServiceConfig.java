@@ -1,5 +1,11 @@
 package org.freedesktop.dbus.connections.config;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.freedesktop.dbus.connections.ReceivingService.ExecutorNames;
 import org.freedesktop.dbus.connections.ReceivingService.IThreadPoolRetryHandler;
 
 /**
@@ -20,6 +26,9 @@ public final class ReceivingServiceConfig {
 
     private IThreadPoolRetryHandler retryHandler;
 
+    private final Map<ExecutorNames, ExecutorService>                     executorServices         = new EnumMap<>(ExecutorNames.class);
+    private final Map<ExecutorNames, Supplier<? extends ExecutorService>> executorServiceFactories = new EnumMap<>(ExecutorNames.class);
+
     ReceivingServiceConfig() {
     }
 
@@ -59,6 +68,30 @@ public final class ReceivingServiceConfig {
         return retryHandler;
     }
 
+    /**
+     * Executor service provided by the caller for the given executor.
+     * This executor may be shared and is not shut down when the connection is closed.
+     *
+     * @param _executor executor
+     * @return executor service or null if none was provided
+     * @since 4.2.2 - 2026-10-17
+     */
+    public ExecutorService getExecutorService(ExecutorNames _executor) {
+        return executorServices.get(_executor);
+    }
+
+    /**
+     * Factory provided by the caller to create the executor service of the given executor.
+     * The created executor service is owned by the connection and is shut down when the connection is closed.
+     *
+     * @param _executor executor
+     * @return factory or null if none was provided
+     * @since 4.2.2 - 2026-10-17
+     */
+    public Supplier<? extends ExecutorService> getExecutorServiceFactory(ExecutorNames _executor) {
+        return executorServiceFactories.get(_executor);
+    }
+
     void setSignalThreadPoolSize(int _signalThreadPoolSize) {
         signalThreadPoolSize = _signalThreadPoolSize;
     }
@@ -95,4 +128,22 @@ public final class ReceivingServiceConfig {
         retryHandler = _retryHandler;
     }
 
+    void setExecutorService(ExecutorNames _executor, ExecutorService _executorService) {
+        executorServiceFactories.remove(_executor);
+        if (_executorService == null) {
+            executorServices.remove(_executor);
+        } else {
+            executorServices.put(_executor, _executorService);
+        }
+    }
+
+    void setExecutorServiceFactory(ExecutorNames _executor, Supplier<? extends ExecutorService> _factory) {
+        executorServices.remove(_executor);
+        if (_factory == null) {
+            executorServiceFactories.remove(_executor);
+        } else {
+            executorServiceFactories.put(_executor, _factory);
+        }
+    }
+
 }
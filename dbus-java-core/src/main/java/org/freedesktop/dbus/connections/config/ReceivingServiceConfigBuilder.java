@@ -1,5 +1,7 @@
 package org.freedesktop.dbus.connections.config;
 
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -172,6 +174,47 @@ public final class ReceivingServiceConfigBuilder<R extends BaseConnectionBuilder
         return this;
     }
 
+    /**
+     * Sets an executor service which is used instead of the thread-pool created for the given executor.
+     * The executor service may be shared by multiple connections, it is not shut down when the connection is closed.
+     * Thread count and priority configured for this executor are ignored.
+     * <p>
+     * Caution: Signals may be handled out-of-order if the executor service uses more than one thread.
+     * <p>
+     * Default: null (use a fixed thread-pool)
+     *
+     * @param _executor executor to replace
+     * @param _executorService executor service to use, null to use the default thread-pool
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public ReceivingServiceConfigBuilder<R> withExecutorService(ExecutorNames _executor, ExecutorService _executorService) {
+        config.setExecutorService(Objects.requireNonNull(_executor, "Executor required"), _executorService);
+        return this;
+    }
+
+    /**
+     * Sets a factory creating the executor service used for the given executor.
+     * The factory is called once for every connection, the created executor service is shut down when
+     * the connection is closed. Thread count and priority configured for this executor are ignored.
+     * <p>
+     * Can be used to handle e.g. method calls in virtual threads on JDKs supporting them:
+     * <pre>
+     * withExecutorServiceFactory(ExecutorNames.METHODCALL, Executors::newVirtualThreadPerTaskExecutor)
+     * </pre>
+     * <p>
+     * Default: null (use a fixed thread-pool)
+     *
+     * @param _executor executor to replace
+     * @param _factory factory creating the executor service, null to use the default thread-pool
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public ReceivingServiceConfigBuilder<R> withExecutorServiceFactory(ExecutorNames _executor, Supplier<? extends ExecutorService> _factory) {
+        config.setExecutorServiceFactory(Objects.requireNonNull(_executor, "Executor required"), _factory);
+        return this;
+    }
+
     /**
      * Returns the configured {@link ReceivingServiceConfig} instance.
      * @return config never null
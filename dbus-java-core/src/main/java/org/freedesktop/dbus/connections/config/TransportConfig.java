@@ -31,6 +31,14 @@ public final class TransportConfig {
     private boolean                     autoConnect      = true;
     private SaslAuthMode                authMode         = null;
     private OptionalLong                saslUid          = OptionalLong.empty();
+    /** Maximum number of strings cached when decoding received messages, 0 disables the cache. */
+    private int                         stringCacheSize  = 0;
+    /** Number of pooled buffers of each size used for outgoing messages, 0 disables pooling. */
+    private int                         bufferPoolSize   = 0;
+    /** Time the sender waits for more messages before writing a batch, 0 writes immediately. */
+    private long                        writeBatchWindowNanos;
+    /** Allow sending threads to write messages directly if no other thread is writing. */
+    private boolean                     inlineWrites;
 
     /** user to set on socket file if this is a server transport (null to do nothing). */
     private String                      fileOwner;
@@ -96,6 +104,38 @@ public final class TransportConfig {
         timeout = _timeout;
     }
 
+    public int getStringCacheSize() {
+        return stringCacheSize;
+    }
+
+    public void setStringCacheSize(int _stringCacheSize) {
+        stringCacheSize = _stringCacheSize;
+    }
+
+    public int getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    public void setBufferPoolSize(int _bufferPoolSize) {
+        bufferPoolSize = _bufferPoolSize;
+    }
+
+    public long getWriteBatchWindowNanos() {
+        return writeBatchWindowNanos;
+    }
+
+    public void setWriteBatchWindowNanos(long _writeBatchWindowNanos) {
+        writeBatchWindowNanos = _writeBatchWindowNanos;
+    }
+
+    public boolean isInlineWrites() {
+        return inlineWrites;
+    }
+
+    public void setInlineWrites(boolean _inlineWrites) {
+        inlineWrites = _inlineWrites;
+    }
+
     public OptionalLong getSaslUid() {
 		return saslUid;
 	}
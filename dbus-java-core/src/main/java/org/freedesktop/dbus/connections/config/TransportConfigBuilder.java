@@ -3,6 +3,7 @@ package org.freedesktop.dbus.connections.config;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Objects;
 import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -143,6 +144,95 @@ public class TransportConfigBuilder<X extends TransportConfigBuilder<?, R>, R> {
         return self();
     }
 
+    /**
+     * Deduplicate strings of received messages.
+     * <p>
+     * Interfaces, members, object paths, bus names and dictionary keys of received messages
+     * will be resolved to one shared String instance using a cache of the given size.
+     * This option is only supported by the built-in message reader.
+     * </p>
+     * default: 0 (disabled)
+     *
+     * @param _size maximum number of cached strings, 0 to disable
+     *
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public X withStringCacheSize(int _size) {
+        if (_size >= 0) {
+            config.setStringCacheSize(_size);
+        }
+        return self();
+    }
+
+    /**
+     * Enables pooling of the buffers used to marshall outgoing messages.
+     * <p>
+     * Messages the connection creates and sends itself (synchronous and callback based method calls
+     * of remote objects, replies of exported methods) marshall into pooled buffers
+     * which are returned to the pool after the message was written.
+     * Signals created by the user are pooled when they are created with the pool of the connection
+     * (see {@link org.freedesktop.dbus.connections.AbstractConnection#getBufferPool()}), other messages
+     * created by the user are never pooled.
+     * </p>
+     * default: 0 (disabled)
+     *
+     * @param _buffersPerSize maximum number of pooled buffers of each size, 0 to disable
+     *
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public X withBufferPoolSize(int _buffersPerSize) {
+        if (_buffersPerSize >= 0) {
+            config.setBufferPoolSize(_buffersPerSize);
+        }
+        return self();
+    }
+
+    /**
+     * Sets the time to wait for more outgoing messages before writing them.
+     * <p>
+     * Messages are always written by a sender thread, which writes all messages queued at that time at once.
+     * Waiting before writing allows more messages to be written together, which increases the throughput
+     * when many threads are sending, but adds the given time to the latency of every message.
+     * </p>
+     * default: 0 (write immediately)
+     *
+     * @param _window time to wait, 0 to write immediately
+     * @param _unit unit of window
+     *
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public X withWriteBatchWindow(long _window, TimeUnit _unit) {
+        if (_window >= 0) {
+            config.setWriteBatchWindowNanos(Objects.requireNonNull(_unit, "TimeUnit required").toNanos(_window));
+        }
+        return self();
+    }
+
+    /**
+     * Enables writing of outgoing messages by the sending thread.
+     * <p>
+     * When enabled, a thread sending a message writes it to the transport itself if no other thread is
+     * currently writing and no earlier message is waiting in the send queue. This saves the hand-off to the
+     * sender thread and reduces the latency of method calls. If another thread is writing, the message is
+     * queued as usual.<br>
+     * The sending thread may block while the transport is not writable, e.g. because the remote side does
+     * not read its messages.
+     * </p>
+     * default: false
+     *
+     * @param _inlineWrites true to enable
+     *
+     * @return this
+     * @since 4.2.2 - 2026-10-17
+     */
+    public X withInlineWrites(boolean _inlineWrites) {
+        config.setInlineWrites(_inlineWrites);
+        return self();
+    }
+
     /**
      * Set to UID to present during SASL authentication.
      * <p>
@@ -3,8 +3,10 @@ package org.freedesktop.dbus.connections.transports;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.freedesktop.dbus.connections.BusAddress;
@@ -13,6 +15,8 @@ import org.freedesktop.dbus.connections.config.SaslConfig;
 import org.freedesktop.dbus.exceptions.AuthenticationException;
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.messages.Message;
+import org.freedesktop.dbus.messages.BufferPool;
+import org.freedesktop.dbus.messages.StringCache;
 import org.freedesktop.dbus.spi.message.IMessageReader;
 import org.freedesktop.dbus.spi.message.IMessageWriter;
 import org.freedesktop.dbus.spi.message.ISocketProvider;
@@ -43,6 +47,15 @@ public abstract class AbstractTransport implements Closeable {
 
     private Consumer<AbstractTransport>          preConnectCallback;
 
+    /** Last serial used for a message sent on this transport. */
+    private final AtomicLong                     lastSerial = new AtomicLong();
+
+    /** Cache used to deduplicate strings of received messages, null if disabled. */
+    private StringCache                          stringCache;
+
+    /** Pool used to marshall outgoing messages, null if disabled. */
+    private BufferPool                           bufferPool;
+
     protected AbstractTransport(BusAddress _address) {
         address = _address;
         saslConfig = new SaslConfig();
@@ -66,13 +79,61 @@ public abstract class AbstractTransport implements Closeable {
         if (!fileDescriptorSupported && Message.ArgumentType.FILEDESCRIPTOR == _msg.getType()) {
             throw new IllegalArgumentException("File descriptors are not supported!");
         }
+        assignSerial(_msg);
         if (outputWriter != null && !outputWriter.isClosed()) {
             outputWriter.writeMessage(_msg);
+            // returns the wire data of messages created with a pool
+            _msg.releaseWireData();
         } else {
             throw new IOException("OutputWriter already closed or null");
         }
     }
 
+    /**
+     * Write multiple messages to the underlying socket at once.
+     *
+     * @param _msgs messages to write in the given order
+     * @throws IOException on write error or if output was already closed or null
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void writeMessages(List<Message> _msgs) throws IOException {
+        for (Message msg : _msgs) {
+            if (!fileDescriptorSupported && Message.ArgumentType.FILEDESCRIPTOR == msg.getType()) {
+                throw new IllegalArgumentException("File descriptors are not supported!");
+            }
+            assignSerial(msg);
+        }
+        if (outputWriter != null && !outputWriter.isClosed()) {
+            outputWriter.writeMessages(_msgs);
+            // returns the wire data of messages created with a pool
+            for (Message msg : _msgs) {
+                msg.releaseWireData();
+            }
+        } else {
+            throw new IOException("OutputWriter already closed or null");
+        }
+    }
+
+    /**
+     * Assigns the next serial of this transport to the given message.
+     * Messages which already have a serial (e.g. received or forwarded messages) are not changed.
+     * <br>
+     * Serials are allocated without locking and are unique for this transport.
+     *
+     * @param _msg message to assign serial to
+     */
+    public void assignSerial(Message _msg) {
+        if (_msg.getSerial() != 0) {
+            return;
+        }
+        long serial;
+        do {
+            // serial is a UINT32 and must never be 0
+            serial = lastSerial.incrementAndGet() & 0xFFFFFFFFL;
+        } while (serial == 0);
+        _msg.assignSerial(serial);
+    }
+
     /**
      * Read a message from the underlying socket.
      *
@@ -194,13 +255,45 @@ public abstract class AbstractTransport implements Closeable {
 
         if (inputReader == null || outputWriter == null) {
             logger.debug("No alternative ISocketProvider found, using built-in implementation");
-            inputReader = new InputStreamMessageReader(_socket);
+            inputReader = new InputStreamMessageReader(_socket, InputStreamMessageReader.DEFAULT_BUFFER_SIZE, stringCache);
             outputWriter = new OutputStreamMessageWriter(_socket);
             fileDescriptorSupported = false; // internal implementation does not support file descriptors even if server allows it
         }
 
     }
 
+    /**
+     * Enables deduplication of strings in received messages.
+     * Only used by the built-in message reader, must be set before the transport is connected.
+     *
+     * @param _size maximum number of cached strings, 0 or less to disable
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void setStringCacheSize(int _size) {
+        stringCache = _size > 0 ? new StringCache(_size) : null;
+    }
+
+    /**
+     * Enables pooling of the buffers used to marshall outgoing messages.
+     * See {@link BufferPool} for restrictions of pooled messages.
+     *
+     * @param _buffersPerSize maximum number of pooled buffers of each size, 0 or less to disable
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void setBufferPoolSize(int _buffersPerSize) {
+        bufferPool = _buffersPerSize > 0 ? new BufferPool(_buffersPerSize) : null;
+    }
+
+    /**
+     * Returns the pool used to marshall outgoing messages.
+     *
+     * @return pool, null if pooling is disabled
+     * @since 4.2.2 - 2026-10-17
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     /**
      * Returns the {@link BusAddress} used for this transport.
      *
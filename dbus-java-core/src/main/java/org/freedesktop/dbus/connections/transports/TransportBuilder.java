@@ -330,6 +330,8 @@ public class TransportBuilder {
 
         transport.getSaslConfig().setSaslUid(config.getSaslUid());
         transport.setPreConnectCallback(config.getPreConnectCallback());
+        transport.setStringCacheSize(config.getStringCacheSize());
+        transport.setBufferPoolSize(config.getBufferPoolSize());
 
         if (config.isAutoConnect()) {
             transport.connect();
@@ -113,7 +113,7 @@ public class Error extends Message {
             ex.setType(getName());
             return ex;
         } catch (Exception _ex1) {
-            logger.debug("", _ex1);
+            LOGGER.debug("", _ex1);
             DBusExecutionException ex;
             Object[] args = null;
             try {
@@ -0,0 +1,95 @@
+package org.freedesktop.dbus.messages;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of byte arrays used to marshall outgoing messages.<br>
+ * Arrays are grouped by size (powers of two from 128 bytes to 1 MiB), each group holds a fixed number of arrays.
+ * Acquiring and releasing arrays does not lock and does not allocate.
+ * Larger arrays are never pooled.
+ * <br><br>
+ * A pool is owned by a transport. The connection passes it explicitly to the messages it creates and sends itself
+ * (see {@link MessageFactory#createMethodCall(BufferPool, String, String, String, String, byte, String, Object...)} and
+ * {@link MessageFactory#createMethodReturn(BufferPool, MethodCall, String, Object...)}).
+ * Signals created by the user use a pool when it is passed to
+ * {@link MessageFactory#createSignal(BufferPool, String, String, String, String, String, Object...)}
+ * or to {@link DBusSignal#DBusSignal(BufferPool, String, Object...)}, other messages created by the user never use a pool.
+ * After the transport has written a pooled message, the arrays are returned to the pool
+ * and any further use of the wire data of this message fails with an {@link IllegalStateException}.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class BufferPool {
+    private static final int                       MIN_SHIFT = 7;
+    private static final int                       MAX_SHIFT = 20;
+
+    private final AtomicReferenceArray<byte[]>     slots;
+    private final int                              buffersPerSize;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param _buffersPerSize maximum number of pooled arrays of each size
+     */
+    public BufferPool(int _buffersPerSize) {
+        if (_buffersPerSize <= 0) {
+            throw new IllegalArgumentException("Buffers per size must be greater than 0");
+        }
+        buffersPerSize = _buffersPerSize;
+        slots = new AtomicReferenceArray<>((MAX_SHIFT - MIN_SHIFT + 1) * _buffersPerSize);
+    }
+
+    /**
+     * Maximum number of pooled arrays of each size.
+     * @return int
+     */
+    public int getBuffersPerSize() {
+        return buffersPerSize;
+    }
+
+    /**
+     * Returns an array with at least the given length.
+     * The array may contain data of a previous use.
+     *
+     * @param _minLength minimum length
+     * @return array, a newly created array if no suitable array was pooled
+     */
+    byte[] acquire(int _minLength) {
+        int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(_minLength, 1) - 1));
+        if (shift > MAX_SHIFT) {
+            return new byte[_minLength];
+        }
+        int start = (shift - MIN_SHIFT) * buffersPerSize;
+        for (int i = start; i < start + buffersPerSize; i++) {
+            byte[] buf = slots.get(i);
+            if (buf != null && slots.compareAndSet(i, buf, null)) {
+                return buf;
+            }
+        }
+        return new byte[1 << shift];
+    }
+
+    /**
+     * Returns an array to the pool.
+     * Arrays which do not have a pooled size or do not fit into the pool are dropped.
+     *
+     * @param _buf array, must not be used by the caller afterwards
+     */
+    void release(byte[] _buf) {
+        int length = _buf.length;
+        if (Integer.bitCount(length) != 1) {
+            return;
+        }
+        int shift = Integer.numberOfTrailingZeros(length);
+        if (shift < MIN_SHIFT || shift > MAX_SHIFT) {
+            return;
+        }
+        int start = (shift - MIN_SHIFT) * buffersPerSize;
+        for (int i = start; i < start + buffersPerSize; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, _buf)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.freedesktop.dbus.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.freedesktop.dbus.exceptions.MarshallingException;
+import org.freedesktop.dbus.exceptions.UnknownTypeCodeException;
+import org.freedesktop.dbus.messages.Message.ArgumentType;
+
+/**
+ * Parsed representation of a D-Bus signature.<br>
+ * Every complete type of the signature is converted to a tree of {@link TypeNode}s once,
+ * marshalling and demarshalling just walk that tree instead of parsing the signature again for every value.
+ * <br><br>
+ * Compiled signatures are immutable and cached by their signature string.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class CompiledSignature {
+    /** Maximum number of cached signatures, signatures received on the bus must not fill up the memory. */
+    private static final int                             MAX_CACHE_SIZE = 4096;
+    private static final Map<String, CompiledSignature> CACHE          = new ConcurrentHashMap<>();
+
+    private final String                                 signature;
+    private final TypeNode[]                             types;
+
+    private CompiledSignature(String _signature, TypeNode[] _types) {
+        signature = _signature;
+        types = _types;
+    }
+
+    /**
+     * Returns the compiled version of the given signature.
+     *
+     * @param _signature signature, may contain multiple complete types
+     * @return CompiledSignature
+     * @throws MarshallingException when signature is invalid
+     * @throws UnknownTypeCodeException when signature contains unknown types
+     */
+    static CompiledSignature compile(String _signature) throws MarshallingException, UnknownTypeCodeException {
+        CompiledSignature compiled = CACHE.get(_signature);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        byte[] sigb = _signature.getBytes();
+        List<TypeNode> nodes = new ArrayList<>();
+        int[] pos = new int[] {0};
+        while (pos[0] < sigb.length) {
+            nodes.add(parse(_signature, sigb, pos));
+        }
+
+        compiled = new CompiledSignature(_signature, nodes.toArray(new TypeNode[0]));
+        if (CACHE.size() < MAX_CACHE_SIZE) {
+            CACHE.putIfAbsent(_signature, compiled);
+        }
+        return compiled;
+    }
+
+    private static TypeNode parse(String _signature, byte[] _sigb, int[] _pos) throws MarshallingException, UnknownTypeCodeException {
+        int start = _pos[0];
+        if (start >= _sigb.length) {
+            throw new MarshallingException("Incomplete signature: " + _signature);
+        }
+
+        byte code = _sigb[_pos[0]++];
+        switch (code) {
+            case ArgumentType.ARRAY:
+                TypeNode element = parse(_signature, _sigb, _pos);
+                return new TypeNode(code, _signature.substring(start, _pos[0]), element, null);
+            case ArgumentType.STRUCT1:
+            case ArgumentType.DICT_ENTRY1:
+                byte end = code == ArgumentType.STRUCT1 ? ArgumentType.STRUCT2 : ArgumentType.DICT_ENTRY2;
+                List<TypeNode> members = new ArrayList<>();
+                while (_pos[0] < _sigb.length && _sigb[_pos[0]] != end) {
+                    members.add(parse(_signature, _sigb, _pos));
+                }
+                if (_pos[0] >= _sigb.length) {
+                    throw new MarshallingException("Missing '" + (char) end + "' in signature: " + _signature);
+                }
+                _pos[0]++;
+                return new TypeNode(code, _signature.substring(start, _pos[0]), null, members.toArray(new TypeNode[0]));
+            case ArgumentType.BYTE:
+            case ArgumentType.BOOLEAN:
+            case ArgumentType.INT16:
+            case ArgumentType.UINT16:
+            case ArgumentType.INT32:
+            case ArgumentType.UINT32:
+            case ArgumentType.INT64:
+            case ArgumentType.UINT64:
+            case ArgumentType.DOUBLE:
+            case ArgumentType.FLOAT:
+            case ArgumentType.STRING:
+            case ArgumentType.OBJECT_PATH:
+            case ArgumentType.SIGNATURE:
+            case ArgumentType.FILEDESCRIPTOR:
+            case ArgumentType.VARIANT:
+                return new TypeNode(code, _signature.substring(start, _pos[0]), null, null);
+            default:
+                throw new UnknownTypeCodeException(code);
+        }
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Complete types contained in this signature.
+     * @return array, never null
+     */
+    TypeNode[] getTypes() {
+        return types;
+    }
+
+    /**
+     * A single complete type.
+     */
+    static final class TypeNode {
+        private final byte       code;
+        private final int        alignment;
+        private final String     signature;
+        private final TypeNode   element;
+        private final TypeNode[] members;
+
+        TypeNode(byte _code, String _signature, TypeNode _element, TypeNode[] _members) {
+            code = _code;
+            alignment = Message.getAlignment(_code);
+            signature = _signature;
+            element = _element;
+            members = _members;
+        }
+
+        /**
+         * Type code as defined in {@link ArgumentType}.
+         * @return byte
+         */
+        byte getCode() {
+            return code;
+        }
+
+        int getAlignment() {
+            return alignment;
+        }
+
+        /**
+         * Signature of this type (including all contained types).
+         * @return String
+         */
+        String getSignature() {
+            return signature;
+        }
+
+        /**
+         * Type of the array elements, null if this is not an array.
+         * @return TypeNode
+         */
+        TypeNode getElement() {
+            return element;
+        }
+
+        /**
+         * Types of the struct or dict entry members, null if this is not a struct or dict entry.
+         * @return array of TypeNode
+         */
+        TypeNode[] getMembers() {
+            return members;
+        }
+
+        @Override
+        public String toString() {
+            return signature;
+        }
+    }
+}
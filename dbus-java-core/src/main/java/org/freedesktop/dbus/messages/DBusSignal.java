@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.freedesktop.dbus.ConversionPlan;
 import org.freedesktop.dbus.DBusMatchRule;
 import org.freedesktop.dbus.Marshalling;
 import org.freedesktop.dbus.ObjectPath;
@@ -49,15 +50,51 @@ public class DBusSignal extends Message {
 
     private Class<? extends DBusSignal>                                            clazz;
     private boolean                                                                bodydone            = false;
-    private byte[]                                                                 blen;
+    private long                                                                   blen;
 
     DBusSignal() {
     }
 
     public DBusSignal(String _source, String _path, String _iface, String _member, String _sig, Object... _args)
             throws DBusException {
+        this((BufferPool) null, _source, _path, _iface, _member, _sig, _args);
+    }
+
+    DBusSignal(BufferPool _pool, String _source, String _path, String _iface, String _member, String _sig, Object... _args)
+            throws DBusException {
+        super(DBusConnection.getEndianness(), Message.MessageType.SIGNAL, (byte) 0, _pool);
+
+        List<Object> hargs = createHeaderArgs(_source, _path, _iface, _member, _sig);
+        if (null != _sig) {
+            setArgs(_args);
+        }
+
+        padAndMarshall(hargs, getSerial(), _sig, _args);
+        bodydone = true;
+    }
+
+    /**
+     * Creates a signal whose body is written by the given producer.
+     * Allows streaming large arrays into the signal without creating a collection first.
+     *
+     * @param _source sender, maybe null
+     * @param _path object path
+     * @param _iface interface
+     * @param _member signal name
+     * @param _sig signature of the body, null if there is no body
+     * @param _producer writes the body using a {@link MessageBodyWriter}
+     * @throws DBusException when signal could not be created
+     * @since 4.2.2 - 2026-10-17
+     */
+    public DBusSignal(String _source, String _path, String _iface, String _member, String _sig, MessageBodyWriter.BodyProducer _producer)
+            throws DBusException {
         super(DBusConnection.getEndianness(), Message.MessageType.SIGNAL, (byte) 0);
 
+        padAndMarshall(createHeaderArgs(_source, _path, _iface, _member, _sig), getSerial(), _sig, _producer);
+        bodydone = true;
+    }
+
+    private List<Object> createHeaderArgs(String _source, String _path, String _iface, String _member, String _sig) throws MessageFormatException {
         if (null == _path || null == _member || null == _iface) {
             throw new MessageFormatException("Must specify object path, interface and signal name to Signals.");
         }
@@ -73,12 +110,8 @@ public class DBusSignal extends Message {
 
         if (null != _sig) {
             hargs.add(createHeaderArgs(HeaderField.SIGNATURE, ArgumentType.SIGNATURE_STRING, _sig));
-            setArgs(_args);
         }
-
-        setSerial(getSerial() +1);
-        padAndMarshall(hargs, getSerial(), _sig, _args);
-        bodydone = true;
+        return hargs;
     }
 
     /**
@@ -88,9 +121,27 @@ public class DBusSignal extends Message {
      * @param _args The parameters of the signal.
      * @throws DBusException This is thrown if the subclass is incorrectly defined.
      */
-    @SuppressWarnings("unchecked")
     protected DBusSignal(String _objectPath, Object... _args) throws DBusException {
-        super(DBusConnection.getEndianness(), Message.MessageType.SIGNAL, (byte) 0);
+        this((BufferPool) null, _objectPath, _args);
+    }
+
+    /**
+     * Create a new signal marshalled into arrays of the given pool.<br>
+     * Allows sub classes to use the pool of the connection sending the signal (see {@link AbstractConnection#getBufferPool()}).
+     * The wire data is returned to the pool after the signal was written, so the signal must be sent exactly once.
+     * <br><br>
+     * Received signals are never created using this constructor, the sub class still needs a constructor
+     * taking the object path and the parameters of the signal.
+     *
+     * @param _pool pool providing the arrays, null to allocate them
+     * @param _objectPath The path to the object this is emitted from.
+     * @param _args The parameters of the signal.
+     * @throws DBusException This is thrown if the subclass is incorrectly defined.
+     * @since 4.2.2 - 2026-10-17
+     */
+    @SuppressWarnings("unchecked")
+    protected DBusSignal(BufferPool _pool, String _objectPath, Object... _args) throws DBusException {
+        super(DBusConnection.getEndianness(), Message.MessageType.SIGNAL, (byte) 0, _pool);
 
         if (!OBJECT_REGEX_PATTERN.matcher(_objectPath).matches()) {
             throw new DBusException("Invalid object path: " + _objectPath);
@@ -118,12 +169,14 @@ public class DBusSignal extends Message {
                     Constructor<? extends DBusSignal> con =
                             (Constructor<? extends DBusSignal>) tc.getDeclaredConstructors()[0];
                     Type[] ts = con.getGenericParameterTypes();
-                    types = new Type[ts.length - 1];
-                    for (int i = 1; i <= types.length; i++) {
+                    // skip object path and the pool of pooling constructors
+                    int skip = isPooling(con) ? 2 : 1;
+                    types = new Type[ts.length - skip];
+                    for (int i = skip; i < ts.length; i++) {
                         if (ts[i] instanceof TypeVariable) {
-                            types[i - 1] = ((TypeVariable<GenericDeclaration>) ts[i]).getBounds()[0];
+                            types[i - skip] = ((TypeVariable<GenericDeclaration>) ts[i]).getBounds()[0];
                         } else {
-                            types[i - 1] = ts[i];
+                            types[i - skip] = ts[i];
                         }
                     }
                     TYPE_CACHE.put(tc, types);
@@ -132,19 +185,24 @@ public class DBusSignal extends Message {
                 hargs.add(createHeaderArgs(HeaderField.SIGNATURE, ArgumentType.SIGNATURE_STRING, sig));
                 setArgs(_args);
             } catch (Exception e) {
-                logger.debug("", e);
+                LOGGER.debug("", e);
                 throw new DBusException("Failed to add signal parameters: " + e.getMessage());
             }
         }
 
-        blen = new byte[4];
-        appendBytes(blen);
-        long newSerial = getSerial() + 1;
-        setSerial(newSerial);
-        append("ua(yv)", newSerial, hargs.toArray());
+        blen = reserveint(4);
+        append("ua(yv)", getSerial(), hargs.toArray());
         pad((byte) 8);
     }
 
+    /**
+     * Checks if the given signal constructor takes a {@link BufferPool} before the object path.
+     */
+    private static boolean isPooling(Constructor<?> _constructor) {
+        Class<?>[] params = _constructor.getParameterTypes();
+        return params.length > 1 && BufferPool.class.equals(params[0]);
+    }
+
     static void addInterfaceMap(String _java, String _dbus) {
         INT_NAMES.put(_dbus, _java);
     }
@@ -191,7 +249,7 @@ public class DBusSignal extends Message {
             clazz = createSignalClass(intname, signame);
         }
 
-        logger.debug("Converting signal to type: {}", clazz);
+        LOGGER.debug("Converting signal to type: {}", clazz);
 
         if (!CACHED_CONSTRUCTORS.containsKey(clazz)) {
             cacheConstructors(clazz);
@@ -199,8 +257,7 @@ public class DBusSignal extends Message {
 
         List<CachedConstructor> list = CACHED_CONSTRUCTORS.get(clazz);
 
-        Constructor<? extends DBusSignal> con = null;
-        Type[] types = null;
+        CachedConstructor con = null;
 
         Object[] parameters = getParameters();
 
@@ -215,31 +272,30 @@ public class DBusSignal extends Message {
         // find suitable constructor (by checking if parameter types are equal)
         for (CachedConstructor type : list) {
             if (type.matchesParameters(wantedArgs)) {
-                con = type.constructor;
-                types = type.types;
+                con = type;
                 break;
             }
         }
         if (con == null) {
-            logger.warn("Could not find suitable constructor for class {} with argument-types: {}", clazz.getName(),
+            LOGGER.warn("Could not find suitable constructor for class {} with argument-types: {}", clazz.getName(),
                     wantedArgs);
             return null;
         }
 
         try {
             DBusSignal s;
-            Object[] args = Marshalling.deSerializeParameters(parameters, types, _conn);
+            Object[] args = con.getConversionPlan(getSig()).apply(parameters, _conn);
             if (null == args) {
-                s = con.newInstance(getPath());
+                s = con.constructor.newInstance(getPath());
             } else {
                 Object[] params = new Object[args.length + 1];
                 params[0] = getPath();
                 System.arraycopy(args, 0, params, 1, args.length);
-                s = con.newInstance(params);
+                s = con.constructor.newInstance(params);
             }
             s.getHeaders().putAll(getHeaders());
             s.setWiredata(getWireData());
-            s.setByteCounter(getWireData().length);
+            s.setSerial(getSerial());
             return s;
         } catch (Exception _ex) {
             throw new DBusException(_ex);
@@ -250,6 +306,10 @@ public class DBusSignal extends Message {
     private void cacheConstructors(Class<? extends DBusSignal> _clazz) {
         List<CachedConstructor> list = new ArrayList<>();
         for (Constructor<?> constructor : _clazz.getDeclaredConstructors()) {
+            if (isPooling(constructor)) {
+                // only used for sending
+                continue;
+            }
             Constructor<? extends DBusSignal> x = (Constructor<? extends DBusSignal>) constructor;
             list.add(new CachedConstructor(x));
         }
@@ -271,7 +331,7 @@ public class DBusSignal extends Message {
         if (null != args && 0 < args.length) {
             append(sig, args);
         }
-        marshallint(getByteCounter() - counter, blen, 0, 4);
+        marshallint(getByteCounter() - counter, blen, 4);
         bodydone = true;
     }
 
@@ -279,6 +339,7 @@ public class DBusSignal extends Message {
         private final Constructor<? extends DBusSignal> constructor;
         private final List<Class<?>>                    parameterTypes;
         private final Type[]                            types;
+        private final ConversionPlan.Cache              conversionPlans;
 
         CachedConstructor(Constructor<? extends DBusSignal> _constructor) {
             constructor = _constructor;
@@ -293,6 +354,17 @@ public class DBusSignal extends Message {
                     })
                     .collect(Collectors.toList());
             types = createTypes(constructor);
+            conversionPlans = new ConversionPlan.Cache(types);
+        }
+
+        /**
+         * Returns the plan converting received values to the parameter types of this constructor.
+         *
+         * @param _sig D-Bus signature of the received values
+         * @return ConversionPlan
+         */
+        ConversionPlan getConversionPlan(String _sig) {
+            return conversionPlans.get(_sig);
         }
 
         public boolean matchesParameters(List<Class<?>> _wantedArgs) {
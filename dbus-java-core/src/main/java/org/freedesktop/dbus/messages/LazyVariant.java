@@ -0,0 +1,75 @@
+package org.freedesktop.dbus.messages;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freedesktop.dbus.Marshalling;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.messages.CompiledSignature.TypeNode;
+import org.freedesktop.dbus.types.Variant;
+
+/**
+ * {@link Variant} received on the bus which decodes its value on first access.<br>
+ * Until then only the signature and the encoded value are kept. The encoded value was validated when the message
+ * was decoded, so decoding it later does not fail.
+ * Received property dictionaries often contain large arrays while only a few of the values are actually read.
+ * Only large arrays are decoded lazily, copying other values would cost more than decoding them.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class LazyVariant extends Variant<Object> {
+    /** Decodes the value, does not reference the received message. */
+    private Message  decoder;
+    private TypeNode valueType;
+    /** Encoded value, aligned like in the message body. */
+    private byte[]   data;
+    private int      offset;
+
+    private Object   value;
+    private Type     type;
+
+    LazyVariant(Message _decoder, String _sig, TypeNode _valueType, byte[] _data, int _offset) {
+        super(_sig);
+        decoder = _decoder;
+        valueType = _valueType;
+        data = _data;
+        offset = _offset;
+    }
+
+    /**
+     * Return the wrapped value, decoding it if this is the first call.
+     *
+     * @return value
+     */
+    @Override
+    public synchronized Object getValue() {
+        if (decoder != null) {
+            try {
+                value = decoder.extractOne(valueType, data, new int[] {0, offset}, false, Message.VARIANT_FACTORY);
+            } catch (DBusException _ex) {
+                // not expected, the value was validated when the message was decoded
+                throw new IllegalStateException("Unable to decode variant of type " + getSig(), _ex);
+            }
+            decoder = null;
+            valueType = null;
+            data = null;
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Type getType() {
+        if (type == null) {
+            try {
+                List<Type> ts = new ArrayList<>();
+                Marshalling.getJavaType(getSig(), ts, 1);
+                type = ts.get(0);
+            } catch (DBusException _ex) {
+                throw new IllegalStateException("Unable to determine type of variant " + getSig(), _ex);
+            }
+        }
+        return type;
+    }
+}
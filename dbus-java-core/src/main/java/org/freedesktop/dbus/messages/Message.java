@@ -3,12 +3,21 @@ package org.freedesktop.dbus.messages;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.freedesktop.dbus.ArrayFrob;
@@ -23,6 +32,7 @@ import org.freedesktop.dbus.exceptions.MarshallingException;
 import org.freedesktop.dbus.exceptions.MessageFormatException;
 import org.freedesktop.dbus.exceptions.UnknownTypeCodeException;
 import org.freedesktop.dbus.interfaces.DBusInterface;
+import org.freedesktop.dbus.messages.CompiledSignature.TypeNode;
 import org.freedesktop.dbus.types.UInt16;
 import org.freedesktop.dbus.types.UInt32;
 import org.freedesktop.dbus.types.UInt64;
@@ -49,27 +59,58 @@ public class Message {
     /** Position of signature offset in int array. */
     private static final int OFFSET_SIG             = 0;
 
-    /** Keep a static reference to each size of padding array to prevent allocation. */
-    private static byte[][]  padding;
-    static {
-        padding = new byte[][] {
-                null, new byte[1], new byte[2], new byte[3], new byte[4], new byte[5], new byte[6], new byte[7]
-        };
-    }
-    /** Steps to increment the buffer array. */
-    private static final int           BUFFERINCREMENT = 20;
+    /** Minimum size of a {@link ByteBuffer} to be added to the message without copying. */
+    private static final int ZERO_COPY_THRESHOLD    = 8192;
+    /** Minimum size of the elements of an array received in a variant to decode it on first access. */
+    private static final int LAZY_VARIANT_THRESHOLD = 256;
 
-    private static long                globalserial    = 0;
+    /** Signature of the header field array. */
+    private static final String HEADER_SIGNATURE    = "a(yv)";
 
-    protected final Logger             logger          = LoggerFactory.getLogger(getClass());
+    /** Creates {@link Variant} objects for extracted variants. */
+    static final BiFunction<String, Object, Object> VARIANT_FACTORY = (sig, obj) -> new Variant<>(obj, sig);
 
-    private final List<FileDescriptor> filedescriptors = new ArrayList<>();
-    private final Map<Byte, Object>    headers         = new HashMap<>();
 
-    private byte[][]                   wiredata        = new byte[BUFFERINCREMENT][];
-    private long                       bytecounter     = 0;
+    private static final Logger LOGGER = LoggerFactory.getLogger(Message.class);
+
+    /** Loggers returned by {@link #logger}, one per message class. */
+    private static final ClassValue<Logger> CLASS_LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> _type) {
+            return LoggerFactory.getLogger(_type);
+        }
+    };
 
-    private long                       serial;
+    /** Number of header field slots, every known header field is stored at the index of its code. */
+    private static final int HEADER_SLOTS = HeaderField.UNIX_FDS + 1;
+
+    /**
+     * Logger of the concrete message class.
+     * @deprecated use a static logger in the subclass
+     */
+    @Deprecated(since = "4.2.2 - 2026-10-17", forRemoval = true)
+    protected final Logger             logger          = CLASS_LOGGERS.get(getClass());
+
+    /** File descriptors of this message, created when the first descriptor is added. */
+    private List<FileDescriptor>       filedescriptors;
+    /** Header fields indexed by field code. Created when the first field is set, for received messages when requested. */
+    private volatile Object[]          headers;
+    /** Raw header field array of a received message, used to create the header field array on demand. */
+    private byte[]                     headerData;
+
+    // header fields of received messages decoded by decodeHeaderFields
+    private String                     path;
+    private String                     iface;
+    private String                     member;
+    private String                     errorName;
+    private String                     destination;
+    private String                     sender;
+    private String                     signature;
+    private long                       replySerial;
+
+    private WireBuffer                 wiredata        = new WireBuffer();
+
+    private volatile long              serial;
     private byte                       type;
     private byte                       flags;
     private byte                       protover;
@@ -78,10 +119,10 @@ public class Message {
     private Object[]                   args;
     private byte[]                     body;
     private long                       bodylen         = 0;
-    private int                        preallocated    = 0;
-    private int                        paofs           = 0;
-    private byte[]                     pabuf;
-    private int                        bufferuse       = 0;
+    /** Cache used to deduplicate received strings, null if disabled. */
+    private StringCache                stringCache;
+    /** Decodes values of lazily decoded variants, created on first use. */
+    private Message                    variantDecoder;
 
     /**
      * Create a message; only to be called by sub-classes.
@@ -92,17 +133,30 @@ public class Message {
      * @throws DBusException on error
      */
     protected Message(byte _endian, byte _type, byte _flags) throws DBusException {
+        this(_endian, _type, _flags, null);
+    }
+
+    /**
+     * Create a message marshalled into arrays of the given pool; only to be called by sub-classes.
+     *
+     * @param _endian The endianness to create the message.
+     * @param _type The message type.
+     * @param _flags Any message flags.
+     * @param _pool pool providing the arrays, null to allocate them
+     * @throws DBusException on error
+     * @since 4.2.2 - 2026-10-17
+     */
+    Message(byte _endian, byte _type, byte _flags, BufferPool _pool) throws DBusException {
         this();
-        big = Endian.BIG == _endian;
-        synchronized (Message.class) {
-            serial = ++globalserial;
+        if (_pool != null) {
+            wiredata = new WireBuffer(_pool);
         }
+        big = Endian.BIG == _endian;
 
-        logger.debug("Creating message with serial {}", serial);
+        LOGGER.debug("Creating message of type {}", _type);
 
         type = _type;
         flags = _flags;
-        preallocate(4);
         append("yyyy", _endian, _type, _flags, Message.PROTOCOL);
     }
 
@@ -119,95 +173,325 @@ public class Message {
      * @param _headers D-Bus serialized data of type a(yv)
      * @param _body D-Bus serialized data of the signature defined in headers.
      */
-    @SuppressWarnings("unchecked")
     void populate(byte[] _msg, byte[] _headers, byte[] _body, List<FileDescriptor> _descriptors) throws DBusException {
         big = _msg[0] == Endian.BIG;
         type = _msg[1];
         flags = _msg[2];
         protover = _msg[3];
-        wiredata[0] = _msg;
-        wiredata[1] = _headers;
-        wiredata[2] = _body;
+        wiredata = WireBuffer.wrap(_msg, _headers, _body);
         body = _body;
-        bufferuse = 3;
-        bodylen = ((Number) extract(Message.ArgumentType.UINT32_STRING, _msg, 4)[0]).longValue();
-        serial = ((Number) extract(Message.ArgumentType.UINT32_STRING, _msg, 8)[0]).longValue();
-        bytecounter = _msg.length + _headers.length + _body.length;
-
-        filedescriptors.clear();
-        if (_descriptors != null) {
-            filedescriptors.addAll(_descriptors);
-        }
+        bodylen = demarshallint(_msg, 4, 4);
+        serial = demarshallint(_msg, 8, 4);
 
-        LoggingHelper.logIf(logger.isTraceEnabled(), () -> logger.trace("Message header: {}", Hexdump.toAscii(_headers)));
+        filedescriptors = _descriptors == null || _descriptors.isEmpty() ? null : new ArrayList<>(_descriptors);
+
+        LoggingHelper.logIf(LOGGER.isTraceEnabled(), () -> LOGGER.trace("Message header: {}", Hexdump.toAscii(_headers)));
+
+        headers = null;
+        headerData = _headers;
+        decodeHeaderFields(_headers);
+    }
+
+    /**
+     * Decodes the header fields required for routing and dispatching directly into the fields of this message.
+     * Any other header field is skipped, it will be decoded when all header fields are requested.
+     *
+     * @param _headers D-Bus serialized data of type a(yv), starting with the array length followed by 4 bytes padding
+     * @throws DBusException when header is invalid
+     */
+    private void decodeHeaderFields(byte[] _headers) throws DBusException {
+        try {
+            int end = 8 + (int) demarshallint(_headers, 0, 4);
+            int ofs = 8;
+            while (ofs < end) {
+                // every header field is a struct and therefore 8 byte aligned
+                ofs = (ofs + 7) & ~7;
+                byte field = _headers[ofs++];
+                int siglen = _headers[ofs++] & 0xFF;
+                int sigofs = ofs;
+                ofs += siglen + 1;
+
+                byte valueType = siglen == 1 ? _headers[sigofs] : 0;
+                if (!isDecodableHeaderField(field, valueType)) {
+                    // unknown field or unexpected type, let the generic code skip the value
+                    int[] offsets = new int[] {0, ofs};
+                    extract(readString(_headers, sigofs, siglen), _headers, offsets);
+                    ofs = offsets[OFFSET_DATA];
+                    continue;
+                }
 
-        Object[] hs = extractHeader(_headers);
+                if (valueType == ArgumentType.UINT32) {
+                    ofs = (ofs + 3) & ~3;
+                    replySerial = demarshallint(_headers, ofs, 4);
+                    ofs += 4;
+                    continue;
+                }
 
-        LoggingHelper.logIf(logger.isTraceEnabled(), () -> logger.trace("Extracted objects: {}", LoggingHelper.arraysDeepString(logger.isTraceEnabled(), hs)));
+                int length;
+                if (valueType == ArgumentType.SIGNATURE) {
+                    length = _headers[ofs++] & 0xFF;
+                } else {
+                    ofs = (ofs + 3) & ~3;
+                    length = (int) demarshallint(_headers, ofs, 4);
+                    ofs += 4;
+                }
+                String value = readString(_headers, ofs, length);
+                ofs += length + 1;
 
-        for (Object o : (List<Object>) hs[0]) {
-            Object[] objArr = (Object[]) o;
-            this.headers.put((Byte) objArr[0], objArr[1]);
+                switch (field) {
+                    case HeaderField.PATH:
+                        path = value;
+                        break;
+                    case HeaderField.INTERFACE:
+                        iface = value;
+                        break;
+                    case HeaderField.MEMBER:
+                        member = value;
+                        break;
+                    case HeaderField.ERROR_NAME:
+                        errorName = value;
+                        break;
+                    case HeaderField.DESTINATION:
+                        destination = value;
+                        break;
+                    case HeaderField.SENDER:
+                        sender = value;
+                        break;
+                    default:
+                        signature = value;
+                        break;
+                }
+            }
+        } catch (IndexOutOfBoundsException _ex) {
+            throw new MessageFormatException("Invalid message header: " + _ex.getMessage());
         }
     }
 
-    protected Map<Byte, Object> getHeaders() {
-        return headers;
+    /**
+     * Checks if the given header field is decoded by {@link #decodeHeaderFields(byte[])}.
+     * String fields are accepted with any string-like type, like the generic header extraction did.
+     *
+     * @param _field header field
+     * @param _valueType type of the field value
+     * @return true if field is decoded directly
+     */
+    private static boolean isDecodableHeaderField(byte _field, byte _valueType) {
+        switch (_field) {
+            case HeaderField.PATH:
+            case HeaderField.INTERFACE:
+            case HeaderField.MEMBER:
+            case HeaderField.ERROR_NAME:
+            case HeaderField.DESTINATION:
+            case HeaderField.SENDER:
+            case HeaderField.SIGNATURE:
+                return _valueType == ArgumentType.STRING || _valueType == ArgumentType.OBJECT_PATH
+                    || _valueType == ArgumentType.SIGNATURE;
+            case HeaderField.REPLY_SERIAL:
+                return _valueType == ArgumentType.UINT32;
+            default:
+                return false;
+        }
     }
 
-    protected long getByteCounter() {
-        return bytecounter;
+    /**
+     * Returns all header fields of this message.
+     * The returned map is a view on the header fields of this message, changes are written through.
+     * Only known header fields (see {@link HeaderField}) can be stored.
+     *
+     * @return Map
+     */
+    protected Map<Byte, Object> getHeaders() {
+        return new HeaderMap();
     }
 
-    protected void setByteCounter(long _bytecounter) {
-        bytecounter = _bytecounter;
+    /**
+     * Returns the header field array, creating it if needed.
+     * For received messages all header fields will be extracted on first call.
+     *
+     * @return array indexed by header field code
+     */
+    @SuppressWarnings("unchecked")
+    private Object[] getHeaderFields() {
+        Object[] result = headers;
+        if (result != null) {
+            return result;
+        }
+
+        synchronized (this) {
+            if (headers != null) {
+                return headers;
+            }
+
+            result = new Object[HEADER_SLOTS];
+            if (headerData != null) {
+                try {
+                    Object[] hs = extractHeader(headerData);
+
+                    LoggingHelper.logIf(LOGGER.isTraceEnabled(), () -> LOGGER.trace("Extracted objects: {}", LoggingHelper.arraysDeepString(LOGGER.isTraceEnabled(), hs)));
+
+                    for (Object o : (List<Object>) hs[0]) {
+                        Object[] objArr = (Object[]) o;
+                        byte field = (Byte) objArr[0];
+                        if (isHeaderField(field)) {
+                            result[field] = objArr[1];
+                        } else {
+                            LOGGER.debug("Ignoring unknown header field {}", field);
+                        }
+                    }
+                } catch (DBusException _ex) {
+                    LOGGER.warn("Unable to extract message header", _ex);
+                }
+            }
+            headers = result;
+        }
+        return result;
     }
 
-    protected void setSerial(long _serial) {
-        serial = _serial;
+    private static boolean isHeaderField(Object _field) {
+        return _field instanceof Byte && (Byte) _field > 0 && (Byte) _field < HEADER_SLOTS;
     }
 
-    protected byte[][] getWiredata() {
-        return wiredata;
+    /**
+     * Map view on the header field array of this message, iterating in the order of the header field codes.
+     */
+    private final class HeaderMap extends AbstractMap<Byte, Object> {
+        private final Object[] fields = getHeaderFields();
+
+        @Override
+        public Object get(Object _key) {
+            return isHeaderField(_key) ? fields[(Byte) _key] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object _key) {
+            return get(_key) != null;
+        }
+
+        @Override
+        public Object put(Byte _key, Object _value) {
+            if (!isHeaderField(_key)) {
+                throw new IllegalArgumentException("Unknown header field " + _key);
+            }
+            Object old = fields[_key];
+            fields[_key] = _value;
+            return old;
+        }
+
+        @Override
+        public Object remove(Object _key) {
+            if (!isHeaderField(_key)) {
+                return null;
+            }
+            Object old = fields[(Byte) _key];
+            fields[(Byte) _key] = null;
+            return old;
+        }
+
+        @Override
+        public Set<Entry<Byte, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Byte, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next = advance(1);
+                        private int last = -1;
+
+                        private int advance(int _from) {
+                            int i = _from;
+                            while (i < HEADER_SLOTS && fields[i] == null) {
+                                i++;
+                            }
+                            return i;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < HEADER_SLOTS;
+                        }
+
+                        @Override
+                        public Entry<Byte, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            last = next;
+                            next = advance(next + 1);
+                            return new SimpleImmutableEntry<>((byte) last, fields[last]);
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last < 0) {
+                                throw new IllegalStateException();
+                            }
+                            fields[last] = null;
+                            last = -1;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int count = 0;
+                    for (Object o : fields) {
+                        if (o != null) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            };
+        }
     }
 
-    protected void setWiredata(byte[][] _wiredata) {
-        wiredata = _wiredata;
+    protected long getByteCounter() {
+        return wiredata.size();
     }
 
     /**
-     * Create a buffer of num bytes. Data is copied to this rather than added to the buffer list.
+     * Does nothing, the byte counter is always the number of bytes written to the wire buffer.
+     *
+     * @param _bytecounter ignored
+     * @deprecated byte counter is calculated by the wire buffer
      */
-    private void preallocate(int _num) {
-        preallocated = 0;
-        pabuf = new byte[_num];
-        appendBytes(pabuf);
-        preallocated = _num;
-        paofs = 0;
+    @Deprecated(since = "4.2.2 - 2026-10-17", forRemoval = true)
+    protected void setByteCounter(long _bytecounter) {
+        // no-op
+    }
+
+    protected void setSerial(long _serial) {
+        serial = _serial;
     }
 
     /**
-     * Ensures there are enough free buffers.
+     * Sets the serial of this message and updates the already marshalled data.
+     * Called by the transport right before the message is sent.
      *
-     * @param _num number of free buffers to create.
+     * @param _serial serial, must be greater than 0
      */
-    private void ensureBuffers(int _num) {
-        int increase = _num - wiredata.length + bufferuse;
-        if (increase > 0) {
-            if (increase < BUFFERINCREMENT) {
-                increase = BUFFERINCREMENT;
-            }
+    public void assignSerial(long _serial) {
+        serial = _serial;
+        if (wiredata.size() >= 12) {
+            wiredata.patchInt(_serial, 8, 4, big);
+        }
+    }
 
-            logger.trace("Resizing {}", bufferuse);
+    protected byte[][] getWiredata() {
+        return wiredata.toSegments();
+    }
 
-            byte[][] temp = new byte[wiredata.length + increase][];
-            System.arraycopy(wiredata, 0, temp, 0, wiredata.length);
-            wiredata = temp;
-        }
+    /**
+     * Replaces the marshalled data of this message.
+     * The given arrays are used as they are, they will not be copied.
+     *
+     * @param _wiredata marshalled data, null entries are ignored
+     */
+    protected void setWiredata(byte[][] _wiredata) {
+        wiredata = WireBuffer.wrap(_wiredata);
     }
 
     /**
-     * Appends a buffer to the buffer list.
+     * Appends the content of the given array to the wire buffer.
      *
      * @param _buf buffer byte array
      */
@@ -215,49 +499,16 @@ public class Message {
         if (null == _buf) {
             return;
         }
-        if (preallocated > 0) {
-            if (paofs + _buf.length > pabuf.length) {
-                throw new ArrayIndexOutOfBoundsException(
-                        MessageFormat.format("Array index out of bounds, paofs={0}, pabuf.length={1}, buf.length={2}.",
-                                paofs, pabuf.length, _buf.length));
-            }
-            System.arraycopy(_buf, 0, pabuf, paofs, _buf.length);
-            paofs += _buf.length;
-            preallocated -= _buf.length;
-        } else {
-            if (bufferuse == wiredata.length) {
-                logger.trace("Resizing {}", bufferuse);
-                byte[][] temp = new byte[wiredata.length + BUFFERINCREMENT][];
-                System.arraycopy(wiredata, 0, temp, 0, wiredata.length);
-                wiredata = temp;
-            }
-            wiredata[bufferuse++] = _buf;
-            bytecounter += _buf.length;
-        }
+        wiredata.put(_buf);
     }
 
     /**
-     * Appends a byte to the buffer list.
+     * Appends a byte to the wire buffer.
      *
      * @param _b byte
      */
     protected void appendByte(byte _b) {
-        if (preallocated > 0) {
-            pabuf[paofs++] = _b;
-            preallocated--;
-        } else {
-            if (bufferuse == wiredata.length) {
-
-                logger.trace("Resizing {}", bufferuse);
-                byte[][] temp = new byte[wiredata.length + BUFFERINCREMENT][];
-                System.arraycopy(wiredata, 0, temp, 0, wiredata.length);
-                wiredata = temp;
-            }
-            wiredata[bufferuse++] = new byte[] {
-                    _b
-            };
-            bytecounter++;
-        }
+        wiredata.put(_b);
     }
 
     /**
@@ -329,9 +580,31 @@ public class Message {
      * @param _width The byte-width of the int.
      */
     public void appendint(long _l, int _width) {
-        byte[] buf = new byte[_width];
-        marshallint(_l, buf, 0, _width);
-        appendBytes(buf);
+        wiredata.putInt(_l, _width, big);
+        LOGGER.trace("Marshalled int {} with width {}", _l, _width);
+    }
+
+    /**
+     * Reserves space for an integer of a given width which will be written later
+     * using {@link #marshallint(long, long, int)}.
+     *
+     * @param _width The byte-width of the int.
+     * @return position of the reserved integer
+     */
+    protected long reserveint(int _width) {
+        return wiredata.reserve(_width);
+    }
+
+    /**
+     * Marshalls an integer of a given width to a position previously reserved with {@link #reserveint(int)}.
+     * Endianness is determined from the message.
+     *
+     * @param _l The integer to marshall.
+     * @param _pos The position returned by {@link #reserveint(int)}.
+     * @param _width The byte-width of the int.
+     */
+    protected void marshallint(long _l, long _pos, int _width) {
+        wiredata.patchInt(_l, _pos, _width, big);
     }
 
     /**
@@ -349,8 +622,8 @@ public class Message {
             marshallintLittle(_l, _buf, _ofs, _width);
         }
 
-        LoggingHelper.logIf(logger.isTraceEnabled(),
-                () -> logger.trace("Marshalled int {} to {}", _l, Hexdump.toHex(_buf, _ofs, _width, true)));
+        LoggingHelper.logIf(LOGGER.isTraceEnabled(),
+                () -> LOGGER.trace("Marshalled int {} to {}", _l, Hexdump.toHex(_buf, _ofs, _width, true)));
     }
 
     /**
@@ -383,11 +656,43 @@ public class Message {
         }
     }
 
+    /**
+     * Returns the marshalled message.
+     * Every returned array is completely filled with message data.
+     *
+     * @return array of byte arrays, never null
+     */
     public byte[][] getWireData() {
-        return wiredata;
+        return wiredata.toSegments();
+    }
+
+    /**
+     * Returns the marshalled message as buffers ready to be written to a channel.
+     * In contrast to {@link #getWireData()} the data is not copied into completely filled arrays.
+     *
+     * @return array of buffers, never null
+     * @since 4.2.2 - 2026-10-17
+     */
+    public ByteBuffer[] getWireBuffers() {
+        return wiredata.toByteBuffers();
+    }
+
+    /**
+     * Returns the marshalled data to the {@link BufferPool} used to create this message.
+     * Called by the transport after the message was written.
+     * Afterwards the wire data cannot be used anymore and the message cannot be sent again.
+     * Does nothing if this message was not created using a pool.
+     *
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void releaseWireData() {
+        wiredata.release();
     }
 
     public List<FileDescriptor> getFiledescriptors(){
+        if (filedescriptors == null) {
+            filedescriptors = new ArrayList<>();
+        }
         return filedescriptors;
     }
 
@@ -406,10 +711,11 @@ public class Message {
         sb.append(' ');
         sb.append('{');
         sb.append(' ');
-        if (headers.isEmpty()) {
+        Map<Byte, Object> hdrs = getHeaders();
+        if (hdrs.isEmpty()) {
             sb.append('}');
         } else {
-            for (Map.Entry<Byte, Object> entry : headers.entrySet()) {
+            for (Map.Entry<Byte, Object> entry : hdrs.entrySet()) {
                 sb.append(getHeaderFieldName(entry.getKey()));
                 sb.append('=');
                 sb.append('>');
@@ -427,7 +733,7 @@ public class Message {
         try {
             largs = getParameters();
         } catch (DBusException dbe) {
-            logger.debug("", dbe);
+            LOGGER.debug("", dbe);
         }
         if (null == largs || 0 == largs.length) {
             sb.append('}');
@@ -470,28 +776,51 @@ public class Message {
      * @return The value of the field or null if unset.
      */
     public Object getHeader(byte _type) {
-        return headers.get(_type);
+        Object[] hdrs = headers;
+        if (hdrs == null) {
+            switch (_type) {
+                case HeaderField.PATH:
+                    return path == null ? null : new ObjectPath(sender, path);
+                case HeaderField.INTERFACE:
+                    return iface;
+                case HeaderField.MEMBER:
+                    return member;
+                case HeaderField.ERROR_NAME:
+                    return errorName;
+                case HeaderField.DESTINATION:
+                    return destination;
+                case HeaderField.SENDER:
+                    return sender;
+                case HeaderField.SIGNATURE:
+                    return signature;
+                case HeaderField.REPLY_SERIAL:
+                    return replySerial == 0 ? null : UInt32.valueOf(replySerial);
+                default:
+                    break;
+            }
+        }
+        if (!isHeaderField(_type)) {
+            return null;
+        }
+        return (hdrs == null ? getHeaderFields() : hdrs)[_type];
     }
 
     /**
-     * Appends a value to the message. The type of the value is read from a D-Bus signature and used to marshall the
-     * value.
+     * Appends a value to the message. The type of the value is taken from the compiled D-Bus signature
+     * and used to marshall the value.
      *
-     * @param _sigb A buffer of the D-Bus signature.
-     * @param _sigofs The offset into the signature corresponding to this value.
+     * @param _type The compiled type of the value.
      * @param _data The value to marshall.
-     * @return The offset into the signature of the end of this value's type.
      */
     @SuppressWarnings("unchecked")
-    private int appendOne(byte[] _sigb, int _sigofs, Object _data) throws DBusException {
+    void appendOne(TypeNode _type, Object _data) throws DBusException {
         try {
-            int i = _sigofs;
-            logger.trace("{}", bytecounter);
-            logger.trace("Appending type: {} value: {}", (char) _sigb[i], _data);
+            LOGGER.trace("{}", wiredata.size());
+            LOGGER.trace("Appending type: {} value: {}", _type, _data);
 
             // pad to the alignment of this type.
-            pad(_sigb[i]);
-            switch (_sigb[i]) {
+            pad(_type.getAlignment());
+            switch (_type.getCode()) {
             case ArgumentType.BYTE:
                 appendByte(((Number) _data).byteValue());
                 break;
@@ -513,13 +842,7 @@ public class Message {
                 appendint(((Number) _data).longValue(), 8);
                 break;
             case ArgumentType.UINT64:
-                if (big) {
-                    appendint(((UInt64) _data).top(), 4);
-                    appendint(((UInt64) _data).bottom(), 4);
-                } else {
-                    appendint(((UInt64) _data).bottom(), 4);
-                    appendint(((UInt64) _data).top(), 4);
-                }
+                appendint(((UInt64) _data).bits(), 8);
                 break;
             case ArgumentType.INT32:
                 appendint(((Number) _data).intValue(), 4);
@@ -531,9 +854,10 @@ public class Message {
                 appendint(((Number) _data).shortValue(), 2);
                 break;
             case ArgumentType.FILEDESCRIPTOR:
-                filedescriptors.add((FileDescriptor)_data);
-                appendint(filedescriptors.size() - 1, 4);
-                logger.debug( "Just inserted {} as filedescriptor", filedescriptors.size() - 1 );
+                List<FileDescriptor> fds = getFiledescriptors();
+                fds.add((FileDescriptor)_data);
+                appendint(fds.size() - 1, 4);
+                LOGGER.debug( "Just inserted {} as filedescriptor", fds.size() - 1 );
                 break;
             case ArgumentType.STRING:
             case ArgumentType.OBJECT_PATH:
@@ -548,130 +872,54 @@ public class Message {
                     payload = _data.toString();
                 }
 
-                byte[] payloadbytes = null;
-                try {
-                    payloadbytes = payload.getBytes("UTF-8");
-                } catch (UnsupportedEncodingException uee) {
-                    logger.debug("System does not support UTF-8 encoding", uee);
-                    throw new DBusException("System does not support UTF-8 encoding");
-                }
-                logger.trace("Appending String of length {}", payloadbytes.length);
-                appendint(payloadbytes.length, 4);
-                appendBytes(payloadbytes);
-                appendBytes(padding[1]);
-                // pad(ArgumentType.STRING);? do we need this?
+                int encodedLength = wiredata.putString(payload, big);
+                LOGGER.trace("Appended String of length {}", encodedLength);
                 break;
             case ArgumentType.SIGNATURE:
                 // Signatures are marshalled as a byte with the length,
                 // followed by the String, followed by a null byte.
-                // Signatures are generally short, so preallocate the array
-                // for the string, length and null byte.
                 if (_data instanceof Type[]) {
                     payload = Marshalling.getDBusType((Type[]) _data);
                 } else {
                     payload = (String) _data;
                 }
-                byte[] pbytes = payload.getBytes();
-                preallocate(2 + pbytes.length);
-                appendByte((byte) pbytes.length);
-                appendBytes(pbytes);
-                appendByte((byte) 0);
+                appendSignature(payload);
                 break;
             case ArgumentType.ARRAY:
                 // Arrays are given as a UInt32 for the length in bytes,
                 // padding to the element alignment, then elements in
                 // order. The length is the length from the end of the
                 // initial padding to the end of the last element.
-                if (logger.isTraceEnabled() && _data instanceof Object[]) {
-                    logger.trace("Appending array: {}", Arrays.deepToString((Object[]) _data));
+                if (LOGGER.isTraceEnabled() && _data instanceof Object[]) {
+                    LOGGER.trace("Appending array: {}", Arrays.deepToString((Object[]) _data));
                 }
 
-                byte[] alen = new byte[4];
-                appendBytes(alen);
-                pad(_sigb[++i]);
-                long c = bytecounter;
+                TypeNode element = _type.getElement();
+                long alen = reserveint(4);
+                pad(element.getAlignment());
+                long c = wiredata.size();
 
                 // optimise primitives
                 if (_data.getClass().isArray() && _data.getClass().getComponentType().isPrimitive()) {
-                    byte[] primbuf;
-                    int algn = getAlignment(_sigb[i]);
-                    int len = Array.getLength(_data);
-                    switch (_sigb[i]) {
-                    case ArgumentType.BYTE:
-                        primbuf = (byte[]) _data;
-                        break;
-                    case ArgumentType.INT16:
-                    case ArgumentType.INT32:
-                    case ArgumentType.INT64:
-                        primbuf = new byte[len * algn];
-                        for (int j = 0, k = 0; j < len; j++, k += algn) {
-                            marshallint(Array.getLong(_data, j), primbuf, k, algn);
-                        }
-                        break;
-                    case ArgumentType.BOOLEAN:
-                        primbuf = new byte[len * algn];
-                        for (int j = 0, k = 0; j < len; j++, k += algn) {
-                            marshallint(Array.getBoolean(_data, j) ? 1 : 0, primbuf, k, algn);
-                        }
-                        break;
-                    case ArgumentType.DOUBLE:
-                        primbuf = new byte[len * algn];
-                        if (_data instanceof float[]) {
-                            for (int j = 0, k = 0; j < len; j++, k += algn) {
-                                marshallint(Double.doubleToRawLongBits(((float[]) _data)[j]), primbuf, k, algn);
-                            }
-                        } else {
-                            for (int j = 0, k = 0; j < len; j++, k += algn) {
-                                marshallint(Double.doubleToRawLongBits(((double[]) _data)[j]), primbuf, k, algn);
-                            }
-                        }
-                        break;
-                    case ArgumentType.FLOAT:
-                        primbuf = new byte[len * algn];
-                        for (int j = 0, k = 0; j < len; j++, k += algn) {
-                            marshallint(Float.floatToRawIntBits(((float[]) _data)[j]), primbuf, k, algn);
-                        }
-                        break;
-                    default:
-                        throw new MarshallingException("Primitive array being sent as non-primitive array.");
-                    }
-                    appendBytes(primbuf);
+                    appendPrimitiveArray(element, _data);
+                } else if (_data instanceof ByteBuffer) {
+                    appendByteBuffer(element, (ByteBuffer) _data);
                 } else if (_data instanceof List) {
-                    Object[] contents = ((List<?>) _data).toArray();
-                    int diff = i;
-                    ensureBuffers(contents.length * 4);
-                    for (Object o : contents) {
-                        diff = appendOne(_sigb, i, o);
-                    }
-                    if (contents.length == 0) {
-                        diff = EmptyCollectionHelper.determineSignatureOffsetArray(_sigb, diff);
+                    for (Object o : (List<?>) _data) {
+                        appendOne(element, o);
                     }
-                    i = diff;
                 } else if (_data instanceof Map) {
-                    int diff = i;
-                    Map<Object, Object> map = (Map<Object, Object>) _data;
-                    ensureBuffers(map.size() * 6);
-                    for (Map.Entry<Object, Object> o : map.entrySet()) {
-                        diff = appendOne(_sigb, i, o);
+                    for (Map.Entry<Object, Object> o : ((Map<Object, Object>) _data).entrySet()) {
+                        appendOne(element, o);
                     }
-                    if (map.isEmpty()) {
-                        diff = EmptyCollectionHelper.determineSignatureOffsetDict(_sigb, diff);
-                    }
-                    i = diff;
                 } else {
-                    Object[] contents = (Object[]) _data;
-                    ensureBuffers(contents.length * 4);
-                    int diff = i;
-                    for (Object o : contents) {
-                        diff = appendOne(_sigb, i, o);
-                    }
-                    if (contents.length == 0) {
-                        diff = EmptyCollectionHelper.determineSignatureOffsetArray(_sigb, diff);
+                    for (Object o : (Object[]) _data) {
+                        appendOne(element, o);
                     }
-                    i = diff;
                 }
-                logger.trace("start: {} end: {} length: {}", c, bytecounter, bytecounter - c);
-                marshallint(bytecounter - c, alen, 0, 4);
+                long end = wiredata.size();
+                LOGGER.trace("start: {} end: {} length: {}", c, end, end - c);
+                marshallint(end - c, alen, 4);
                 break;
             case ArgumentType.STRUCT1:
                 // Structs are aligned to 8 bytes
@@ -682,58 +930,165 @@ public class Message {
                 } else {
                     contents = (Object[]) _data;
                 }
-                ensureBuffers(contents.length * 4);
-                int j = 0;
-                for (i++; _sigb[i] != ArgumentType.STRUCT2; i++) {
-                    i = appendOne(_sigb, i, contents[j++]);
+                TypeNode[] members = _type.getMembers();
+                for (int j = 0; j < members.length; j++) {
+                    appendOne(members[j], contents[j]);
                 }
                 break;
             case ArgumentType.DICT_ENTRY1:
                 // Dict entries are the same as structs.
+                members = _type.getMembers();
                 if (_data instanceof Map.Entry) {
-                    i++;
-                    i = appendOne(_sigb, i, ((Map.Entry<?, ?>) _data).getKey());
-                    i++;
-                    i = appendOne(_sigb, i, ((Map.Entry<?, ?>) _data).getValue());
-                    i++;
+                    appendOne(members[0], ((Map.Entry<?, ?>) _data).getKey());
+                    appendOne(members[1], ((Map.Entry<?, ?>) _data).getValue());
                 } else {
                     contents = (Object[]) _data;
-                    j = 0;
-                    for (i++; _sigb[i] != ArgumentType.DICT_ENTRY2; i++) {
-                        i = appendOne(_sigb, i, contents[j++]);
+                    for (int j = 0; j < members.length; j++) {
+                        appendOne(members[j], contents[j]);
                     }
                 }
                 break;
             case ArgumentType.VARIANT:
                 // Variants are marshalled as a signature
                 // followed by the value.
+                String sig;
+                Object value;
                 if (_data instanceof Variant) {
                     Variant<?> var = (Variant<?>) _data;
-                    appendOne(new byte[] {
-                            ArgumentType.SIGNATURE
-                    }, 0, var.getSig());
-                    appendOne(var.getSig().getBytes(), 0, var.getValue());
+                    sig = var.getSig();
+                    value = var.getValue();
                 } else if (_data instanceof Object[]) {
                     contents = (Object[]) _data;
-                    appendOne(new byte[] {
-                            ArgumentType.SIGNATURE
-                    }, 0, contents[0]);
-                    appendOne(((String) contents[0]).getBytes(), 0, contents[1]);
+                    sig = (String) contents[0];
+                    value = contents[1];
                 } else {
-                    String sig = Marshalling.getDBusType(_data.getClass())[0];
-                    appendOne(new byte[] {
-                            ArgumentType.SIGNATURE
-                    }, 0, sig);
-                    appendOne(sig.getBytes(), 0, _data);
+                    sig = Marshalling.getDBusType(_data.getClass())[0];
+                    value = _data;
                 }
+                appendSignature(sig);
+                appendOne(CompiledSignature.compile(sig).getTypes()[0], value);
                 break;
+            default:
+                throw new UnknownTypeCodeException(_type.getCode());
             }
-            return i;
         } catch (ClassCastException cce) {
-            logger.debug("Trying to marshall to unconvertible type.", cce);
+            LOGGER.debug("Trying to marshall to unconvertible type.", cce);
             throw new MarshallingException(
                     MessageFormat.format("Trying to marshall to unconvertible type (from {0} to {1}).",
-                            _data.getClass().getName(), (char) _sigb[_sigofs]));
+                            _data.getClass().getName(), _type));
+        }
+    }
+
+    /**
+     * Appends a signature value (length byte, signature and null byte).
+     *
+     * @param _signature signature to append
+     */
+    void appendSignature(String _signature) {
+        byte[] pbytes = _signature.getBytes();
+        appendByte((byte) pbytes.length);
+        appendBytes(pbytes);
+        appendByte((byte) 0);
+    }
+
+    /**
+     * Appends the content of a primitive java array.
+     *
+     * @param _element type of the array elements
+     * @param _data primitive array
+     * @throws MarshallingException when element type does not support primitive arrays
+     */
+    private void appendPrimitiveArray(TypeNode _element, Object _data) throws MarshallingException {
+        int algn = _element.getAlignment();
+        int len = Array.getLength(_data);
+        switch (_element.getCode()) {
+        case ArgumentType.BYTE:
+            appendBytes((byte[]) _data);
+            break;
+        case ArgumentType.INT16:
+            if (_data instanceof short[]) {
+                wiredata.putView(len * algn, big).asShortBuffer().put((short[]) _data);
+            } else {
+                appendPrimitivesAsLong(_data, len, algn);
+            }
+            break;
+        case ArgumentType.INT32:
+            if (_data instanceof int[]) {
+                wiredata.putView(len * algn, big).asIntBuffer().put((int[]) _data);
+            } else {
+                appendPrimitivesAsLong(_data, len, algn);
+            }
+            break;
+        case ArgumentType.INT64:
+            if (_data instanceof long[]) {
+                wiredata.putView(len * algn, big).asLongBuffer().put((long[]) _data);
+            } else {
+                appendPrimitivesAsLong(_data, len, algn);
+            }
+            break;
+        case ArgumentType.BOOLEAN:
+            IntBuffer ib = wiredata.putView(len * algn, big).asIntBuffer();
+            for (int j = 0; j < len; j++) {
+                ib.put(Array.getBoolean(_data, j) ? 1 : 0);
+            }
+            break;
+        case ArgumentType.DOUBLE:
+            DoubleBuffer db = wiredata.putView(len * algn, big).asDoubleBuffer();
+            if (_data instanceof float[]) {
+                float[] fa = (float[]) _data;
+                for (int j = 0; j < len; j++) {
+                    db.put(fa[j]);
+                }
+            } else {
+                db.put((double[]) _data);
+            }
+            break;
+        case ArgumentType.FLOAT:
+            wiredata.putView(len * algn, big).asFloatBuffer().put((float[]) _data);
+            break;
+        default:
+            throw new MarshallingException("Primitive array being sent as non-primitive array.");
+        }
+    }
+
+    /**
+     * Appends the remaining content of a {@link ByteBuffer} as byte array.<br>
+     * Large heap buffers backed by a complete array are added to the message without copying,
+     * the content of such buffers must not be changed until the message was sent.
+     *
+     * @param _element type of the array elements, must be BYTE
+     * @param _data buffer to append
+     * @throws MarshallingException when element type is not BYTE
+     */
+    private void appendByteBuffer(TypeNode _element, ByteBuffer _data) throws MarshallingException {
+        if (_element.getCode() != ArgumentType.BYTE) {
+            throw new MarshallingException("ByteBuffer can only be sent as array of bytes, not as array of " + _element);
+        }
+        if (isZeroCopy(_data)) {
+            wiredata.appendSegment(_data.array());
+        } else {
+            wiredata.put(_data);
+        }
+    }
+
+    /**
+     * Checks if the given buffer is added to the message without copying it.
+     *
+     * @param _data buffer
+     * @return true if the backing array of the buffer is used as it is
+     */
+    static boolean isZeroCopy(ByteBuffer _data) {
+        return _data.hasArray() && !_data.isReadOnly() && _data.remaining() >= ZERO_COPY_THRESHOLD
+                && _data.arrayOffset() == 0 && _data.position() == 0 && _data.limit() == _data.array().length;
+    }
+
+    /**
+     * Appends primitive array elements one by one.
+     * Used when the type of the array does not match the D-Bus type (e.g. int[] sent as array of INT64).
+     */
+    private void appendPrimitivesAsLong(Object _data, int _len, int _algn) {
+        for (int j = 0; j < _len; j++) {
+            appendint(Array.getLong(_data, j), _algn);
         }
     }
 
@@ -743,22 +1098,24 @@ public class Message {
      * @param _type type
      */
     public void pad(byte _type) {
-        logger.trace("padding for {}", (char) _type);
-        int a = getAlignment(_type);
-        logger.trace("{} {} {} {}", preallocated, paofs, bytecounter, a);
-        int b = (int) ((bytecounter - preallocated) % a);
+        LOGGER.trace("padding for {}", (char) _type);
+        pad(getAlignment(_type));
+    }
+
+    /**
+     * Pad the message to the given alignment.
+     *
+     * @param _alignment alignment in bytes
+     */
+    void pad(int _alignment) {
+        int a = _alignment;
+        int b = (int) (wiredata.size() % a);
         if (0 == b) {
             return;
         }
         a = a - b;
-        if (preallocated > 0) {
-            paofs += a;
-            preallocated -= a;
-        } else {
-            appendBytes(padding[a]);
-        }
-        logger.trace("{} {} {} {}", preallocated, paofs, bytecounter, a);
-
+        wiredata.putZeros(a);
+        LOGGER.trace("{} {}", wiredata.size(), a);
     }
 
     /**
@@ -812,12 +1169,11 @@ public class Message {
      * @throws DBusException on error
      */
     public void append(String _sig, Object... _data) throws DBusException {
-        logger.debug("Appending sig: {} data: {}", _sig, LoggingHelper.arraysDeepString(logger.isDebugEnabled(),_data));
-        byte[] sigb = _sig.getBytes();
-        int j = 0;
-        for (int i = 0; i < sigb.length; i++) {
-            logger.trace("Appending item: {} {} {}", i, (char) sigb[i], j);
-            i = appendOne(sigb, i, _data[j++]);
+        LOGGER.debug("Appending sig: {} data: {}", _sig, LoggingHelper.arraysDeepString(LOGGER.isDebugEnabled(),_data));
+        TypeNode[] types = CompiledSignature.compile(_sig).getTypes();
+        for (int i = 0; i < types.length; i++) {
+            LOGGER.trace("Appending item: {} {}", i, types[i]);
+            appendOne(types[i], _data[i]);
         }
     }
 
@@ -829,7 +1185,7 @@ public class Message {
      * @return The new, aligned, counter.
      */
     public int align(int _current, byte _type) {
-        logger.trace("aligning to {}", (char) _type);
+        LOGGER.trace("aligning to {}", (char) _type);
         int a = getAlignment(_type);
         if (0 == _current % a) {
             return _current;
@@ -851,63 +1207,34 @@ public class Message {
                 0, 0
         };
 
-        return extract("a(yv)", _headers, offsets, this::readHeaderVariants);
-    }
-
-    /**
-     * Special lightweight version to read the variant objects in DBus message header.
-     * This method will not create {@link Variant} objects it directly extracts the Variant data content.
-     *
-     * @param _signatureBuf DBus signature string as byte array
-     * @param _dataBuf buffer with header data
-     * @param _offsets current offsets
-     * @param _contained boolean to indicate if nested lists should be resolved (false usually)
-     *
-     * @return Object
-     *
-     * @throws DBusException when parsing fails
-     */
-    private Object readHeaderVariants(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, boolean _contained) throws DBusException {
-        // correct the offsets before extracting values
-        _offsets[OFFSET_DATA] = align(_offsets[OFFSET_DATA], _signatureBuf[_offsets[OFFSET_SIG]]);
-
-        if (_signatureBuf[_offsets[OFFSET_SIG]] == ArgumentType.ARRAY) {
-            return extractArray(_signatureBuf, _dataBuf, _offsets, _contained, this::readHeaderVariants);
-        } else if (_signatureBuf[_offsets[OFFSET_SIG]] == ArgumentType.BYTE) {
-            return extractByte(_dataBuf, _offsets);
-        } else if (_signatureBuf[_offsets[OFFSET_SIG]] == ArgumentType.VARIANT) {
-            return extractVariant(_dataBuf, _offsets, (sig, obj) -> obj);
-        } else if (_signatureBuf[_offsets[OFFSET_SIG]] == ArgumentType.STRUCT1) {
-            return extractStruct(_signatureBuf, _dataBuf, _offsets, this::readHeaderVariants);
-        } else {
-            throw new MessageFormatException("Unsupported data type in header: " + _signatureBuf[_offsets[OFFSET_SIG]]);
-        }
+        // do not create Variant objects for header fields, directly use the Variant data content
+        return extract(CompiledSignature.compile(HEADER_SIGNATURE), _headers, offsets, (sig, obj) -> obj);
     }
 
     /**
      * Demarshall one value from a buffer.
      *
-     * @param _signatureBuf A buffer of the D-Bus signature.
+     * @param _type The compiled type of the value.
      * @param _dataBuf The buffer to demarshall from.
      * @param _offsets An array of two ints, which holds the position of the current signature offset and the current
      *            offset of the data buffer.
      * @param _contained converts nested arrays to Lists
+     * @param _variantFactory method to create new {@link Variant} objects (or other object types)
      * @return The demarshalled value.
      */
-    private Object extractOne(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, boolean _contained)
-            throws DBusException {
+    Object extractOne(TypeNode _type, byte[] _dataBuf, int[] _offsets, boolean _contained,
+            BiFunction<String, Object, Object> _variantFactory) throws DBusException {
 
-        logger.trace("Extracting type: {} from offset {}", (char) _signatureBuf[_offsets[OFFSET_SIG]],
-                _offsets[OFFSET_DATA]);
+        LOGGER.trace("Extracting type: {} from offset {}", _type, _offsets[OFFSET_DATA]);
 
         Object rv = null;
-        _offsets[OFFSET_DATA] = align(_offsets[OFFSET_DATA], _signatureBuf[_offsets[OFFSET_SIG]]);
-        switch (_signatureBuf[_offsets[OFFSET_SIG]]) {
+        _offsets[OFFSET_DATA] = align(_offsets[OFFSET_DATA], _type.getCode());
+        switch (_type.getCode()) {
             case ArgumentType.BYTE:
-                rv = extractByte(_dataBuf, _offsets);
+                rv = _dataBuf[_offsets[OFFSET_DATA]++];
                 break;
             case ArgumentType.UINT32:
-                rv = new UInt32(demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4));
+                rv = UInt32.valueOf(demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4));
                 _offsets[OFFSET_DATA] += 4;
                 break;
             case ArgumentType.INT32:
@@ -919,7 +1246,7 @@ public class Message {
                 _offsets[OFFSET_DATA] += 2;
                 break;
             case ArgumentType.UINT16:
-                rv = new UInt16((int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], 2));
+                rv = UInt16.valueOf((int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], 2));
                 _offsets[OFFSET_DATA] += 2;
                 break;
             case ArgumentType.INT64:
@@ -927,19 +1254,8 @@ public class Message {
                 _offsets[OFFSET_DATA] += 8;
                 break;
             case ArgumentType.UINT64:
-                long top;
-                long bottom;
-                if (big) {
-                    top = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
-                    _offsets[OFFSET_DATA] += 4;
-                    bottom = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
-                } else {
-                    bottom = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
-                    _offsets[OFFSET_DATA] += 4;
-                    top = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
-                }
-                rv = new UInt64(top, bottom);
-                _offsets[OFFSET_DATA] += 4;
+                rv = UInt64.fromBits(demarshallint(_dataBuf, _offsets[OFFSET_DATA], 8));
+                _offsets[OFFSET_DATA] += 8;
                 break;
             case ArgumentType.DOUBLE:
                 long l = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 8);
@@ -957,65 +1273,45 @@ public class Message {
                 rv = (1 == rf) ? Boolean.TRUE : Boolean.FALSE;
                 break;
             case ArgumentType.ARRAY:
-                rv = extractArray(_signatureBuf, _dataBuf, _offsets, _contained, this::extractOne);
+                rv = extractArray(_type, _dataBuf, _offsets, _contained, _variantFactory);
                 break;
             case ArgumentType.STRUCT1:
-                rv = extractStruct(_signatureBuf, _dataBuf, _offsets, this::extractOne);
-                break;
             case ArgumentType.DICT_ENTRY1:
-                Object[] decontents = new Object[2];
-
-                LoggingHelper.logIf(logger.isTraceEnabled(), () -> {
-                    logger.trace("Extracting Dict Entry ({}) from: {}",
-                            Hexdump.toAscii(_signatureBuf, _offsets[OFFSET_SIG], _signatureBuf.length - _offsets[OFFSET_SIG]),
-                            Hexdump.toHex(_dataBuf, _offsets[OFFSET_DATA], _dataBuf.length - _offsets[OFFSET_DATA], true));
-                });
-
-                _offsets[OFFSET_SIG]++;
-                decontents[0] = extractOne(_signatureBuf, _dataBuf, _offsets, true);
-                _offsets[OFFSET_SIG]++;
-                decontents[1] = extractOne(_signatureBuf, _dataBuf, _offsets, true);
-                _offsets[OFFSET_SIG]++;
-                rv = decontents;
+                rv = extractStruct(_type, _dataBuf, _offsets, _variantFactory);
                 break;
             case ArgumentType.VARIANT:
-                rv = extractVariant(_dataBuf, _offsets, (sig, obj) -> new Variant<>(obj, sig));
+                rv = extractVariant(_dataBuf, _offsets, _variantFactory);
                 break;
             case ArgumentType.FILEDESCRIPTOR:
-                rv = filedescriptors.get((int)demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4));
+                rv = getFiledescriptors().get((int)demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4));
                 _offsets[OFFSET_DATA] += 4;
                 break;
             case ArgumentType.STRING:
                 int length = (int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
                 _offsets[OFFSET_DATA] += 4;
-                try {
-                    rv = new String(_dataBuf, _offsets[OFFSET_DATA], length, "UTF-8");
-                } catch (UnsupportedEncodingException uee) {
-                    logger.debug("System does not support UTF-8 encoding", uee);
-                    throw new DBusException("System does not support UTF-8 encoding");
-                }
+                rv = readString(_dataBuf, _offsets[OFFSET_DATA], length);
                 _offsets[OFFSET_DATA] += length + 1;
                 break;
             case ArgumentType.OBJECT_PATH:
                 length = (int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
                 _offsets[OFFSET_DATA] += 4;
-                rv = new ObjectPath(getSource(), new String(_dataBuf, _offsets[OFFSET_DATA], length));
+                rv = new ObjectPath(getSource(), readString(_dataBuf, _offsets[OFFSET_DATA], length));
                 _offsets[OFFSET_DATA] += length + 1;
                 break;
             case ArgumentType.SIGNATURE:
                 length = _dataBuf[_offsets[OFFSET_DATA]++] & 0xFF;
-                rv = new String(_dataBuf, _offsets[OFFSET_DATA], length);
+                rv = readString(_dataBuf, _offsets[OFFSET_DATA], length);
                 _offsets[OFFSET_DATA] += length + 1;
                 break;
             default:
-                throw new UnknownTypeCodeException(_signatureBuf[_offsets[OFFSET_SIG]]);
+                throw new UnknownTypeCodeException(_type.getCode());
         }
 
-        if (logger.isTraceEnabled()) {
+        if (LOGGER.isTraceEnabled()) {
             if (rv instanceof Object[]) {
-                logger.trace("Extracted: {} (now at {})", Arrays.deepToString((Object[]) rv), _offsets[OFFSET_DATA]);
+                LOGGER.trace("Extracted: {} (now at {})", Arrays.deepToString((Object[]) rv), _offsets[OFFSET_DATA]);
             } else {
-                logger.trace("Extracted: {} (now at {})", rv, _offsets[OFFSET_DATA]);
+                LOGGER.trace("Extracted: {} (now at {})", rv, _offsets[OFFSET_DATA]);
             }
         }
 
@@ -1023,70 +1319,56 @@ public class Message {
     }
 
     /**
-     * Extracts a byte from the data received on bus.
-     *
-     * @param _dataBuf buffer holding the byte
-     * @param _offsets offset position in buffer (will be updated)
-     *
-     * @return Object
-     */
-    private Object extractByte(byte[] _dataBuf, int[] _offsets) {
-        Object rv;
-        rv = _dataBuf[_offsets[OFFSET_DATA]++];
-        return rv;
-    }
-
-    /**
-     * Extracts a struct from the data received on bus.
+     * Extracts a struct or dict entry from the data received on bus.
      *
-     * @param _signatureBuf signature (as byte array) defining the struct content
+     * @param _type compiled type of the struct
      * @param _dataBuf buffer containing the struct
      * @param _offsets offset position in buffer (will be updated)
-     * @param _extractMethod method to be called for every entry contained of the struct
+     * @param _variantFactory method to create new {@link Variant} objects (or other object types)
      *
-     * @return Object
+     * @return Object array containing the struct members
      *
      * @throws DBusException when parsing fails
      */
-    private Object extractStruct(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, ExtractMethod _extractMethod) throws DBusException {
-        Object rv;
-        List<Object> contents = new ArrayList<>();
-        while (_signatureBuf[++_offsets[OFFSET_SIG]] != ArgumentType.STRUCT2) {
-            contents.add(_extractMethod.extractOne(_signatureBuf, _dataBuf, _offsets, true));
+    private Object extractStruct(TypeNode _type, byte[] _dataBuf, int[] _offsets, BiFunction<String, Object, Object> _variantFactory) throws DBusException {
+        TypeNode[] members = _type.getMembers();
+        Object[] contents = new Object[members.length];
+        for (int i = 0; i < members.length; i++) {
+            contents[i] = extractOne(members[i], _dataBuf, _offsets, true, _variantFactory);
         }
-        rv = contents.toArray();
-        return rv;
+        return contents;
     }
 
     /**
      * Extracts an array from the data received on bus.
      *
-     * @param _signatureBuf signature string (as byte array) of the content of the array
+     * @param _type compiled type of the array
      * @param _dataBuf buffer containing the array to read
      * @param _offsets current offsets in the buffer (will be updated)
      * @param _contained resolve nested lists
-     * @param _extractMethod method to be called for every entry contained in the array
+     * @param _variantFactory method to create new {@link Variant} objects (or other object types)
      *
      * @return Object
      *
      * @throws MarshallingException when Array is too large
      * @throws DBusException when parsing fails
      */
-    private Object extractArray(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, boolean _contained, ExtractMethod _extractMethod)
+    private Object extractArray(TypeNode _type, byte[] _dataBuf, int[] _offsets, boolean _contained, BiFunction<String, Object, Object> _variantFactory)
             throws MarshallingException, DBusException {
         Object rv;
         long size = demarshallint(_dataBuf, _offsets[OFFSET_DATA], 4);
 
-        logger.trace("Reading array of size: {}", size);
+        LOGGER.trace("Reading array of size: {}", size);
         _offsets[OFFSET_DATA] += 4;
-        byte algn = (byte) getAlignment(_signatureBuf[++_offsets[OFFSET_SIG]]);
-        _offsets[OFFSET_DATA] = align(_offsets[OFFSET_DATA], _signatureBuf[_offsets[OFFSET_SIG]]);
+        TypeNode element = _type.getElement();
+        byte algn = (byte) element.getAlignment();
+        _offsets[OFFSET_DATA] = align(_offsets[OFFSET_DATA], element.getCode());
         int length = (int) (size / algn);
         if (length > AbstractConnection.MAX_ARRAY_LENGTH) {
             throw new MarshallingException("Arrays must not exceed " + AbstractConnection.MAX_ARRAY_LENGTH);
         }
 
-        rv = optimizePrimitives(_signatureBuf, _dataBuf, _offsets, size, algn, length, _extractMethod);
+        rv = optimizePrimitives(element, _dataBuf, _offsets, size, algn, length, _variantFactory);
 
         if (_contained && !(rv instanceof List) && !(rv instanceof Map)) {
             rv = ArrayFrob.listify(rv);
@@ -1106,40 +1388,226 @@ public class Message {
      * @throws DBusException when parsing fails
      */
     private Object extractVariant(byte[] _dataBuf, int[] _offsets, BiFunction<String, Object, Object> _variantFactory) throws DBusException {
-        Object rv;
+        int ofs = _offsets[OFFSET_DATA];
+        int length = _dataBuf[ofs++] & 0xFF;
+        String sig = readString(_dataBuf, ofs, length);
+        ofs += length + 1;
+        CompiledSignature compiled = CompiledSignature.compile(sig);
+
+        if (compiled.getTypes().length == 1) {
+            TypeNode type = compiled.getTypes()[0];
+            if (_variantFactory == VARIANT_FACTORY && isLargeArray(type, _dataBuf, ofs)) {
+                // the value is validated now but decoded when Variant.getValue() is called
+                int end = skipOne(type, _dataBuf, ofs, true);
+                _offsets[OFFSET_DATA] = end;
+                // keep a copy of the value only (with the same alignment), not the whole message body
+                int start = ofs & ~7;
+                return new LazyVariant(getVariantDecoder(), sig, type, Arrays.copyOfRange(_dataBuf, start, end), ofs - start);
+            }
+            _offsets[OFFSET_DATA] = ofs;
+            return _variantFactory.apply(sig, extractOne(type, _dataBuf, _offsets, false, VARIANT_FACTORY));
+        }
+
         int[] newofs = new int[] {
-                0, _offsets[OFFSET_DATA]
+                0, ofs
         };
-        String sig = (String) extract(ArgumentType.SIGNATURE_STRING, _dataBuf, newofs)[0];
-        newofs[OFFSET_SIG] = 0;
-        rv = _variantFactory.apply(sig, extract(sig, _dataBuf, newofs)[0]);
+        Object rv = _variantFactory.apply(sig, extract(compiled, _dataBuf, newofs, VARIANT_FACTORY)[0]);
         _offsets[OFFSET_DATA] = newofs[OFFSET_DATA];
         return rv;
     }
 
+    /**
+     * Checks if the value at the given offset is an array with at least {@link #LAZY_VARIANT_THRESHOLD} bytes of elements.
+     * Other values are cheaper to decode right away than to copy them for decoding later.
+     *
+     * @param _type compiled type of the value
+     * @param _dataBuf buffer containing the value
+     * @param _offset offset of the value (before alignment)
+     * @return true if value is a large array
+     */
+    private boolean isLargeArray(TypeNode _type, byte[] _dataBuf, int _offset) {
+        if (_type.getCode() != ArgumentType.ARRAY) {
+            return false;
+        }
+        int ofs = align(_offset, ArgumentType.ARRAY);
+        return ofs + 4 <= _dataBuf.length && demarshallint(_dataBuf, ofs, 4) >= LAZY_VARIANT_THRESHOLD;
+    }
+
+    /**
+     * Skips a value in the given buffer without decoding it.
+     *
+     * @param _type compiled type of the value
+     * @param _dataBuf buffer containing the value
+     * @param _offset offset of the value (before alignment)
+     * @return offset of the first byte after the value
+     *
+     * @throws DBusException when type is unknown or the value exceeds the buffer
+     */
+    int skipOne(TypeNode _type, byte[] _dataBuf, int _offset) throws DBusException {
+        return skipOne(_type, _dataBuf, _offset, false);
+    }
+
+    /**
+     * Skips a value in the given buffer without decoding it.<br>
+     * When validating, all elements of arrays are visited and checked as well, so decoding the value afterwards
+     * cannot fail.
+     *
+     * @param _type compiled type of the value
+     * @param _dataBuf buffer containing the value
+     * @param _offset offset of the value (before alignment)
+     * @param _validate true to check the complete content of the value
+     * @return offset of the first byte after the value
+     *
+     * @throws DBusException when type is unknown or the value is malformed
+     */
+    private int skipOne(TypeNode _type, byte[] _dataBuf, int _offset, boolean _validate) throws DBusException {
+        int ofs = align(_offset, _type.getCode());
+        switch (_type.getCode()) {
+            case ArgumentType.BYTE:
+                return checkBounds(_dataBuf, ofs, 1);
+            case ArgumentType.INT16:
+            case ArgumentType.UINT16:
+                return checkBounds(_dataBuf, ofs, 2);
+            case ArgumentType.BOOLEAN:
+            case ArgumentType.INT32:
+            case ArgumentType.UINT32:
+            case ArgumentType.FLOAT:
+                return checkBounds(_dataBuf, ofs, 4);
+            case ArgumentType.FILEDESCRIPTOR:
+                int end = checkBounds(_dataBuf, ofs, 4);
+                if (_validate && demarshallint(_dataBuf, ofs, 4) >= getFiledescriptors().size()) {
+                    throw new MarshallingException("Invalid file descriptor index " + demarshallint(_dataBuf, ofs, 4));
+                }
+                return end;
+            case ArgumentType.INT64:
+            case ArgumentType.UINT64:
+            case ArgumentType.DOUBLE:
+                return checkBounds(_dataBuf, ofs, 8);
+            case ArgumentType.STRING:
+            case ArgumentType.OBJECT_PATH:
+                checkBounds(_dataBuf, ofs, 4);
+                return checkBounds(_dataBuf, ofs + 4, demarshallint(_dataBuf, ofs, 4) + 1);
+            case ArgumentType.SIGNATURE:
+                checkBounds(_dataBuf, ofs, 1);
+                return checkBounds(_dataBuf, ofs + 1, (_dataBuf[ofs] & 0xFF) + 1L);
+            case ArgumentType.ARRAY:
+                return skipArray(_type.getElement(), _dataBuf, ofs, _validate);
+            case ArgumentType.STRUCT1:
+            case ArgumentType.DICT_ENTRY1:
+                for (TypeNode member : _type.getMembers()) {
+                    ofs = skipOne(member, _dataBuf, ofs, _validate);
+                }
+                return ofs;
+            case ArgumentType.VARIANT:
+                checkBounds(_dataBuf, ofs, 1);
+                int length = _dataBuf[ofs++] & 0xFF;
+                checkBounds(_dataBuf, ofs, length + 1L);
+                String sig = readString(_dataBuf, ofs, length);
+                ofs += length + 1;
+                for (TypeNode member : CompiledSignature.compile(sig).getTypes()) {
+                    ofs = skipOne(member, _dataBuf, ofs, _validate);
+                }
+                return ofs;
+            default:
+                throw new UnknownTypeCodeException(_type.getCode());
+        }
+    }
+
+    private int skipArray(TypeNode _element, byte[] _dataBuf, int _offset, boolean _validate) throws DBusException {
+        checkBounds(_dataBuf, _offset, 4);
+        long size = demarshallint(_dataBuf, _offset, 4);
+        int start = align(_offset + 4, _element.getCode());
+        if (size == 0) {
+            return start;
+        }
+        int end = checkBounds(_dataBuf, start, size);
+        if (!_validate) {
+            return end;
+        }
+        if (size / _element.getAlignment() > AbstractConnection.MAX_ARRAY_LENGTH) {
+            throw new MarshallingException("Arrays must not exceed " + AbstractConnection.MAX_ARRAY_LENGTH);
+        }
+        switch (_element.getCode()) {
+            case ArgumentType.BYTE:
+            case ArgumentType.BOOLEAN:
+            case ArgumentType.INT16:
+            case ArgumentType.UINT16:
+            case ArgumentType.INT32:
+            case ArgumentType.UINT32:
+            case ArgumentType.INT64:
+            case ArgumentType.UINT64:
+            case ArgumentType.FLOAT:
+            case ArgumentType.DOUBLE:
+                // fixed size elements, decoding reads at most size bytes
+                return end;
+            default:
+                int ofs = start;
+                while (ofs < end) {
+                    ofs = skipOne(_element, _dataBuf, ofs, true);
+                }
+                return ofs;
+        }
+    }
+
+    /**
+     * Checks that a value of the given length starting at the given offset is contained in the buffer.
+     *
+     * @return offset of the first byte after the value
+     * @throws MarshallingException when the value exceeds the buffer
+     */
+    private static int checkBounds(byte[] _dataBuf, int _offset, long _length) throws MarshallingException {
+        long end = _offset + _length;
+        if (_length < 0 || end > _dataBuf.length) {
+            throw new MarshallingException("Value of length " + _length + " at offset " + _offset + " exceeds message body");
+        }
+        return (int) end;
+    }
+
+    /**
+     * Returns a message which only holds the state required to decode values of this message (byte order,
+     * sender, file descriptors and string cache), but not the message data.
+     * Used by {@link LazyVariant}, so decoding a variant later does not keep the whole message alive.
+     *
+     * @return Message
+     */
+    private Message getVariantDecoder() {
+        Message decoder = variantDecoder;
+        if (decoder == null) {
+            decoder = new Message();
+            decoder.big = big;
+            decoder.sender = getSource();
+            decoder.filedescriptors = filedescriptors;
+            decoder.stringCache = stringCache;
+            // variants nested in variants are decoded by the same decoder
+            decoder.variantDecoder = decoder;
+            variantDecoder = decoder;
+        }
+        return decoder;
+    }
+
     /**
      * Will create primitive arrays when an array is read.
      * <br>
      * In case the array is not compatible with primitives (e.g. object types are used or array contains Struct/Maps etc)
      * an array of the appropriate type will be created.
      *
-     * @param _signatureBuf signature string (as byte array) containing the type of array
+     * @param _element compiled type of the array elements
      * @param _dataBuf buffer containing the array
      * @param _offsets current offset in buffer (will be updated)
      * @param _size size of a byte
      * @param _algn data offset padding width when reading primitives (except byte)
      * @param _length length of the array
-     * @param _extractMethod method to be called for every entry contained in the array if not primitive array
+     * @param _variantFactory method to create new {@link Variant} objects (or other object types)
      *
      * @return Object array
      *
      * @throws DBusException when parsing fails
      */
-    private Object optimizePrimitives(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, long _size, byte _algn,
-            int _length, ExtractMethod _extractMethod)
+    private Object optimizePrimitives(TypeNode _element, byte[] _dataBuf, int[] _offsets, long _size, byte _algn,
+            int _length, BiFunction<String, Object, Object> _variantFactory)
             throws DBusException {
         Object rv;
-        switch (_signatureBuf[_offsets[OFFSET_SIG]]) {
+        switch (_element.getCode()) {
             case ArgumentType.BYTE:
                 rv = new byte[_length];
                 System.arraycopy(_dataBuf, _offsets[OFFSET_DATA], rv, 0, _length);
@@ -1147,57 +1615,50 @@ public class Message {
                 break;
             case ArgumentType.INT16:
                 rv = new short[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((short[]) rv)[j] = (short) demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn);
-                }
+                wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asShortBuffer().get((short[]) rv);
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.INT32:
                 rv = new int[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((int[]) rv)[j] = (int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn);
-                }
+                wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asIntBuffer().get((int[]) rv);
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.INT64:
                 rv = new long[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((long[]) rv)[j] = demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn);
-                }
+                wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asLongBuffer().get((long[]) rv);
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.BOOLEAN:
                 rv = new boolean[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((boolean[]) rv)[j] = 1 == demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn);
+                IntBuffer ib = wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asIntBuffer();
+                for (int j = 0; j < _length; j++) {
+                    ((boolean[]) rv)[j] = 1 == ib.get();
                 }
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.FLOAT:
                 rv = new float[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((float[]) rv)[j] = Float.intBitsToFloat((int) demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn));
-                }
+                wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asFloatBuffer().get((float[]) rv);
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.DOUBLE:
                 rv = new double[_length];
-                for (int j = 0; j < _length; j++, _offsets[OFFSET_DATA] += _algn) {
-                    ((double[]) rv)[j] = Double.longBitsToDouble(demarshallint(_dataBuf, _offsets[OFFSET_DATA], _algn));
-                }
+                wrapData(_dataBuf, _offsets[OFFSET_DATA], _length * _algn).asDoubleBuffer().get((double[]) rv);
+                _offsets[OFFSET_DATA] += _size;
                 break;
             case ArgumentType.DICT_ENTRY1:
-                int ofssave = prepareCollection(_signatureBuf, _offsets, _size);
                 long end = _offsets[OFFSET_DATA] + _size;
                 List<Object[]> entries = new ArrayList<>();
                 while (_offsets[OFFSET_DATA] < end) {
-                    _offsets[OFFSET_SIG] = ofssave;
-                    entries.add((Object[]) _extractMethod.extractOne(_signatureBuf, _dataBuf, _offsets, true));
+                    entries.add((Object[]) extractOne(_element, _dataBuf, _offsets, true, _variantFactory));
                 }
                 rv = new DBusMap<>(entries.toArray(new Object[0][]));
                 break;
             default:
-                ofssave = prepareCollection(_signatureBuf, _offsets, _size);
                 end = _offsets[OFFSET_DATA] + _size;
                 List<Object> contents = new ArrayList<>();
                 while (_offsets[OFFSET_DATA] < end) {
-                    _offsets[OFFSET_SIG] = ofssave;
-                    contents.add(_extractMethod.extractOne(_signatureBuf, _dataBuf, _offsets, true));
+                    contents.add(extractOne(_element, _dataBuf, _offsets, true, _variantFactory));
                 }
                 rv = contents;
         }
@@ -1205,31 +1666,47 @@ public class Message {
     }
 
     /**
-     * Interface defining a method to extract a specific data type.
-     * For internal usage only.
+     * Decodes a string of a received message using the {@link StringCache} if configured.
+     */
+    String readString(byte[] _buf, int _offset, int _length) {
+        StringCache cache = stringCache;
+        return cache == null ? decodeString(_buf, _offset, _length) : cache.get(_buf, _offset, _length);
+    }
+
+    /**
+     * Sets the cache used to deduplicate strings when this message is populated from received data.
      *
-     * @since 4.2.0 - 2022-08-19
+     * @param _stringCache cache, null to disable
      */
-    @FunctionalInterface
-    interface ExtractMethod {
-        Object extractOne(byte[] _signatureBuf, byte[] _dataBuf, int[] _offsets, boolean _contained)
-                throws DBusException;
+    void setStringCache(StringCache _stringCache) {
+        stringCache = _stringCache;
     }
 
-    private int prepareCollection(byte[] _signatureBuf, int[] _offsets, long _size) throws DBusException {
-        if (0 == _size) {
-            // advance the type parser even on 0-size arrays.
-            List<Type> temp = new ArrayList<>();
-            byte[] temp2 = new byte[_signatureBuf.length - _offsets[OFFSET_SIG]];
-            System.arraycopy(_signatureBuf, _offsets[OFFSET_SIG], temp2, 0, temp2.length);
-            String temp3 = new String(temp2);
-            // ofs[OFFSET_SIG] gets incremented anyway. Leave one character on the stack
-            int temp4 = Marshalling.getJavaType(temp3, temp, 1) - 1;
-            _offsets[OFFSET_SIG] += temp4;
-            logger.trace("Aligned type: {} {} {}", temp3, temp4, _offsets[OFFSET_SIG]);
+    /**
+     * Decodes a UTF-8 string.<br>
+     * Strings only containing ASCII characters (most bus names, paths, interfaces and property names)
+     * are copied without running the UTF-8 decoder.
+     *
+     * @param _buf buffer
+     * @param _offset offset of the first byte
+     * @param _length number of bytes
+     * @return String
+     */
+    static String decodeString(byte[] _buf, int _offset, int _length) {
+        int end = _offset + _length;
+        for (int i = _offset; i < end; i++) {
+            if (_buf[i] < 0) {
+                return new String(_buf, _offset, _length, StandardCharsets.UTF_8);
+            }
         }
-        int ofssave = _offsets[OFFSET_SIG];
-        return ofssave;
+        return new String(_buf, _offset, _length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates a view on the given part of the buffer using the byte order of this message.
+     */
+    private ByteBuffer wrapData(byte[] _dataBuf, int _offset, int _length) {
+        return ByteBuffer.wrap(_dataBuf, _offset, _length).slice().order(big ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
     }
 
     /**
@@ -1261,18 +1738,22 @@ public class Message {
      * @throws DBusException on error
      */
     public Object[] extract(String _signature, byte[] _dataBuf, int[] _offsets) throws DBusException {
-        return extract(_signature, _dataBuf, _offsets, this::extractOne);
+        String sig = _offsets[OFFSET_SIG] == 0 ? _signature : _signature.substring(_offsets[OFFSET_SIG]);
+        Object[] rv = extract(CompiledSignature.compile(sig), _dataBuf, _offsets, VARIANT_FACTORY);
+        _offsets[OFFSET_SIG] = _signature.length();
+        return rv;
     }
 
-    Object[] extract(String _signature, byte[] _dataBuf, int[] _offsets, ExtractMethod _method) throws DBusException {
-        logger.trace("extract({},#{}, {{},{}}", _signature, _dataBuf.length, _offsets[OFFSET_SIG],
+    private Object[] extract(CompiledSignature _signature, byte[] _dataBuf, int[] _offsets,
+            BiFunction<String, Object, Object> _variantFactory) throws DBusException {
+        LOGGER.trace("extract({},#{}, {{},{}}", _signature.getSignature(), _dataBuf.length, _offsets[OFFSET_SIG],
                 _offsets[OFFSET_DATA]);
-        List<Object> rv = new ArrayList<>();
-        byte[] sigb = _signature.getBytes();
-        for (int[] i = _offsets; i[OFFSET_SIG] < sigb.length; i[OFFSET_SIG]++) {
-            rv.add(_method.extractOne(sigb, _dataBuf, i, false));
+        TypeNode[] types = _signature.getTypes();
+        Object[] rv = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            rv[i] = extractOne(types[i], _dataBuf, _offsets, false, _variantFactory);
         }
-        return rv.toArray();
+        return rv;
     }
 
     /**
@@ -1281,7 +1762,7 @@ public class Message {
      * @return string
      */
     public String getSource() {
-        return (String) headers.get(HeaderField.SENDER);
+        return getStringHeader(HeaderField.SENDER, sender);
     }
 
     /**
@@ -1290,7 +1771,7 @@ public class Message {
      * @return string
      */
     public String getDestination() {
-        return (String) headers.get(HeaderField.DESTINATION);
+        return getStringHeader(HeaderField.DESTINATION, destination);
     }
 
     /**
@@ -1299,7 +1780,7 @@ public class Message {
      * @return string
      */
     public String getInterface() {
-        return (String) headers.get(HeaderField.INTERFACE);
+        return getStringHeader(HeaderField.INTERFACE, iface);
     }
 
     /**
@@ -1308,7 +1789,11 @@ public class Message {
      * @return string
      */
     public String getPath() {
-        Object o = headers.get(HeaderField.PATH);
+        Object[] hdrs = headers;
+        if (hdrs == null) {
+            return path;
+        }
+        Object o = hdrs[HeaderField.PATH];
         if (null == o) {
             return null;
         }
@@ -1322,19 +1807,32 @@ public class Message {
      */
     public String getName() {
         if (this instanceof org.freedesktop.dbus.errors.Error) {
-            return (String) headers.get(HeaderField.ERROR_NAME);
+            return getStringHeader(HeaderField.ERROR_NAME, errorName);
         } else {
-            return (String) headers.get(HeaderField.MEMBER);
+            return getStringHeader(HeaderField.MEMBER, member);
         }
     }
 
+    /**
+     * Returns the value of a string header field.
+     * Uses the directly decoded value if the header field array has not been created.
+     *
+     * @param _field header field
+     * @param _decoded decoded value of that field
+     * @return String, maybe null
+     */
+    private String getStringHeader(byte _field, String _decoded) {
+        Object[] hdrs = headers;
+        return hdrs == null ? _decoded : (String) hdrs[_field];
+    }
+
     /**
      * Returns the dbus signature of the parameters.
      *
      * @return string
      */
     public String getSig() {
-        return (String) headers.get(HeaderField.SIGNATURE);
+        return getStringHeader(HeaderField.SIGNATURE, signature);
     }
 
     /**
@@ -1347,7 +1845,9 @@ public class Message {
     }
 
     /**
-     * Returns the message serial ID (unique for this connection)
+     * Returns the message serial ID (unique for this connection).
+     * Messages created locally will get their serial when they are sent,
+     * until then 0 is returned.
      *
      * @return the message serial.
      */
@@ -1361,7 +1861,11 @@ public class Message {
      * @return The reply serial, or 0 if it is not a reply.
      */
     public long getReplySerial() {
-        Number l = (Number) headers.get(HeaderField.REPLY_SERIAL);
+        Object[] hdrs = headers;
+        if (hdrs == null) {
+            return replySerial;
+        }
+        Number l = (Number) hdrs[HeaderField.REPLY_SERIAL];
         if (null == l) {
             return 0;
         }
@@ -1376,7 +1880,7 @@ public class Message {
      */
     public Object[] getParameters() throws DBusException {
         if (null == args && null != body) {
-            String sig = (String) headers.get(HeaderField.SIGNATURE);
+            String sig = getSig();
             if (null != sig && 0 != body.length) {
                 args = extract(sig, body, 0);
             } else {
@@ -1386,6 +1890,23 @@ public class Message {
         return args;
     }
 
+    /**
+     * Creates a reader to decode the body of this message value by value.
+     * <br>
+     * Unlike {@link #getParameters()} the reader does not decode the complete body,
+     * only the values which are actually read.
+     *
+     * @return reader or null if this message was not received (has no body data)
+     * @throws DBusException when signature of this message is invalid
+     * @since 4.2.2 - 2026-10-17
+     */
+    public MessageBodyReader getBodyReader() throws DBusException {
+        if (null == body) {
+            return null;
+        }
+        return new MessageBodyReader(this, body, 0 == body.length ? null : getSig());
+    }
+
     public void setArgs(Object[] _args) {
         this.args = _args;
     }
@@ -1398,23 +1919,21 @@ public class Message {
      */
     public void setSource(String _source) throws DBusException {
         if (null != body) {
-            wiredata = new byte[BUFFERINCREMENT][];
-            bufferuse = 0;
-            bytecounter = 0;
-            preallocate(12);
+            wiredata = new WireBuffer();
             append("yyyyuu", big ? Endian.BIG : Endian.LITTLE, type, flags, protover, bodylen, serial);
-            headers.put(HeaderField.SENDER, _source);
-            Object[][] newhead = new Object[headers.size()][];
+            Map<Byte, Object> hdrs = getHeaders();
+            hdrs.put(HeaderField.SENDER, _source);
+            Object[][] newhead = new Object[hdrs.size()][];
             int i = 0;
-            for (Byte b : headers.keySet()) {
+            for (Map.Entry<Byte, Object> e : hdrs.entrySet()) {
                 newhead[i] = new Object[2];
-                newhead[i][0] = b;
-                newhead[i][1] = headers.get(b);
+                newhead[i][0] = e.getKey();
+                newhead[i][1] = e.getValue();
                 i++;
             }
             append("a(yv)", (Object) newhead);
             pad((byte) 8);
-            appendBytes(body);
+            wiredata.appendSegment(body);
         }
     }
 
@@ -1432,7 +1951,7 @@ public class Message {
 
     /**
      * Creates a message header.
-     * Will automatically add the values to the current instances header map.
+     * Will automatically add the values to the header fields of the current instance.
      *
      * @param _header header type (one of {@link HeaderField})
      * @param _argType arguement type (one of {@link ArgumentType})
@@ -1441,7 +1960,7 @@ public class Message {
      * @return Object array
      */
     protected Object[] createHeaderArgs(byte _header, String _argType, Object _value) {
-        getHeaders().put(_header, _value);
+        getHeaderFields()[_header] = _value;
         return new Object[] {
                 _header, new Object[] {
                         _argType, _value
@@ -1459,18 +1978,56 @@ public class Message {
      * @throws DBusException
      */
     protected void padAndMarshall(List<Object> _hargs, long _serial, String _sig, Object... _args) throws DBusException {
-        byte[] blen = new byte[4];
-        appendBytes(blen);
-        append("ua(yv)", _serial, _hargs.toArray());
+        Object[] header = _hargs.toArray();
+
+        MessageSizer size = MessageSizer.measure(getByteCounter(), _serial, header, _sig, _args);
+        if (size != null) {
+            checkMessageLength(size.getSize());
+            // write everything into one buffer of the required size
+            wiredata.ensureAvailable((int) (size.getCopiedSize() - getByteCounter()));
+        }
+
+        long blen = reserveint(4);
+        append("ua(yv)", _serial, header);
         pad((byte) 8);
 
         long c = getByteCounter();
         if (null != _sig) {
             append(_sig, _args);
         }
-        logger.trace("Appended body, type: {} start: {} end: {} size: {}",_sig, c, getByteCounter(), getByteCounter() - c);
-        marshallint(getByteCounter() - c, blen, 0, 4);
-        logger.trace("marshalled size ({}): {}",blen, Hexdump.format(blen));
+        LOGGER.trace("Appended body, type: {} start: {} end: {} size: {}",_sig, c, getByteCounter(), getByteCounter() - c);
+        marshallint(getByteCounter() - c, blen, 4);
+    }
+
+    /**
+     * Adds message padding and marshalling, the body is written by the given producer.
+     *
+     * @param _hargs header arguments
+     * @param _serial serial
+     * @param _sig signature of the body, null if message has no body
+     * @param _producer writes the body
+     * @throws DBusException when body could not be written
+     */
+    void padAndMarshall(List<Object> _hargs, long _serial, String _sig, MessageBodyWriter.BodyProducer _producer) throws DBusException {
+        long blen = reserveint(4);
+        append("ua(yv)", _serial, _hargs.toArray());
+        pad((byte) 8);
+
+        long c = getByteCounter();
+        if (null != _sig) {
+            MessageBodyWriter writer = new MessageBodyWriter(this, _sig);
+            _producer.write(writer);
+            writer.finish();
+        }
+        LOGGER.trace("Streamed body, type: {} start: {} end: {} size: {}", _sig, c, getByteCounter(), getByteCounter() - c);
+        checkMessageLength(getByteCounter());
+        marshallint(getByteCounter() - c, blen, 4);
+    }
+
+    private static void checkMessageLength(long _length) throws MarshallingException {
+        if (_length > MAXIMUM_MESSAGE_LENGTH) {
+            throw new MarshallingException("Message of " + _length + " bytes exceeds maximum message length of " + MAXIMUM_MESSAGE_LENGTH);
+        }
     }
 
     /**
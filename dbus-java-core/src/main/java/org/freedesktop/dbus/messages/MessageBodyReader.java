@@ -0,0 +1,384 @@
+package org.freedesktop.dbus.messages;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.exceptions.MarshallingException;
+import org.freedesktop.dbus.messages.CompiledSignature.TypeNode;
+import org.freedesktop.dbus.messages.Message.ArgumentType;
+
+/**
+ * Pull style reader for the body of a received {@link Message}.<br>
+ * In contrast to {@link Message#getParameters()} values are only decoded when they are read.
+ * Values which are not needed can be skipped without decoding them, containers (arrays, structs,
+ * dict entries and variants) can be entered to read single members.
+ * <br><br>
+ * Example reading the keys of a <code>a{sv}</code> argument:
+ * <pre>
+ * MessageBodyReader reader = message.getBodyReader();
+ * reader.enterArray();
+ * while (reader.hasNext()) {
+ *     reader.enterStruct();
+ *     String key = reader.readString();
+ *     reader.skip();
+ *     reader.exitStruct();
+ * }
+ * reader.exitArray();
+ * </pre>
+ * The reader is not thread-safe.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class MessageBodyReader {
+    private final Message      message;
+    private final byte[]       body;
+
+    private final Deque<Level> levels = new ArrayDeque<>();
+    private Level              current;
+    private int                position;
+
+    MessageBodyReader(Message _message, byte[] _body, String _signature) throws DBusException {
+        message = _message;
+        body = _body;
+        current = new Level(CompiledSignature.compile(_signature == null ? "" : _signature).getTypes());
+    }
+
+    /**
+     * Checks if there are more values on the current level
+     * (top level arguments or members of the entered container).
+     *
+     * @return true if another value can be read
+     */
+    public boolean hasNext() {
+        return current.hasNext(position);
+    }
+
+    /**
+     * Returns the type of the next value as defined in {@link ArgumentType}.
+     * Structs are reported as {@link ArgumentType#STRUCT1}, dict entries as {@link ArgumentType#DICT_ENTRY1}.
+     *
+     * @return type code or 0 if no more values are available on the current level
+     */
+    public byte nextType() {
+        return hasNext() ? current.next().getCode() : 0;
+    }
+
+    /**
+     * Returns the complete signature of the next value.
+     *
+     * @return signature or null if no more values are available on the current level
+     */
+    public String nextSignature() {
+        return hasNext() ? current.next().getSignature() : null;
+    }
+
+    public byte readByte() throws DBusException {
+        expect(ArgumentType.BYTE);
+        return body[position++];
+    }
+
+    public boolean readBoolean() throws DBusException {
+        expect(ArgumentType.BOOLEAN);
+        return readFixed(4) == 1;
+    }
+
+    public short readInt16() throws DBusException {
+        expect(ArgumentType.INT16);
+        return (short) readFixed(2);
+    }
+
+    public int readUInt16() throws DBusException {
+        expect(ArgumentType.UINT16);
+        return (int) readFixed(2);
+    }
+
+    public int readInt32() throws DBusException {
+        expect(ArgumentType.INT32);
+        return (int) readFixed(4);
+    }
+
+    public long readUInt32() throws DBusException {
+        expect(ArgumentType.UINT32);
+        return readFixed(4);
+    }
+
+    public long readInt64() throws DBusException {
+        expect(ArgumentType.INT64);
+        return readFixed(8);
+    }
+
+    /**
+     * Reads a UINT64 value.
+     * @return value, values greater than {@link Long#MAX_VALUE} are returned as negative numbers
+     * @throws DBusException when next value is not a UINT64
+     */
+    public long readUInt64() throws DBusException {
+        expect(ArgumentType.UINT64);
+        return readFixed(8);
+    }
+
+    public double readDouble() throws DBusException {
+        expect(ArgumentType.DOUBLE);
+        return Double.longBitsToDouble(readFixed(8));
+    }
+
+    /**
+     * Reads a STRING or OBJECT_PATH value.
+     * @return String
+     * @throws DBusException when next value is neither STRING nor OBJECT_PATH
+     */
+    public String readString() throws DBusException {
+        byte type = nextType();
+        if (type != ArgumentType.STRING && type != ArgumentType.OBJECT_PATH) {
+            throw unexpected(ArgumentType.STRING);
+        }
+        current.advance();
+        align(4);
+        int length = (int) message.demarshallint(body, position, 4);
+        position += 4;
+        String value = message.readString(body, position, length);
+        position += length + 1;
+        return value;
+    }
+
+    public String readSignature() throws DBusException {
+        expect(ArgumentType.SIGNATURE);
+        int length = body[position++] & 0xFF;
+        String value = message.readString(body, position, length);
+        position += length + 1;
+        return value;
+    }
+
+    /**
+     * Reads a byte array without copying it.
+     *
+     * @return read-only buffer sharing its content with the message body
+     * @throws DBusException when next value is not an array of bytes
+     */
+    public ByteBuffer readByteBuffer() throws DBusException {
+        TypeNode type = nextNode();
+        if (type.getCode() != ArgumentType.ARRAY || type.getElement().getCode() != ArgumentType.BYTE) {
+            throw new MarshallingException("Expected value of type ay but found " + type);
+        }
+        current.advance();
+        align(4);
+        int length = (int) readFixed(4);
+        ByteBuffer value = ByteBuffer.wrap(body, position, length).slice().asReadOnlyBuffer();
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads and completely decodes the next value.
+     * The result is the same object {@link Message#getParameters()} would return for the value.
+     *
+     * @return decoded value
+     * @throws DBusException when no value is available or value could not be decoded
+     */
+    public Object readValue() throws DBusException {
+        TypeNode type = nextNode();
+        current.advance();
+        int[] offsets = new int[] {0, position};
+        Object value = message.extractOne(type, body, offsets, false, Message.VARIANT_FACTORY);
+        position = offsets[1];
+        return value;
+    }
+
+    /**
+     * Skips the next value without decoding it.
+     *
+     * @throws DBusException when no value is available
+     */
+    public void skip() throws DBusException {
+        TypeNode type = nextNode();
+        current.advance();
+        skip(type);
+    }
+
+    /**
+     * Enters the next value which has to be an array.
+     * Until {@link #exitArray()} is called, all methods operate on the array elements.
+     *
+     * @return number of bytes used by the array content
+     * @throws DBusException when next value is not an array
+     */
+    public int enterArray() throws DBusException {
+        TypeNode type = expect(ArgumentType.ARRAY);
+        align(4);
+        int size = (int) message.demarshallint(body, position, 4);
+        position += 4;
+        align(type.getElement().getAlignment());
+        push(new Level(type.getElement(), position + size));
+        return size;
+    }
+
+    /**
+     * Leaves the current array, remaining elements are skipped.
+     *
+     * @throws DBusException when current level is not an array
+     */
+    public void exitArray() throws DBusException {
+        if (current.element == null) {
+            throw new MarshallingException("Not inside an array");
+        }
+        position = current.end;
+        pop();
+    }
+
+    /**
+     * Enters the next value which has to be a struct or dict entry.
+     * Until {@link #exitStruct()} is called, all methods operate on the members.
+     *
+     * @throws DBusException when next value is neither a struct nor a dict entry
+     */
+    public void enterStruct() throws DBusException {
+        TypeNode type = nextNode();
+        if (type.getCode() != ArgumentType.STRUCT1 && type.getCode() != ArgumentType.DICT_ENTRY1) {
+            throw unexpected(ArgumentType.STRUCT1);
+        }
+        current.advance();
+        align(8);
+        push(new Level(type.getMembers()));
+    }
+
+    /**
+     * Leaves the current struct or dict entry, remaining members are skipped.
+     *
+     * @throws DBusException when current level is not a struct or dict entry
+     */
+    public void exitStruct() throws DBusException {
+        if (current.members == null || levels.isEmpty() || current.variant) {
+            throw new MarshallingException("Not inside a struct");
+        }
+        skipRemaining();
+        pop();
+    }
+
+    /**
+     * Enters the next value which has to be a variant.
+     * Until {@link #exitVariant()} is called, all methods operate on the content of the variant.
+     *
+     * @return signature of the variant content
+     * @throws DBusException when next value is not a variant
+     */
+    public String enterVariant() throws DBusException {
+        expect(ArgumentType.VARIANT);
+        int length = body[position++] & 0xFF;
+        String sig = message.readString(body, position, length);
+        position += length + 1;
+        Level level = new Level(CompiledSignature.compile(sig).getTypes());
+        level.variant = true;
+        push(level);
+        return sig;
+    }
+
+    /**
+     * Leaves the current variant, the content is skipped if it was not read.
+     *
+     * @throws DBusException when current level is not a variant
+     */
+    public void exitVariant() throws DBusException {
+        if (!current.variant) {
+            throw new MarshallingException("Not inside a variant");
+        }
+        skipRemaining();
+        pop();
+    }
+
+    private void skipRemaining() throws DBusException {
+        while (hasNext()) {
+            skip();
+        }
+    }
+
+    private void skip(TypeNode _type) throws DBusException {
+        position = message.skipOne(_type, body, position);
+    }
+
+    private TypeNode nextNode() throws DBusException {
+        if (!hasNext()) {
+            throw new MarshallingException("No more values available");
+        }
+        return current.next();
+    }
+
+    private TypeNode expect(byte _type) throws DBusException {
+        TypeNode type = nextNode();
+        if (type.getCode() != _type) {
+            throw unexpected(_type);
+        }
+        current.advance();
+        align(type.getAlignment());
+        return type;
+    }
+
+    private MarshallingException unexpected(byte _expected) {
+        return new MarshallingException("Expected value of type " + (char) _expected + " but found " + nextSignature());
+    }
+
+    private long readFixed(int _width) {
+        long value = message.demarshallint(body, position, _width);
+        position += _width;
+        return value;
+    }
+
+    private void align(int _alignment) {
+        int mod = position % _alignment;
+        if (mod != 0) {
+            position += _alignment - mod;
+        }
+    }
+
+    private void push(Level _level) {
+        levels.push(current);
+        current = _level;
+    }
+
+    private void pop() {
+        current = levels.pop();
+    }
+
+    /**
+     * Values of one nesting level.
+     * Either a fixed list of types (arguments, struct members, variant content)
+     * or a repeated element type up to an end offset (array).
+     */
+    private static final class Level {
+        private final TypeNode[] members;
+        private int              index;
+
+        private final TypeNode   element;
+        private final int        end;
+
+        private boolean          variant;
+
+        Level(TypeNode[] _members) {
+            members = _members;
+            element = null;
+            end = -1;
+        }
+
+        Level(TypeNode _element, int _end) {
+            members = null;
+            element = _element;
+            end = _end;
+        }
+
+        boolean hasNext(int _position) {
+            return members != null ? index < members.length : _position < end;
+        }
+
+        TypeNode next() {
+            return members != null ? members[index] : element;
+        }
+
+        void advance() {
+            if (members != null) {
+                index++;
+            }
+        }
+    }
+}
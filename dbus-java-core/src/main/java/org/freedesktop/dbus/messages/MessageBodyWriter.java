@@ -0,0 +1,232 @@
+package org.freedesktop.dbus.messages;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.exceptions.MarshallingException;
+import org.freedesktop.dbus.messages.CompiledSignature.TypeNode;
+import org.freedesktop.dbus.messages.Message.ArgumentType;
+
+/**
+ * Push style writer used to marshall the body of a {@link MethodCall} or {@link DBusSignal} value by value.<br>
+ * Values are written directly to the message buffer. Arrays are opened with {@link #beginArray()},
+ * filled element by element and closed with {@link #endArray()} which writes the array length afterwards.
+ * This allows sending large arrays without creating a {@link java.util.List} or array containing all elements first.
+ * <br><br>
+ * Example writing the signature <code>sa(is)</code>:
+ * <pre>
+ * new MethodCall(null, dest, path, iface, "Store", (byte) 0, "sa(is)", w -&gt; {
+ *     w.writeValue("rows");
+ *     w.beginArray();
+ *     for (Row row : rows) {
+ *         w.writeValue(new Object[] {row.getId(), row.getName()});
+ *     }
+ *     w.endArray();
+ * });
+ * </pre>
+ * Messages created this way do not keep their arguments, {@link Message#getParameters()} will return null.
+ * File descriptors cannot be written using this writer.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class MessageBodyWriter {
+    private final Message      message;
+
+    private final Deque<Level> levels = new ArrayDeque<>();
+    private Level              current;
+
+    MessageBodyWriter(Message _message, String _signature) throws DBusException {
+        if (_signature.indexOf(ArgumentType.FILEDESCRIPTOR) >= 0) {
+            throw new MarshallingException("File descriptors cannot be written using " + getClass().getSimpleName());
+        }
+        message = _message;
+        current = new Level(CompiledSignature.compile(_signature).getTypes());
+    }
+
+    /**
+     * Writes the next value.
+     * The value is marshalled the same way as the arguments given to the message constructors.
+     *
+     * @param _value value to write
+     * @throws DBusException when no more values are expected or value cannot be marshalled
+     */
+    public void writeValue(Object _value) throws DBusException {
+        TypeNode type = next();
+        message.appendOne(type, _value);
+    }
+
+    /**
+     * Starts writing an array.
+     * Until {@link #endArray()} is called, every written value is an element of the array.
+     *
+     * @throws DBusException when next value is not an array
+     */
+    public void beginArray() throws DBusException {
+        TypeNode type = expect(ArgumentType.ARRAY);
+        message.pad(type.getAlignment());
+        long lengthPos = message.reserveint(4);
+        message.pad(type.getElement().getAlignment());
+        push(new Level(type.getElement(), lengthPos, message.getByteCounter()));
+    }
+
+    /**
+     * Finishes the current array and writes its length.
+     *
+     * @throws DBusException when no array was started
+     */
+    public void endArray() throws DBusException {
+        if (current.element == null) {
+            throw new MarshallingException("No array started");
+        }
+        message.marshallint(message.getByteCounter() - current.start, current.lengthPos, 4);
+        pop();
+    }
+
+    /**
+     * Starts writing a struct or dict entry.
+     * Until {@link #endStruct()} is called, every written value is a member of the struct.
+     *
+     * @throws DBusException when next value is neither a struct nor a dict entry
+     */
+    public void beginStruct() throws DBusException {
+        TypeNode type = next();
+        if (type.getCode() != ArgumentType.STRUCT1 && type.getCode() != ArgumentType.DICT_ENTRY1) {
+            throw new MarshallingException("Expected struct or dict entry but found " + type);
+        }
+        message.pad(8);
+        push(new Level(type.getMembers()));
+    }
+
+    /**
+     * Finishes the current struct or dict entry.
+     *
+     * @throws DBusException when no struct was started or not all members were written
+     */
+    public void endStruct() throws DBusException {
+        if (current.members == null || levels.isEmpty() || current.variant) {
+            throw new MarshallingException("No struct started");
+        }
+        ensureComplete();
+        pop();
+    }
+
+    /**
+     * Starts writing a variant containing values of the given signature.
+     *
+     * @param _signature signature of the variant content
+     * @throws DBusException when next value is not a variant or signature is invalid
+     */
+    public void beginVariant(String _signature) throws DBusException {
+        expect(ArgumentType.VARIANT);
+        Level level = new Level(CompiledSignature.compile(_signature).getTypes());
+        level.variant = true;
+        message.appendSignature(_signature);
+        push(level);
+    }
+
+    /**
+     * Finishes the current variant.
+     *
+     * @throws DBusException when no variant was started or the content was not written
+     */
+    public void endVariant() throws DBusException {
+        if (!current.variant) {
+            throw new MarshallingException("No variant started");
+        }
+        ensureComplete();
+        pop();
+    }
+
+    /**
+     * Called after the body was written, ensures that all values were written.
+     *
+     * @throws DBusException when body is incomplete
+     */
+    void finish() throws DBusException {
+        if (!levels.isEmpty()) {
+            throw new MarshallingException("Body incomplete, " + levels.size() + " container(s) not finished");
+        }
+        ensureComplete();
+    }
+
+    private void ensureComplete() throws MarshallingException {
+        if (current.members != null && current.index < current.members.length) {
+            throw new MarshallingException("Missing value of type " + current.members[current.index]);
+        }
+    }
+
+    private TypeNode next() throws MarshallingException {
+        TypeNode type;
+        if (current.members != null) {
+            if (current.index >= current.members.length) {
+                throw new MarshallingException("No more values expected");
+            }
+            type = current.members[current.index++];
+        } else {
+            type = current.element;
+        }
+        return type;
+    }
+
+    private TypeNode expect(byte _type) throws MarshallingException {
+        TypeNode type = next();
+        if (type.getCode() != _type) {
+            throw new MarshallingException("Expected value of type " + (char) _type + " but found " + type);
+        }
+        return type;
+    }
+
+    private void push(Level _level) {
+        levels.push(current);
+        current = _level;
+    }
+
+    private void pop() {
+        current = levels.pop();
+    }
+
+    /**
+     * Values of one nesting level.
+     * Either a fixed list of types (arguments, struct members, variant content) or an array.
+     */
+    private static final class Level {
+        private final TypeNode[] members;
+        private int              index;
+
+        private final TypeNode   element;
+        private final long       lengthPos;
+        private final long       start;
+
+        private boolean          variant;
+
+        Level(TypeNode[] _members) {
+            members = _members;
+            element = null;
+            lengthPos = -1;
+            start = -1;
+        }
+
+        Level(TypeNode _element, long _lengthPos, long _start) {
+            members = null;
+            element = _element;
+            lengthPos = _lengthPos;
+            start = _start;
+        }
+    }
+
+    /**
+     * Writes the body of a message.
+     */
+    @FunctionalInterface
+    public interface BodyProducer {
+        /**
+         * Write all values of the message body.
+         *
+         * @param _writer writer to use
+         * @throws DBusException when writing fails
+         */
+        void write(MessageBodyWriter _writer) throws DBusException;
+    }
+}
@@ -15,6 +15,26 @@ public class MessageFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageFactory.class);
 
     public static Message createMessage(byte _type, byte[] _buf, byte[] _header, byte[] _body, List<FileDescriptor> _filedescriptors) throws DBusException, MessageTypeException {
+        return createMessage(_type, _buf, _header, _body, _filedescriptors, null);
+    }
+
+    /**
+     * Creates a message from received data.
+     *
+     * @param _type message type
+     * @param _buf fixed header
+     * @param _header header fields
+     * @param _body message body
+     * @param _filedescriptors received file descriptors, maybe null
+     * @param _stringCache cache to deduplicate decoded strings, null to disable
+     * @return Message
+     *
+     * @throws DBusException when message could not be created
+     * @throws MessageTypeException when message type is unsupported
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static Message createMessage(byte _type, byte[] _buf, byte[] _header, byte[] _body, List<FileDescriptor> _filedescriptors,
+            StringCache _stringCache) throws DBusException, MessageTypeException {
         Message m;
         switch (_type) {
             case Message.MessageType.METHOD_CALL:
@@ -39,8 +59,80 @@ public class MessageFactory {
             LOGGER.trace(Hexdump.format(_body));
         }
 
+        m.setStringCache(_stringCache);
         m.populate(_buf, _header, _body, _filedescriptors);
         return m;
     }
 
+    /**
+     * Creates a method call marshalled into arrays of the given pool.
+     * <p>
+     * The wire data is returned to the pool after the call was written, so the call must be sent exactly once
+     * and must not be handed out to code which may use it afterwards.
+     * </p>
+     *
+     * @param _pool pool providing the arrays, null to allocate them
+     * @param _dest destination, maybe null
+     * @param _path object path
+     * @param _iface interface, maybe null
+     * @param _member method name
+     * @param _flags message flags
+     * @param _sig signature of the arguments, null if there are no arguments
+     * @param _args arguments
+     * @return MethodCall
+     *
+     * @throws DBusException when message could not be created
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static MethodCall createMethodCall(BufferPool _pool, String _dest, String _path, String _iface, String _member, byte _flags,
+            String _sig, Object... _args) throws DBusException {
+        return new MethodCall(_pool, null, _dest, _path, _iface, _member, _flags, _sig, _args);
+    }
+
+    /**
+     * Creates a signal marshalled into arrays of the given pool.
+     * <p>
+     * The wire data is returned to the pool after the signal was written, so the signal must be sent exactly once
+     * and must not be handed out to code which may use it afterwards.
+     * </p>
+     *
+     * @param _pool pool providing the arrays, null to allocate them
+     * @param _source sender, maybe null
+     * @param _path object path
+     * @param _iface interface
+     * @param _member signal name
+     * @param _sig signature of the arguments, null if there are no arguments
+     * @param _args arguments
+     * @return DBusSignal
+     *
+     * @throws DBusException when signal could not be created
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static DBusSignal createSignal(BufferPool _pool, String _source, String _path, String _iface, String _member,
+            String _sig, Object... _args) throws DBusException {
+        return new DBusSignal(_pool, _source, _path, _iface, _member, _sig, _args);
+    }
+
+    /**
+     * Creates a reply to the given method call marshalled into arrays of the given pool.
+     * <p>
+     * The wire data is returned to the pool after the reply was written, so the reply must be sent exactly once
+     * and must not be handed out to code which may use it afterwards.
+     * </p>
+     *
+     * @param _pool pool providing the arrays, null to allocate them
+     * @param _mc call to reply to
+     * @param _sig signature of the return values, null if there are no return values
+     * @param _args return values
+     * @return MethodReturn
+     *
+     * @throws DBusException when message could not be created
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static MethodReturn createMethodReturn(BufferPool _pool, MethodCall _mc, String _sig, Object... _args) throws DBusException {
+        MethodReturn reply = new MethodReturn(_pool, null, _mc.getSource(), _mc.getSerial(), _sig, _args);
+        reply.setCall(_mc);
+        return reply;
+    }
+
 }
@@ -0,0 +1,205 @@
+package org.freedesktop.dbus.messages;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.freedesktop.dbus.Container;
+import org.freedesktop.dbus.Marshalling;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.exceptions.MarshallingException;
+import org.freedesktop.dbus.interfaces.DBusInterface;
+import org.freedesktop.dbus.messages.CompiledSignature.TypeNode;
+import org.freedesktop.dbus.messages.Message.ArgumentType;
+import org.freedesktop.dbus.types.Variant;
+
+/**
+ * Calculates the exact marshalled size of a message before it is marshalled.<br>
+ * Walks the compiled signature and the values the same way {@link Message#appendOne(TypeNode, Object)} does,
+ * but only sums up sizes and padding. The result is used to allocate the wire buffer once and to reject
+ * messages exceeding {@link Message#MAXIMUM_MESSAGE_LENGTH} before any marshalling is done.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class MessageSizer {
+    /** Signature of the header part written by padAndMarshall (serial and header fields). */
+    private static final String HEADER_PART_SIGNATURE = "ua(yv)";
+
+    private long                offset;
+    /** Bytes of {@link ByteBuffer}s which are added to the message without copying. */
+    private long                zeroCopyBytes;
+
+    private MessageSizer(long _offset) {
+        offset = _offset;
+    }
+
+    /**
+     * Calculates the size of a message.
+     *
+     * @param _offset number of bytes already marshalled
+     * @param _serial serial
+     * @param _header header fields
+     * @param _sig body signature, null if message has no body
+     * @param _args body values
+     * @return sizer containing the total size, null if the values do not match the signature
+     *
+     * @throws DBusException when signature is invalid or an array exceeds {@link Message#MAXIMUM_ARRAY_LENGTH}
+     */
+    static MessageSizer measure(long _offset, long _serial, Object[] _header, String _sig, Object[] _args) throws DBusException {
+        MessageSizer sizer = new MessageSizer(_offset);
+        try {
+            // body length
+            sizer.align(4);
+            sizer.offset += 4;
+
+            TypeNode[] headerTypes = CompiledSignature.compile(HEADER_PART_SIGNATURE).getTypes();
+            sizer.add(headerTypes[0], _serial);
+            sizer.add(headerTypes[1], _header);
+            sizer.align(8);
+
+            if (null != _sig) {
+                TypeNode[] types = CompiledSignature.compile(_sig).getTypes();
+                if (_args == null || _args.length < types.length) {
+                    return null;
+                }
+                for (int i = 0; i < types.length; i++) {
+                    sizer.add(types[i], _args[i]);
+                }
+            }
+        } catch (RuntimeException _ex) {
+            // values not matching the signature are reported when marshalling
+            return null;
+        }
+        return sizer;
+    }
+
+    /**
+     * Total size of the message in bytes.
+     * @return long
+     */
+    long getSize() {
+        return offset;
+    }
+
+    /**
+     * Bytes which will be written to the contiguous wire buffer (total size without zero-copy segments).
+     * @return long
+     */
+    long getCopiedSize() {
+        return offset - zeroCopyBytes;
+    }
+
+    private void align(int _alignment) {
+        long mod = offset % _alignment;
+        if (mod != 0) {
+            offset += _alignment - mod;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(TypeNode _type, Object _data) throws DBusException {
+        align(_type.getAlignment());
+        switch (_type.getCode()) {
+            case ArgumentType.BYTE:
+                offset++;
+                break;
+            case ArgumentType.INT16:
+            case ArgumentType.UINT16:
+                offset += 2;
+                break;
+            case ArgumentType.BOOLEAN:
+            case ArgumentType.INT32:
+            case ArgumentType.UINT32:
+            case ArgumentType.FLOAT:
+            case ArgumentType.FILEDESCRIPTOR:
+                offset += 4;
+                break;
+            case ArgumentType.INT64:
+            case ArgumentType.UINT64:
+            case ArgumentType.DOUBLE:
+                offset += 8;
+                break;
+            case ArgumentType.STRING:
+            case ArgumentType.OBJECT_PATH:
+                String payload = _data instanceof DBusInterface ? ((DBusInterface) _data).getObjectPath() : _data.toString();
+                offset += 4 + WireBuffer.utf8Length(payload) + 1;
+                break;
+            case ArgumentType.SIGNATURE:
+                String sig = _data instanceof Type[] ? Marshalling.getDBusType((Type[]) _data) : (String) _data;
+                offset += 1 + sig.length() + 1;
+                break;
+            case ArgumentType.ARRAY:
+                TypeNode element = _type.getElement();
+                offset += 4;
+                align(element.getAlignment());
+                long start = offset;
+
+                if (_data.getClass().isArray() && _data.getClass().getComponentType().isPrimitive()) {
+                    offset += (long) Array.getLength(_data) * element.getAlignment();
+                } else if (_data instanceof ByteBuffer) {
+                    ByteBuffer buf = (ByteBuffer) _data;
+                    offset += buf.remaining();
+                    if (Message.isZeroCopy(buf)) {
+                        zeroCopyBytes += buf.remaining();
+                    }
+                } else if (_data instanceof List) {
+                    for (Object o : (List<?>) _data) {
+                        add(element, o);
+                    }
+                } else if (_data instanceof Map) {
+                    for (Map.Entry<Object, Object> o : ((Map<Object, Object>) _data).entrySet()) {
+                        add(element, o);
+                    }
+                } else {
+                    for (Object o : (Object[]) _data) {
+                        add(element, o);
+                    }
+                }
+
+                if (offset - start > Message.MAXIMUM_ARRAY_LENGTH) {
+                    throw new MarshallingException("Array of " + (offset - start) + " bytes exceeds maximum array length of "
+                            + Message.MAXIMUM_ARRAY_LENGTH);
+                }
+                break;
+            case ArgumentType.STRUCT1:
+                Object[] contents = _data instanceof Container ? ((Container) _data).getParameters() : (Object[]) _data;
+                TypeNode[] members = _type.getMembers();
+                for (int j = 0; j < members.length; j++) {
+                    add(members[j], contents[j]);
+                }
+                break;
+            case ArgumentType.DICT_ENTRY1:
+                members = _type.getMembers();
+                if (_data instanceof Map.Entry) {
+                    add(members[0], ((Map.Entry<?, ?>) _data).getKey());
+                    add(members[1], ((Map.Entry<?, ?>) _data).getValue());
+                } else {
+                    contents = (Object[]) _data;
+                    for (int j = 0; j < members.length; j++) {
+                        add(members[j], contents[j]);
+                    }
+                }
+                break;
+            case ArgumentType.VARIANT:
+                Object value;
+                if (_data instanceof Variant) {
+                    sig = ((Variant<?>) _data).getSig();
+                    value = ((Variant<?>) _data).getValue();
+                } else if (_data instanceof Object[]) {
+                    sig = (String) ((Object[]) _data)[0];
+                    value = ((Object[]) _data)[1];
+                } else {
+                    sig = Marshalling.getDBusType(_data.getClass())[0];
+                    value = _data;
+                }
+                offset += 1 + sig.length() + 1;
+                add(CompiledSignature.compile(sig).getTypes()[0], value);
+                break;
+            default:
+                throw new MarshallingException("Unable to determine size of unknown type " + (char) _type.getCode());
+        }
+    }
+}
@@ -18,6 +18,10 @@ public abstract class MethodBase extends Message {
         super(_endianness, _methodCall, _flags);
     }
 
+    MethodBase(byte _endianness, byte _methodCall, byte _flags, BufferPool _pool) throws DBusException {
+        super(_endianness, _methodCall, _flags, _pool);
+    }
+
     /**
      * Appends filedescriptors (if any).
      *  
@@ -34,7 +38,7 @@ public abstract class MethodBase extends Message {
         int totalFileDes = _args == null ? 0 : Arrays.stream(_args).filter(x -> x instanceof FileDescriptor).mapToInt(i -> 1).sum();
 
         if (totalFileDes > 0) {
-            _hargs.add(createHeaderArgs(Message.HeaderField.UNIX_FDS, ArgumentType.UINT32_STRING, new UInt32(totalFileDes)));
+            _hargs.add(createHeaderArgs(Message.HeaderField.UNIX_FDS, ArgumentType.UINT32_STRING, UInt32.valueOf(totalFileDes)));
         }
 
     }
@@ -7,14 +7,19 @@ import java.util.List;
 import org.freedesktop.dbus.connections.impl.DBusConnection;
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.exceptions.MessageFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class MethodCall extends MethodBase {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodCall.class);
     private static long REPLY_WAIT_TIMEOUT = Duration.ofSeconds(20).toMillis();
 
     // CHECKSTYLE:OFF
     Message              reply              = null;
     // CHECKSTYLE:ON
 
+    private volatile long timeout = REPLY_WAIT_TIMEOUT;
+
     MethodCall() {
     }
 
@@ -23,8 +28,44 @@ public class MethodCall extends MethodBase {
     }
 
     public MethodCall(String _source, String _dest, String _path, String _iface, String _member, byte _flags, String _sig, Object... _args) throws DBusException {
+        this((BufferPool) null, _source, _dest, _path, _iface, _member, _flags, _sig, _args);
+    }
+
+    MethodCall(BufferPool _pool, String _source, String _dest, String _path, String _iface, String _member, byte _flags, String _sig, Object... _args) throws DBusException {
+        super(DBusConnection.getEndianness(), Message.MessageType.METHOD_CALL, _flags, _pool);
+
+        List<Object> hargs = createHeaderArgs(_source, _dest, _path, _iface, _member, _sig);
+        if (null != _sig) {
+            setArgs(_args);
+        }
+
+        appendFileDescriptors(hargs, _sig, _args);
+        padAndMarshall(hargs, getSerial(), _sig, _args);
+    }
+
+    /**
+     * Creates a method call whose body is written by the given producer.
+     * Allows streaming large arrays into the message without creating a collection first.
+     *
+     * @param _source sender, maybe null
+     * @param _dest destination, maybe null
+     * @param _path object path
+     * @param _iface interface, maybe null
+     * @param _member method name
+     * @param _flags message flags
+     * @param _sig signature of the body, null if there is no body
+     * @param _producer writes the body using a {@link MessageBodyWriter}
+     * @throws DBusException when message could not be created
+     * @since 4.2.2 - 2026-10-17
+     */
+    public MethodCall(String _source, String _dest, String _path, String _iface, String _member, byte _flags, String _sig,
+            MessageBodyWriter.BodyProducer _producer) throws DBusException {
         super(DBusConnection.getEndianness(), Message.MessageType.METHOD_CALL, _flags);
 
+        padAndMarshall(createHeaderArgs(_source, _dest, _path, _iface, _member, _sig), getSerial(), _sig, _producer);
+    }
+
+    private List<Object> createHeaderArgs(String _source, String _dest, String _path, String _iface, String _member, String _sig) throws MessageFormatException {
         if (null == _member || null == _path) {
             throw new MessageFormatException("Must specify destination, path and function name to MethodCalls.");
         }
@@ -50,13 +91,10 @@ public class MethodCall extends MethodBase {
         hargs.add(createHeaderArgs(HeaderField.MEMBER, ArgumentType.STRING_STRING, _member));
 
         if (null != _sig) {
-            logger.debug("Appending arguments with signature: {}", _sig);
+            LOGGER.debug("Appending arguments with signature: {}", _sig);
             hargs.add(createHeaderArgs(HeaderField.SIGNATURE, ArgumentType.SIGNATURE_STRING, _sig));
-            setArgs(_args);
         }
-
-        appendFileDescriptors(hargs, _sig, _args);
-        padAndMarshall(hargs, getSerial(), _sig, _args);
+        return hargs;
     }
 
     /**
@@ -68,6 +106,29 @@ public class MethodCall extends MethodBase {
         REPLY_WAIT_TIMEOUT = _timeout;
     }
 
+    /**
+     * Set the time to wait for the reply of this call.
+     * Must be set before the call is sent, the connection fails the call with a
+     * {@link org.freedesktop.dbus.errors.NoReply} error when the timeout has elapsed.
+     * Defaults to the value of {@link #setDefaultTimeout(long)} when the call was created.
+     *
+     * @param _timeout timeout in ms, 0 or less to wait without deadline
+     * @since 4.2.2 - 2026-10-17
+     */
+    public void setTimeout(long _timeout) {
+        timeout = _timeout;
+    }
+
+    /**
+     * Time to wait for the reply of this call.
+     *
+     * @return timeout in ms, 0 or less if there is no deadline
+     * @since 4.2.2 - 2026-10-17
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
     public synchronized boolean hasReply() {
         return null != reply;
     }
@@ -78,7 +139,7 @@ public class MethodCall extends MethodBase {
     * @param _timeout The length of time to block before timing out (ms).
     */
     public synchronized Message getReply(long _timeout) {
-        logger.trace("Blocking on {}", this);
+        LOGGER.trace("Blocking on {}", this);
         if (null != reply) {
             return reply;
         }
@@ -93,15 +154,15 @@ public class MethodCall extends MethodBase {
 
     /**
     * Block (if neccessary) for a reply.
-    * Default timeout is 20s, or can be configured with setDefaultTimeout()
+    * Default timeout is 20s, or can be configured with setDefaultTimeout() or setTimeout(long)
     * @return The reply to this MethodCall, or null if a timeout happens.
     */
     public synchronized Message getReply() {
-        return getReply(REPLY_WAIT_TIMEOUT);
+        return getReply(Math.max(timeout, 0));
     }
 
     public synchronized void setReply(Message _reply) {
-        logger.trace("Setting reply to {} to {}", this, _reply);
+        LOGGER.trace("Setting reply to {} to {}", this, _reply);
         this.reply = _reply;
         notifyAll();
     }
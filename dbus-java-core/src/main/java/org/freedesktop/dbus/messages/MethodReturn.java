@@ -18,7 +18,11 @@ public class MethodReturn extends MethodBase {
     }
 
     public MethodReturn(String _source, String _dest, long _replyserial, String _sig, Object... _args) throws DBusException {
-        super(DBusConnection.getEndianness(), Message.MessageType.METHOD_RETURN, (byte) 0);
+        this((BufferPool) null, _source, _dest, _replyserial, _sig, _args);
+    }
+
+    MethodReturn(BufferPool _pool, String _source, String _dest, long _replyserial, String _sig, Object... _args) throws DBusException {
+        super(DBusConnection.getEndianness(), Message.MessageType.METHOD_RETURN, (byte) 0, _pool);
 
         List<Object> hargs = new ArrayList<>();
         hargs.add(createHeaderArgs(HeaderField.REPLY_SERIAL, ArgumentType.UINT32_STRING, _replyserial));
@@ -0,0 +1,94 @@
+package org.freedesktop.dbus.messages;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded cache used to deduplicate strings when decoding received messages.<br>
+ * Received messages repeat the same interfaces, members, object paths, bus names and dictionary keys
+ * over and over again. The cache maps the raw UTF-8 bytes to a canonical {@link String} instance,
+ * so a cache hit neither decodes nor allocates anything.
+ * <br><br>
+ * The cache is a direct mapped table: every slot holds at most one string, a colliding string simply replaces
+ * the previous one. Lookups and updates do not lock, concurrent updates of the same slot are harmless
+ * because entries are immutable.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+public final class StringCache {
+    /** Longer strings are decoded without caching, they are rarely repeated. */
+    private static final int                  MAX_STRING_LENGTH = 256;
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int                         mask;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param _size maximum number of cached strings, rounded up to the next power of two
+     */
+    public StringCache(int _size) {
+        if (_size <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        int size = Integer.highestOneBit(Math.min(_size, 1 << 30));
+        if (size < _size) {
+            size <<= 1;
+        }
+        entries = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the string represented by the given UTF-8 bytes.
+     *
+     * @param _buf buffer
+     * @param _offset offset of the first byte
+     * @param _length number of bytes
+     * @return String
+     */
+    String get(byte[] _buf, int _offset, int _length) {
+        if (_length > MAX_STRING_LENGTH) {
+            return Message.decodeString(_buf, _offset, _length);
+        }
+
+        int hash = 1;
+        int end = _offset + _length;
+        for (int i = _offset; i < end; i++) {
+            hash = 31 * hash + _buf[i];
+        }
+        // spread higher bits, the table index only uses the lower ones
+        hash ^= hash >>> 16;
+
+        int idx = hash & mask;
+        Entry entry = entries.get(idx);
+        if (entry != null && entry.hash == hash && Arrays.equals(entry.bytes, 0, entry.bytes.length, _buf, _offset, end)) {
+            return entry.value;
+        }
+
+        String value = Message.decodeString(_buf, _offset, _length);
+        entries.lazySet(idx, new Entry(hash, Arrays.copyOfRange(_buf, _offset, end), value));
+        return value;
+    }
+
+    /**
+     * Maximum number of strings this cache can hold.
+     * @return int
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    private static final class Entry {
+        private final int    hash;
+        private final byte[] bytes;
+        private final String value;
+
+        Entry(int _hash, byte[] _bytes, String _value) {
+            hash = _hash;
+            bytes = _bytes;
+            value = _value;
+        }
+    }
+}
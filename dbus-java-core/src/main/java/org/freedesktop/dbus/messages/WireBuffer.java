@@ -0,0 +1,457 @@
+package org.freedesktop.dbus.messages;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used to marshall a {@link Message}.<br>
+ * All primitives, strings and padding are written into one contiguous array which is allocated on first write and grows on demand.
+ * Complete byte arrays (e.g. an already marshalled body) can be added as separate segments without copying them.
+ * <br><br>
+ * The buffer is not thread-safe, it is only used by the message which owns it.
+ * <br><br>
+ * If the buffer was created with a {@link BufferPool}, the contiguous arrays are taken from this pool
+ * and returned to it by {@link #release()}. Pooled arrays stay owned by the buffer when they become a segment,
+ * {@link #toSegments()} hands out copies of them. Arrays added using {@link #appendSegment(byte[])} are never pooled.
+ * A released buffer cannot be used anymore.
+ *
+ * @author hypfvieh
+ * @since 4.2.2 - 2026-10-17
+ */
+final class WireBuffer {
+    private static final int      DEFAULT_CAPACITY = 128;
+    private static final byte[][] EMPTY            = new byte[0][];
+    private static final byte[]   EMPTY_ARRAY      = new byte[0];
+    private static final int[]    EMPTY_LENGTHS    = new int[0];
+
+    /** Pool providing {@link #current}, null if pooling is not used. */
+    private final BufferPool      pool;
+
+    /** Segments which are complete and will never be written to again (except patching). */
+    private byte[][]              segments         = EMPTY;
+    /** Number of bytes used in each segment, pooled segments may be larger than their content. */
+    private int[]                 segmentLengths   = EMPTY_LENGTHS;
+    private int                   segmentCount;
+    /** Pooled arrays used as segments, returned to {@link #pool} on {@link #release()}. */
+    private byte[][]              pooledSegments   = EMPTY;
+    private int                   pooledCount;
+    /** Number of bytes stored in closed segments. */
+    private long                  closedBytes;
+
+    private byte[]                current;
+    private int                   position;
+    /** True if {@link #current} was taken from {@link #pool}. */
+    private boolean               currentPooled;
+
+    /** True if the content was returned to {@link #pool}. */
+    private boolean               released;
+
+    /** Result of the last {@link #toSegments()} call, reset on every modification. */
+    private byte[][]              cachedSegments;
+
+    WireBuffer() {
+        this(null);
+    }
+
+    WireBuffer(BufferPool _pool) {
+        pool = _pool;
+        // allocated on first write, received messages never write into this array
+        current = EMPTY_ARRAY;
+    }
+
+    private void ensureNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Message was already sent, its pooled wire data has been released");
+        }
+    }
+
+    private void releaseCurrent() {
+        if (currentPooled) {
+            pool.release(current);
+            currentPooled = false;
+        }
+    }
+
+    /**
+     * Creates a buffer containing the given arrays as segments.
+     * The arrays are not copied.
+     *
+     * @param _segments segments, null values are ignored
+     * @return WireBuffer
+     */
+    static WireBuffer wrap(byte[]... _segments) {
+        WireBuffer buf = new WireBuffer();
+        if (_segments != null) {
+            for (byte[] seg : _segments) {
+                if (seg != null) {
+                    buf.appendSegment(seg);
+                }
+            }
+        }
+        return buf;
+    }
+
+    /**
+     * Total number of bytes written to this buffer.
+     * @return long
+     */
+    long size() {
+        return closedBytes + position;
+    }
+
+    /**
+     * Grows the contiguous array so the given number of bytes can be written without growing it again.
+     * The array grows to exactly the required size.
+     *
+     * @param _length number of bytes which will be written
+     */
+    void ensureAvailable(int _length) {
+        int required = position + _length;
+        if (required > current.length) {
+            resize(required);
+        }
+    }
+
+    private void ensureCapacity(int _additional) {
+        cachedSegments = null;
+        int required = position + _additional;
+        if (required > current.length) {
+            resize(Math.max(Math.max(current.length << 1, DEFAULT_CAPACITY), required));
+        }
+    }
+
+    private void resize(int _newLen) {
+        ensureNotReleased();
+        cachedSegments = null;
+        if (pool == null) {
+            current = Arrays.copyOf(current, _newLen);
+        } else {
+            byte[] grown = pool.acquire(_newLen);
+            System.arraycopy(current, 0, grown, 0, position);
+            releaseCurrent();
+            current = grown;
+            currentPooled = true;
+        }
+    }
+
+    void put(byte _b) {
+        ensureCapacity(1);
+        current[position++] = _b;
+    }
+
+    void put(byte[] _buf) {
+        put(_buf, 0, _buf.length);
+    }
+
+    void put(byte[] _buf, int _offset, int _length) {
+        ensureCapacity(_length);
+        System.arraycopy(_buf, _offset, current, position, _length);
+        position += _length;
+    }
+
+    /**
+     * Writes the remaining content of the given buffer.
+     * The position of the given buffer is not changed.
+     *
+     * @param _buf buffer to write
+     */
+    void put(ByteBuffer _buf) {
+        int length = _buf.remaining();
+        ensureCapacity(length);
+        _buf.duplicate().get(current, position, length);
+        position += length;
+    }
+
+    /**
+     * Writes an integer of the given width.
+     *
+     * @param _l value
+     * @param _width byte-width of the value
+     * @param _big true for big endian, false for little endian
+     */
+    void putInt(long _l, int _width, boolean _big) {
+        ensureCapacity(_width);
+        if (_big) {
+            Message.marshallintBig(_l, current, position, _width);
+        } else {
+            Message.marshallintLittle(_l, current, position, _width);
+        }
+        position += _width;
+    }
+
+    /**
+     * Writes the given amount of zero bytes.
+     *
+     * @param _count number of bytes
+     */
+    void putZeros(int _count) {
+        ensureCapacity(_count);
+        Arrays.fill(current, position, position + _count, (byte) 0);
+        position += _count;
+    }
+
+    /**
+     * Writes a string as UInt32 length, UTF-8 encoded content and terminating null byte.<br>
+     * The string is encoded directly into the buffer without creating an intermediate byte array.
+     * Unpaired surrogates are replaced by '?' like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param _str string to write
+     * @param _big true for big endian length, false for little endian
+     * @return number of encoded bytes (without length and null byte)
+     */
+    int putString(String _str, boolean _big) {
+        int chars = _str.length();
+        int length = utf8Length(_str);
+        ensureCapacity(4 + length + 1);
+
+        byte[] buf = current;
+        if (_big) {
+            Message.marshallintBig(length, buf, position, 4);
+        } else {
+            Message.marshallintLittle(length, buf, position, 4);
+        }
+        int pos = position + 4;
+
+        for (int i = 0; i < chars; i++) {
+            char c = _str.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(_str.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, _str.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[pos++] = (byte) '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf[pos++] = 0;
+        position = pos;
+        return length;
+    }
+
+    /**
+     * Calculates the number of bytes required to encode the given string using UTF-8.
+     *
+     * @param _str string
+     * @return length in bytes
+     */
+    static int utf8Length(String _str) {
+        int chars = _str.length();
+        int length = chars;
+        for (int i = 0; i < chars; i++) {
+            char c = _str.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(_str.charAt(i + 1))) {
+                        // 4 bytes for two chars
+                        length += 2;
+                        i++;
+                    }
+                    // unpaired surrogates are replaced by a single '?'
+                } else {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Appends the given number of bytes and returns a view on them.<br>
+     * Used to bulk copy primitive arrays using the typed views of {@link ByteBuffer}.
+     *
+     * @param _length number of bytes to append
+     * @param _big true for big endian, false for little endian
+     * @return ByteBuffer covering the appended bytes
+     */
+    ByteBuffer putView(int _length, boolean _big) {
+        ensureCapacity(_length);
+        ByteBuffer view = ByteBuffer.wrap(current, position, _length).slice()
+            .order(_big ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        position += _length;
+        return view;
+    }
+
+    /**
+     * Reserves space for a value which will be written later using {@link #patchInt(long, long, int, boolean)}.
+     *
+     * @param _width number of bytes to reserve
+     * @return absolute position of the reserved space
+     */
+    long reserve(int _width) {
+        long pos = size();
+        putZeros(_width);
+        return pos;
+    }
+
+    /**
+     * Overwrites a previously written integer.
+     *
+     * @param _l value
+     * @param _pos absolute position (as returned by {@link #reserve(int)})
+     * @param _width byte-width of the value
+     * @param _big true for big endian, false for little endian
+     */
+    void patchInt(long _l, long _pos, int _width, boolean _big) {
+        ensureNotReleased();
+        byte[] target;
+        int ofs;
+        if (_pos >= closedBytes) {
+            target = current;
+            ofs = (int) (_pos - closedBytes);
+        } else {
+            long start = 0;
+            int idx = 0;
+            while (start + segmentLengths[idx] <= _pos) {
+                start += segmentLengths[idx++];
+            }
+            target = segments[idx];
+            ofs = (int) (_pos - start);
+            if (ofs + _width > segmentLengths[idx]) {
+                throw new IllegalStateException("Cannot patch value spanning multiple segments at position " + _pos);
+            }
+        }
+
+        if (_big) {
+            Message.marshallintBig(_l, target, ofs, _width);
+        } else {
+            Message.marshallintLittle(_l, target, ofs, _width);
+        }
+        if (pool != null) {
+            // segments handed out before are copies
+            cachedSegments = null;
+        }
+    }
+
+    /**
+     * Adds the given array as separate segment without copying it.
+     * The array must not be modified afterwards.
+     *
+     * @param _segment segment to add
+     */
+    void appendSegment(byte[] _segment) {
+        if (_segment.length == 0) {
+            return;
+        }
+        closeCurrent();
+        addSegment(_segment, _segment.length);
+        closedBytes += _segment.length;
+    }
+
+    private void closeCurrent() {
+        cachedSegments = null;
+        if (position == 0) {
+            return;
+        }
+        if (currentPooled) {
+            // the pooled array becomes a segment and is returned to the pool when the buffer is released
+            addSegment(current, position);
+            if (pooledCount == pooledSegments.length) {
+                pooledSegments = Arrays.copyOf(pooledSegments, Math.max(4, pooledCount << 1));
+            }
+            pooledSegments[pooledCount++] = current;
+            currentPooled = false;
+        } else {
+            addSegment(position == current.length ? current : Arrays.copyOf(current, position), position);
+        }
+        closedBytes += position;
+        current = EMPTY_ARRAY;
+        position = 0;
+    }
+
+    private void addSegment(byte[] _segment, int _length) {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(4, segmentCount << 1));
+            segmentLengths = Arrays.copyOf(segmentLengths, segments.length);
+        }
+        segmentLengths[segmentCount] = _length;
+        segments[segmentCount++] = _segment;
+    }
+
+    /**
+     * Returns the content of this buffer as segments.
+     * Every returned array is completely filled with message data.
+     * <br>
+     * Pooled arrays are copied, they stay owned by this buffer. Later changes of a pooled buffer
+     * are not visible in the returned arrays.
+     *
+     * @return array of segments, never null
+     */
+    byte[][] toSegments() {
+        ensureNotReleased();
+        if (cachedSegments != null) {
+            return cachedSegments;
+        }
+        if (!currentPooled && position > 0 && position != current.length) {
+            // trim the array so it can be handed out directly, later writes will grow it again
+            current = Arrays.copyOf(current, position);
+        }
+        byte[][] result = new byte[segmentCount + (position > 0 ? 1 : 0)][];
+        for (int i = 0; i < segmentCount; i++) {
+            result[i] = segmentLengths[i] == segments[i].length ? segments[i] : Arrays.copyOf(segments[i], segmentLengths[i]);
+        }
+        if (position > 0) {
+            result[segmentCount] = currentPooled ? Arrays.copyOf(current, position) : current;
+        }
+        cachedSegments = result;
+        return result;
+    }
+
+    /**
+     * Returns the content of this buffer as {@link ByteBuffer}s.
+     * In contrast to {@link #toSegments()} no array is trimmed (copied).
+     *
+     * @return array of buffers, never null
+     */
+    ByteBuffer[] toByteBuffers() {
+        ensureNotReleased();
+        ByteBuffer[] result = new ByteBuffer[segmentCount + (position > 0 ? 1 : 0)];
+        for (int i = 0; i < segmentCount; i++) {
+            result[i] = ByteBuffer.wrap(segments[i], 0, segmentLengths[i]);
+        }
+        if (position > 0) {
+            result[segmentCount] = ByteBuffer.wrap(current, 0, position);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the pooled arrays to the pool and empties this buffer.
+     * Afterwards the buffer cannot be used anymore.
+     * Does nothing if this buffer does not use a pool.
+     */
+    void release() {
+        if (pool == null || released) {
+            return;
+        }
+        released = true;
+        releaseCurrent();
+        for (int i = 0; i < pooledCount; i++) {
+            pool.release(pooledSegments[i]);
+        }
+        pooledSegments = EMPTY;
+        pooledCount = 0;
+        current = EMPTY_ARRAY;
+        position = 0;
+        segments = EMPTY;
+        segmentLengths = EMPTY_LENGTHS;
+        segmentCount = 0;
+        closedBytes = 0;
+        cachedSegments = null;
+    }
+
+}
@@ -2,6 +2,7 @@ package org.freedesktop.dbus.spi.message;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 import org.freedesktop.dbus.messages.Message;
 
@@ -18,5 +19,20 @@ public interface IMessageWriter extends Closeable {
      */
     void writeMessage(Message _msg) throws IOException;
 
+    /**
+     * Write multiple messages out to the bus.
+     * The default implementation writes one message after another, implementations
+     * may override this to write all messages at once.
+     *
+     * @param _msgs messages to write in the given order
+     * @throws IOException If an IO error occurs.
+     * @since 4.2.2 - 2026-10-17
+     */
+    default void writeMessages(List<Message> _msgs) throws IOException {
+        for (Message msg : _msgs) {
+            writeMessage(msg);
+        }
+    }
+
     boolean isClosed();
 }
@@ -5,162 +5,228 @@ import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.util.Arrays;
 import java.util.Objects;
 
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.exceptions.MessageProtocolVersionException;
 import org.freedesktop.dbus.messages.Message;
 import org.freedesktop.dbus.messages.MessageFactory;
+import org.freedesktop.dbus.messages.StringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Reads messages from a {@link SocketChannel}.<br>
+ * The reader uses a receive buffer which is filled with as much data as the socket provides.
+ * All complete messages contained in the buffer are returned by subsequent calls of {@link #readMessage()}
+ * without reading from the socket again.<br>
+ * Messages which are larger than the receive buffer are read directly into dedicated arrays.
+ */
 public class InputStreamMessageReader implements IMessageReader {
-    private final Logger        logger = LoggerFactory.getLogger(getClass());
+    /** Default size of the receive buffer. */
+    public static final int     DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Size of the fixed header including the length of the header field array. */
+    private static final int    FIXED_HEADER_SIZE   = 16;
+
+    private final Logger        logger              = LoggerFactory.getLogger(getClass());
 
-    private final int[]         len;
-    private final byte[]        buf;
-    private final byte[]        tbuf;
     private final SocketChannel inputChannel;
 
-    private byte[]              header;
-    private byte[]              body;
+    /** Contains received but not yet processed data between position and limit. */
+    private final ByteBuffer    readBuffer;
+
+    /** Message which did not fit into the receive buffer and is still incomplete. */
+    private PendingMessage      pending;
+
+    /** Cache to deduplicate strings of received messages, null if disabled. */
+    private final StringCache   stringCache;
 
     public InputStreamMessageReader(final SocketChannel _in) {
+        this(_in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new reader using a receive buffer of the given size.
+     *
+     * @param _in channel to read from
+     * @param _bufferSize size of the receive buffer in bytes, at least 16
+     */
+    public InputStreamMessageReader(final SocketChannel _in, int _bufferSize) {
+        this(_in, _bufferSize, null);
+    }
+
+    /**
+     * Creates a new reader using a receive buffer of the given size.
+     *
+     * @param _in channel to read from
+     * @param _bufferSize size of the receive buffer in bytes, at least 16
+     * @param _stringCache cache used to deduplicate strings of received messages, null to disable
+     */
+    public InputStreamMessageReader(final SocketChannel _in, int _bufferSize, StringCache _stringCache) {
+        stringCache = _stringCache;
         inputChannel = Objects.requireNonNull(_in, "SocketChannel required");
-        len = new int[4];
-        tbuf = new byte[4];
-        buf = new byte[12];
-        len[1] = 0;
-        len[0] = 0;
+        if (_bufferSize < FIXED_HEADER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + FIXED_HEADER_SIZE + " bytes");
+        }
+        readBuffer = ByteBuffer.allocateDirect(_bufferSize);
+        readBuffer.limit(0);
     }
 
     @Override
     public Message readMessage() throws IOException, DBusException {
-        /* Read the 12 byte fixed header, retrying as necessary */
-        if (len[0] < 12) {
-            try {
-                final ByteBuffer wrapBuf = ByteBuffer.wrap(buf, len[0], 12 - len[0]);
-                final int rv = inputChannel.read(wrapBuf);
-
-                if (rv < 0) {
-                    throw new EOFException("(1) Underlying transport returned " + rv);
+        if (pending == null) {
+            Message m = nextBufferedMessage();
+            if (m != null) {
+                return m;
+            }
+            if (pending == null) {
+                if (!fillBuffer()) {
+                    return null;
+                }
+                m = nextBufferedMessage();
+                if (m != null || pending == null) {
+                    return m;
                 }
-
-                len[0] += rv;
-            } catch (final SocketTimeoutException exSt) {
-                return null;
             }
         }
 
-        if (len[0] == 0) {
-            return null;
+        return readPending();
+    }
+
+    /**
+     * Reads as much data as possible into the receive buffer.
+     *
+     * @return true if any data was read
+     * @throws IOException when reading fails or end of stream was reached
+     */
+    private boolean fillBuffer() throws IOException {
+        readBuffer.compact();
+        int rv;
+        try {
+            rv = inputChannel.read(readBuffer);
+        } catch (SocketTimeoutException _ex) {
+            return false;
+        } finally {
+            readBuffer.flip();
         }
 
-        if (len[0] < 12) {
-            logger.trace("Only got {} of 12 bytes of header", len[0]);
+        if (rv < 0) {
+            throw new EOFException("Underlying transport returned " + rv);
+        }
+        return rv > 0;
+    }
+
+    /**
+     * Takes the next complete message out of the receive buffer.
+     * If the next message is larger than the receive buffer, {@link #pending} is initialized
+     * with all data already received for this message.
+     *
+     * @return Message or null if no complete message was buffered
+     * @throws IOException when message uses an unsupported protocol version or type
+     * @throws DBusException when message could not be created
+     */
+    private Message nextBufferedMessage() throws IOException, DBusException {
+        int available = readBuffer.remaining();
+        if (available < FIXED_HEADER_SIZE) {
+            if (available > 0) {
+                logger.trace("Only got {} of {} bytes of header", available, FIXED_HEADER_SIZE);
+            }
             return null;
         }
 
-        /* Ensure protocol version. */
-        final byte protoVer = buf[3];
+        int start = readBuffer.position();
+        byte[] fixed = new byte[12];
+        readBuffer.get(fixed);
 
+        /* Ensure protocol version. */
+        final byte protoVer = fixed[3];
         if (protoVer > Message.PROTOCOL) {
+            readBuffer.position(start);
             throw new MessageProtocolVersionException(String.format("Protocol version %s is unsupported", protoVer));
         }
 
-        if (len[1] < 4) {
-            try {
-                final int rv = inputChannel.read(ByteBuffer.wrap(tbuf, len[1], 4 - len[1]));
+        final byte endian = fixed[0];
+        byte[] header = createHeaderArray(endian);
+        int headerlen = header.length - 8;
+        int bodylen = (int) Message.demarshallint(fixed, 4, endian, 4);
 
-                if (rv < 0) {
-                    throw new EOFException("(2) Underlying transport returned " + rv);
-                }
-
-                len[1] += rv;
-            } catch (final SocketTimeoutException exSt) {
-                return null;
-            }
+        long total = (long) FIXED_HEADER_SIZE + headerlen + bodylen;
+        if (total > readBuffer.capacity()) {
+            logger.trace("Message of {} bytes exceeds receive buffer, using dedicated buffers", total);
+            pending = new PendingMessage(fixed, header, new byte[bodylen]);
+            pending.transferFrom(readBuffer);
+            return null;
         }
 
-        if (len[1] < 4) {
-            logger.trace("Only got {} of 4 bytes of header", len[1]);
+        if (available < total) {
+            logger.trace("Only got {} of {} bytes of message", available, total);
+            readBuffer.position(start);
             return null;
         }
 
-        final byte endian = buf[0];
+        readBuffer.get(header, 8, headerlen);
+        byte[] body = new byte[bodylen];
+        readBuffer.get(body);
 
-        /* Parse the variable header length */
-        int headerlen;
+        return createMessage(fixed, header, body);
+    }
 
-        if (header == null) {
-            headerlen = (int) Message.demarshallint(tbuf, 0, endian, 4);
+    /**
+     * Creates the array used to store the header fields.
+     * The array starts with the 4 byte length of the field array followed by 4 bytes of padding,
+     * so the fields are properly aligned.
+     */
+    private byte[] createHeaderArray(byte _endian) {
+        byte[] tbuf = new byte[4];
+        readBuffer.get(tbuf);
 
-            /* n % 2^i = n & (2^i - 1) */
-            final int modlen = headerlen & 7;
+        /* Parse the variable header length */
+        int headerlen = (int) Message.demarshallint(tbuf, 0, _endian, 4);
 
-            if (modlen != 0) {
-                headerlen += 8 - modlen;
-            }
-        } else {
-            headerlen = header.length - 8;
+        /* n % 2^i = n & (2^i - 1) */
+        final int modlen = headerlen & 7;
+        if (modlen != 0) {
+            headerlen += 8 - modlen;
         }
 
-        /* Read the variable header */
-        if (header == null) {
-            header = new byte[headerlen + 8];
-            System.arraycopy(tbuf, 0, header, 0, 4);
-            len[2] = 0;
-        }
+        byte[] header = new byte[headerlen + 8];
+        System.arraycopy(tbuf, 0, header, 0, 4);
+        return header;
+    }
 
-        if (len[2] < headerlen) {
+    /**
+     * Continues reading a message which is larger than the receive buffer.
+     *
+     * @return Message or null if message is still incomplete
+     * @throws IOException when reading fails
+     * @throws DBusException when message could not be created
+     */
+    private Message readPending() throws IOException, DBusException {
+        if (!pending.isComplete()) {
             try {
-                final int rv = inputChannel.read(ByteBuffer.wrap(header, 8 + len[2], headerlen - len[2]));
-
+                final long rv = inputChannel.read(pending.targets);
                 if (rv < 0) {
-                    throw new EOFException("(3) Underlying transport returned " + rv);
+                    throw new EOFException("Underlying transport returned " + rv);
                 }
-
-                len[2] += rv;
-            } catch (final SocketTimeoutException exSt) {
+            } catch (SocketTimeoutException _ex) {
                 return null;
             }
         }
 
-        if (len[2] < headerlen) {
-            logger.trace("Only got {} of {} bytes of header", len[2], headerlen);
+        if (!pending.isComplete()) {
+            logger.trace("Only got {} of {} bytes of message", pending.received(), pending.size());
             return null;
         }
 
-        final byte type = buf[1];
-
-        /* Read the body */
-        if (body == null) {
-            body = new byte[(int) Message.demarshallint(buf, 4, endian, 4)];
-            len[3] = 0;
-        }
-
-        if (len[3] < body.length) {
-            try {
-                final int rv = inputChannel.read(ByteBuffer.wrap(body, len[3], body.length - len[3]));
-
-                if (rv < 0) {
-                    throw new EOFException("(4) Underlying transport returned " + rv);
-                }
-
-                len[3] += rv;
-            } catch (SocketTimeoutException exSt) {
-                return null;
-            }
-        }
-
-        if (len[3] < body.length) {
-            logger.trace("Only got {} of {} bytes of body", len[3], body.length);
-            return null;
-        }
+        PendingMessage msg = pending;
+        pending = null;
+        return createMessage(msg.fixed, msg.header, msg.body);
+    }
 
+    private Message createMessage(byte[] _fixed, byte[] _header, byte[] _body) throws IOException, DBusException {
         try {
-            final Message m = MessageFactory.createMessage(type, buf, header, body, null);
+            final Message m = MessageFactory.createMessage(_fixed[1], _fixed, _header, _body, null, stringCache);
             logger.debug("=> {}", m);
 
             return m;
@@ -169,14 +235,6 @@ public class InputStreamMessageReader implements IMessageReader {
 
             throw _ex;
         }
-        finally {
-            Arrays.fill(tbuf, (byte) 0x00);
-            len[1] = 0;
-            body = null;
-            header = null;
-            Arrays.fill(buf, (byte) 0x00);
-            len[0] = 0;
-        }
     }
 
     @Override
@@ -191,4 +249,43 @@ public class InputStreamMessageReader implements IMessageReader {
     public boolean isClosed() {
         return !inputChannel.isOpen();
     }
+
+    /**
+     * Message which is read directly into its final arrays.
+     */
+    private static final class PendingMessage {
+        private final byte[]       fixed;
+        private final byte[]       header;
+        private final byte[]       body;
+        private final ByteBuffer[] targets;
+
+        PendingMessage(byte[] _fixed, byte[] _header, byte[] _body) {
+            fixed = _fixed;
+            header = _header;
+            body = _body;
+            targets = new ByteBuffer[] {ByteBuffer.wrap(header, 8, header.length - 8), ByteBuffer.wrap(body)};
+        }
+
+        void transferFrom(ByteBuffer _src) {
+            for (ByteBuffer target : targets) {
+                int count = Math.min(_src.remaining(), target.remaining());
+                ByteBuffer slice = _src.slice();
+                slice.limit(count);
+                target.put(slice);
+                _src.position(_src.position() + count);
+            }
+        }
+
+        boolean isComplete() {
+            return !targets[1].hasRemaining() && !targets[0].hasRemaining();
+        }
+
+        long received() {
+            return size() - targets[0].remaining() - targets[1].remaining();
+        }
+
+        long size() {
+            return header.length - 8L + body.length;
+        }
+    }
 }
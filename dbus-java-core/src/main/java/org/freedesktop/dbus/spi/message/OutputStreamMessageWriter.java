@@ -3,6 +3,8 @@ package org.freedesktop.dbus.spi.message;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
 
 import org.freedesktop.dbus.messages.Message;
 import org.freedesktop.dbus.utils.Hexdump;
@@ -25,22 +27,74 @@ public class OutputStreamMessageWriter implements IMessageWriter {
         if (null == _msg) {
             return;
         }
-        if (null == _msg.getWireData()) {
-            logger.warn("Message {} wire-data was null!", _msg);
+        ByteBuffer[] buffers = _msg.getWireBuffers();
+        long total = 0;
+        for (ByteBuffer buf : buffers) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("{}", Hexdump.format(Arrays.copyOfRange(buf.array(), buf.position(), buf.limit())));
+            }
+            total += buf.remaining();
+        }
+
+        writeFully(buffers, buffers.length, total);
+        logger.trace("Message sent: {}", _msg);
+    }
+
+    /**
+     * Writes the buffers of all given messages using gathering writes.
+     */
+    @Override
+    public void writeMessages(List<Message> _msgs) throws IOException {
+        if (_msgs.size() == 1) {
+            writeMessage(_msgs.get(0));
             return;
         }
 
-        for (byte[] buf : _msg.getWireData()) {
-            if(logger.isTraceEnabled()) {
-                logger.trace("{}", null == buf ? "(null)" : Hexdump.format(buf));
-            }
-            if (null == buf) {
-                break;
+        ByteBuffer[][] perMessage = new ByteBuffer[_msgs.size()][];
+        int count = 0;
+        for (int i = 0; i < perMessage.length; i++) {
+            Message msg = _msgs.get(i);
+            logger.debug("<= {}", msg);
+            perMessage[i] = msg.getWireBuffers();
+            count += perMessage[i].length;
+        }
+
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        long total = 0;
+        int idx = 0;
+        for (ByteBuffer[] msgBuffers : perMessage) {
+            for (ByteBuffer buf : msgBuffers) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("{}", Hexdump.format(Arrays.copyOfRange(buf.array(), buf.position(), buf.limit())));
+                }
+                total += buf.remaining();
+                buffers[idx++] = buf;
             }
+        }
 
-            outputChannel.write(ByteBuffer.wrap(buf));
+        writeFully(buffers, count, total);
+        logger.trace("{} messages sent", _msgs.size());
+    }
+
+    /**
+     * Writes all given buffers to the channel using gathering writes.
+     * Each call to {@link SocketChannel#write(ByteBuffer[], int, int)} may write less bytes than requested,
+     * so writing is continued with the first buffer which has remaining data until everything was written.
+     *
+     * @param _buffers buffers to write
+     * @param _count number of buffers to write
+     * @param _total total number of bytes in all buffers
+     * @throws IOException when writing fails
+     */
+    private void writeFully(ByteBuffer[] _buffers, int _count, long _total) throws IOException {
+        long written = 0;
+        int first = 0;
+        while (written < _total) {
+            written += outputChannel.write(_buffers, first, _count - first);
+            while (first < _count && !_buffers[first].hasRemaining()) {
+                first++;
+            }
         }
-        logger.trace("Message sent: {}", _msg);
     }
 
     @Override
@@ -6,7 +6,7 @@ import java.math.BigInteger;
  * Class to represent unsigned 64-bit numbers.
  * Warning: Any functions which take or return a <i>long</i>
  * are restricted to the range of a signed 64bit number.
- * Use the BigInteger methods if you wish access to the full
+ * Use the BigInteger methods or {@link #bits()} if you wish access to the full
  * range.
  */
 @SuppressWarnings("serial")
@@ -17,9 +17,20 @@ public class UInt64 extends Number implements Comparable<UInt64> {
     public static final BigInteger MAX_BIG_VALUE  = new BigInteger("18446744073709551615");
     /** Minimum allowed value */
     public static final long       MIN_VALUE      = 0;
-    private final BigInteger       value;
-    private final long             top;
-    private final long             bottom;
+    /** Values 0&ndash;{@value #CACHE_HIGH} returned by {@link #valueOf(long)} are cached. */
+    private static final int       CACHE_HIGH     = 255;
+    private static final UInt64[]  CACHE          = new UInt64[CACHE_HIGH + 1];
+
+    private static final long      LOWER_32_BITS  = 0xFFFFFFFFL;
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new UInt64(i);
+        }
+    }
+
+    /** Unsigned 64-bit value, values above {@link Long#MAX_VALUE} are stored as negative numbers. */
+    private final long             value;
 
     /** Create a UInt64 from a long.
     * @param _value Must be a valid integer within MIN_VALUE&ndash;MAX_VALUE
@@ -29,10 +40,7 @@ public class UInt64 extends Number implements Comparable<UInt64> {
         if (_value < MIN_VALUE || _value > MAX_LONG_VALUE) {
             throw new NumberFormatException(String.format("%s is not between %s and %s.", _value, MIN_VALUE, MAX_LONG_VALUE));
         }
-        
-        this.value = BigInteger.valueOf(_value);
-        this.top = this.value.shiftRight(32).and(new BigInteger("4294967295")).longValue();
-        this.bottom = this.value.and(new BigInteger("4294967295")).longValue();
+        this.value = _value;
     }
 
     /**
@@ -41,18 +49,13 @@ public class UInt64 extends Number implements Comparable<UInt64> {
     * @param _bottom Least significant 4 bytes.
     */
     public UInt64(long _top, long _bottom) {
-        BigInteger a = BigInteger.valueOf(_top);
-        a = a.shiftLeft(32);
-        a = a.add(BigInteger.valueOf(_bottom));
-        if (0 > a.compareTo(BigInteger.ZERO)) {
-            throw new NumberFormatException(String.format("%s is not between %s and %s.", a, MIN_VALUE, MAX_BIG_VALUE));
+        if (_top >= 0 && _top <= LOWER_32_BITS && _bottom >= 0 && _bottom <= LOWER_32_BITS) {
+            this.value = _top << 32 | _bottom;
+        } else {
+            // uncommon input, let BigInteger do the range checks
+            BigInteger a = BigInteger.valueOf(_top).shiftLeft(32).add(BigInteger.valueOf(_bottom));
+            this.value = checkRange(a).longValue();
         }
-        if (0 < a.compareTo(MAX_BIG_VALUE)) {
-            throw new NumberFormatException(String.format("%s is not between %s and %s.", a, MIN_VALUE, MAX_BIG_VALUE));
-        }
-        this.value = a;
-        this.top = _top;
-        this.bottom = _bottom;
     }
 
     /** Create a UInt64 from a BigInteger
@@ -60,12 +63,7 @@ public class UInt64 extends Number implements Comparable<UInt64> {
     * @throws NumberFormatException if value is not an integer between MIN_VALUE and MAX_BIG_VALUE
     */
     public UInt64(BigInteger _value) {
-        if (null == _value || 0 > _value.compareTo(BigInteger.ZERO) || 0 < _value.compareTo(MAX_BIG_VALUE)) {
-            throw new NumberFormatException(String.format("%s is not between %s and %s.", _value, MIN_VALUE, MAX_BIG_VALUE));
-        }
-        this.value = _value;
-        this.top = this.value.shiftRight(32).and(new BigInteger("4294967295")).longValue();
-        this.bottom = this.value.and(new BigInteger("4294967295")).longValue();
+        this.value = checkRange(_value).longValue();
     }
 
     /** Create a UInt64 from a String.
@@ -76,67 +74,117 @@ public class UInt64 extends Number implements Comparable<UInt64> {
         if (null == _value) {
             throw new NumberFormatException(String.format("%s is not between %s and %s.", _value, MIN_VALUE, MAX_BIG_VALUE));
         }
-        BigInteger a = new BigInteger(_value);
-        if (0 > a.compareTo(BigInteger.ZERO) || 0 < a.compareTo(MAX_BIG_VALUE)) {
+        this.value = checkRange(new BigInteger(_value)).longValue();
+    }
+
+    private static BigInteger checkRange(BigInteger _value) {
+        if (null == _value || 0 > _value.compareTo(BigInteger.ZERO) || 0 < _value.compareTo(MAX_BIG_VALUE)) {
             throw new NumberFormatException(String.format("%s is not between %s and %s.", _value, MIN_VALUE, MAX_BIG_VALUE));
         }
-        this.value = a;
-        this.top = this.value.shiftRight(32).and(new BigInteger("4294967295")).longValue();
-        this.bottom = this.value.and(new BigInteger("4294967295")).longValue();
+        return _value;
+    }
+
+    /**
+     * Returns a UInt64 for the given value.
+     * Small values are cached, so use this instead of the constructor when possible.
+     *
+     * @param _value Must be a valid integer within MIN_VALUE&ndash;MAX_VALUE
+     * @return UInt64
+     * @throws NumberFormatException if value is not between MIN_VALUE and MAX_VALUE
+     *
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static UInt64 valueOf(long _value) {
+        if (_value >= 0 && _value <= CACHE_HIGH) {
+            return CACHE[(int) _value];
+        }
+        return new UInt64(_value);
+    }
+
+    /**
+     * Returns a UInt64 for the given 64 bits interpreted as unsigned value.
+     * Negative values represent values greater than {@link #MAX_LONG_VALUE}.
+     *
+     * @param _bits unsigned value
+     * @return UInt64
+     *
+     * @since 4.2.2 - 2026-10-17
+     */
+    public static UInt64 fromBits(long _bits) {
+        if (_bits >= 0) {
+            return valueOf(_bits);
+        }
+        return new UInt64(_bits >>> 32, _bits & LOWER_32_BITS);
     }
 
     /** The value of this as a BigInteger.
+     * The BigInteger is created on each call.
      * @return value
      */
     public BigInteger value() {
+        BigInteger big = BigInteger.valueOf(value);
+        return value >= 0 ? big : big.add(BigInteger.ONE.shiftLeft(64));
+    }
+
+    /**
+     * The unsigned 64 bits of this value.
+     * Values greater than {@link #MAX_LONG_VALUE} are returned as negative numbers,
+     * use {@link Long#compareUnsigned(long, long)}, {@link Long#divideUnsigned(long, long)} and
+     * {@link Long#toUnsignedString(long)} for further processing.
+     *
+     * @return long
+     *
+     * @since 4.2.2 - 2026-10-17
+     */
+    public long bits() {
         return value;
     }
 
     /** The value of this as a byte. */
     @Override
     public byte byteValue() {
-        return value.byteValue();
+        return (byte) value;
     }
 
     /** The value of this as a double. */
     @Override
     public double doubleValue() {
-        return value.doubleValue();
+        return value >= 0 ? value : (double) (value >>> 1 | value & 1) * 2.0;
     }
 
     /** The value of this as a float. */
     @Override
     public float floatValue() {
-        return value.floatValue();
+        return value >= 0 ? value : (float) (value >>> 1 | value & 1) * 2.0f;
     }
 
     /** The value of this as a int. */
     @Override
     public int intValue() {
-        return value.intValue();
+        return (int) value;
     }
 
     /** The value of this as a long. */
     @Override
     public long longValue() {
-        return value.longValue();
+        return value;
     }
 
     /** The value of this as a short. */
     @Override
     public short shortValue() {
-        return value.shortValue();
+        return (short) value;
     }
 
     /** Test two UInt64s for equality. */
     @Override
     public boolean equals(Object _o) {
-        return _o instanceof UInt64 && this.value.equals(((UInt64) _o).value);
+        return _o instanceof UInt64 && this.value == ((UInt64) _o).value;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return Long.hashCode(value);
     }
 
     /** Compare two UInt32s.
@@ -145,7 +193,7 @@ public class UInt64 extends Number implements Comparable<UInt64> {
      */
     @Override
     public int compareTo(UInt64 _other) {
-        return this.value.compareTo(_other.value);
+        return Long.compareUnsigned(value, _other.value);
     }
 
     /** The value of this as a string.
@@ -153,7 +201,7 @@ public class UInt64 extends Number implements Comparable<UInt64> {
      */
     @Override
     public String toString() {
-        return value.toString();
+        return Long.toUnsignedString(value);
     }
 
     /**
@@ -161,7 +209,7 @@ public class UInt64 extends Number implements Comparable<UInt64> {
     * @return top
     */
     public long top() {
-        return top;
+        return value >>> 32;
     }
 
     /**
@@ -169,6 +217,6 @@ public class UInt64 extends Number implements Comparable<UInt64> {
     * @return bottom
     */
     public long bottom() {
-        return bottom;
+        return value & LOWER_32_BITS;
     }
 }
@@ -3,7 +3,9 @@ package org.freedesktop.dbus.types;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.freedesktop.dbus.Marshalling;
 import org.freedesktop.dbus.exceptions.DBusException;
@@ -17,7 +19,25 @@ import org.slf4j.LoggerFactory;
  * The Variant may be parameterized to restrict the types it may accept.
  */
 public class Variant<T> {
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private static final Logger              LOGGER          = LoggerFactory.getLogger(Variant.class);
+
+    /** Signatures of classes already wrapped using {@link #Variant(Object)}. */
+    private static final ClassValue<String>  SIGNATURE_CACHE = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> _clz) {
+            try {
+                String[] ss = Marshalling.getDBusType(_clz, true);
+                return ss.length == 1 ? ss[0] : null;
+            } catch (DBusException _ex) {
+                return null;
+            }
+        }
+    };
+
+    private static final int                 MAX_TYPE_CACHE_SIZE = 4096;
+    /** Java types of signatures already used with {@link #Variant(Object, String)}. */
+    private static final Map<String, Type>   TYPE_CACHE          = new ConcurrentHashMap<>();
+
     private final T      value;
     private final Type   type;
     private final String sig;
@@ -32,6 +52,12 @@ public class Variant<T> {
             throw new IllegalArgumentException("Can't wrap Null in a Variant");
         }
         type = _value.getClass();
+        String cached = SIGNATURE_CACHE.get(_value.getClass());
+        if (cached != null) {
+            this.sig = cached;
+            this.value = _value;
+            return;
+        }
         try {
             String[] ss = Marshalling.getDBusType(_value.getClass(), true);
             if (ss.length != 1) {
@@ -39,7 +65,7 @@ public class Variant<T> {
             }
             this.sig = ss[0];
         } catch (DBusException dbe) {
-            logger.debug("", dbe);
+            LOGGER.debug("", dbe);
             throw new IllegalArgumentException(String.format("Can't wrap %s in an unqualified Variant (%s).", _value.getClass(), dbe.getMessage()));
         }
         this.value = _value;
@@ -63,7 +89,7 @@ public class Variant<T> {
             }
             this.sig = ss[0];
         } catch (DBusException dbe) {
-            logger.debug("", dbe);
+            LOGGER.debug("", dbe);
             throw new IllegalArgumentException(String.format("Can't wrap %s in an unqualified Variant (%s).", _type, dbe.getMessage()));
         }
         this.value = _value;
@@ -80,6 +106,12 @@ public class Variant<T> {
             throw new IllegalArgumentException("Can't wrap Null in a Variant");
         }
         this.sig = _sig;
+        Type cached = _sig == null ? null : TYPE_CACHE.get(_sig);
+        if (cached != null) {
+            this.type = cached;
+            this.value = _value;
+            return;
+        }
         try {
             List<Type> ts = new ArrayList<>();
             Marshalling.getJavaType(_sig, ts, 1);
@@ -87,13 +119,31 @@ public class Variant<T> {
                 throw new IllegalArgumentException("Can't wrap multiple or no types in a Variant: " + _sig);
             }
             this.type = ts.get(0);
+            if (TYPE_CACHE.size() < MAX_TYPE_CACHE_SIZE) {
+                TYPE_CACHE.putIfAbsent(_sig, type);
+            }
         } catch (DBusException dbe) {
-            logger.debug("", dbe);
+            LOGGER.debug("", dbe);
             throw new IllegalArgumentException(String.format("Can''t wrap %s in an unqualified Variant (%s).", _sig, dbe.getMessage()));
         }
         this.value = _value;
     }
 
+    /**
+     * Create a Variant which does not hold its value.
+     * Subclasses using this constructor have to override {@link #getValue()} and {@link #getType()},
+     * e.g. to decode the value on first access.
+     *
+     * @param _sig The dbus type string of the value.
+     *
+     * @since 4.2.2 - 2026-10-17
+     */
+    protected Variant(String _sig) {
+        this.value = null;
+        this.type = null;
+        this.sig = _sig;
+    }
+
     /** Return the wrapped value.
      * @return value
      */
@@ -118,12 +168,12 @@ public class Variant<T> {
     /** Format the Variant as a string. */
     @Override
     public String toString() {
-        return "[" + value + "]";
+        return "[" + getValue() + "]";
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Objects.hash(getValue());
     }
 
     /** 
@@ -140,7 +190,7 @@ public class Variant<T> {
             return false;
         }
         Variant<?> other = (Variant<?>) _obj;
-        return  Objects.equals(value, other.value);
+        return Objects.equals(getValue(), other.getValue());
     }
     
     
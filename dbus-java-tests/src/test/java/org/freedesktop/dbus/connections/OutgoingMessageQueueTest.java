@@ -0,0 +1,110 @@
+package org.freedesktop.dbus.connections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.freedesktop.dbus.messages.Message;
+import org.freedesktop.dbus.messages.MethodCall;
+import org.freedesktop.dbus.test.AbstractBaseTest;
+import org.junit.jupiter.api.Test;
+
+class OutgoingMessageQueueTest extends AbstractBaseTest {
+
+    @Test
+    void testBatchesKeepOrder() throws Exception {
+        List<Message> written = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(100);
+
+        OutgoingMessageQueue queue = new OutgoingMessageQueue(batch -> {
+            written.addAll(batch);
+            batchSizes.add(batch.size());
+            batch.forEach(m -> latch.countDown());
+        }, TimeUnit.MILLISECONDS.toNanos(50));
+
+        List<Message> sent = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Message msg = new MethodCall("org.example", "/org/example", "org.example.Iface", "Method", (byte) 0, null);
+            sent.add(msg);
+            queue.add(msg);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(sent, written);
+        assertTrue(batchSizes.size() < 100, "Messages should be written in batches");
+        assertTrue(queue.terminate(5, TimeUnit.SECONDS).isEmpty());
+        assertThrows(IllegalStateException.class, () -> queue.add(sent.get(0)));
+    }
+
+    @Test
+    void testAddWhileTerminating() throws Exception {
+        Message msg = new MethodCall("org.example", "/org/example", "org.example.Iface", "Method", (byte) 0, null);
+        for (int round = 0; round < 50; round++) {
+            AtomicInteger written = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger added = new AtomicInteger();
+            OutgoingMessageQueue queue = new OutgoingMessageQueue(batch -> written.addAndGet(batch.size()), 0);
+
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 1000; i++) {
+                        try {
+                            queue.add(msg);
+                            added.incrementAndGet();
+                        } catch (IllegalStateException _ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            started.await();
+            int remaining = queue.terminate(5, TimeUnit.SECONDS).size();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // every message which was added must either have been written or returned by terminate
+            assertEquals(4000, added.get() + rejected.get());
+            assertEquals(added.get(), written.get() + remaining, "Messages lost in round " + round);
+            assertTrue(queue.isIdle());
+        }
+    }
+
+    @Test
+    void testIdleUntilWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        OutgoingMessageQueue queue = new OutgoingMessageQueue(batch -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException _ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0);
+
+        assertTrue(queue.isIdle());
+        queue.add(new MethodCall("org.example", "/org/example", "org.example.Iface", "Method", (byte) 0, null));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // taken from the queue but not written yet
+        assertFalse(queue.isIdle());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!queue.isIdle() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(queue.isIdle());
+        queue.terminate(5, TimeUnit.SECONDS);
+    }
+}
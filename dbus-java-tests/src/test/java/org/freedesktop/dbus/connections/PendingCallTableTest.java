@@ -0,0 +1,99 @@
+package org.freedesktop.dbus.connections;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.messages.MethodCall;
+import org.freedesktop.dbus.test.AbstractBaseTest;
+import org.junit.jupiter.api.Test;
+
+class PendingCallTableTest extends AbstractBaseTest {
+
+    @Test
+    void testAddRemove() throws DBusException {
+        PendingCallTable table = new PendingCallTable(c -> fail("No call should expire"));
+
+        MethodCall first = createCall(1, 0);
+        // uses the same slot as the first call
+        MethodCall second = createCall(1025, 0);
+        table.add(first);
+        table.add(second);
+
+        assertEquals(2, table.size());
+        assertTrue(table.isPending(1025));
+        assertSame(second, table.remove(1025));
+        assertNull(table.remove(1025));
+        assertSame(first, table.remove(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void testExpiry() throws Exception {
+        BlockingQueue<MethodCall> expired = new LinkedBlockingQueue<>();
+        PendingCallTable table = new PendingCallTable(expired::add);
+
+        MethodCall expiring = createCall(1, 50);
+        MethodCall answered = createCall(2, 50);
+        table.add(expiring);
+        table.add(answered);
+        table.add(createCall(3, 0));
+        assertSame(answered, table.remove(2));
+
+        assertSame(expiring, expired.poll(5, TimeUnit.SECONDS));
+        assertFalse(table.isPending(1));
+        assertTrue(table.isPending(3));
+        assertNull(expired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testMapView() throws DBusException {
+        PendingCallTable table = new PendingCallTable(c -> fail("No call should expire"));
+        Map<Long, MethodCall> map = table.asMap();
+
+        MethodCall first = createCall(1, 0);
+        MethodCall second = createCall(1025, 0);
+        MethodCall third = createCall(7, 0);
+        assertNull(map.put(1L, first));
+        table.add(second);
+        table.add(third);
+
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey(1025L));
+        assertFalse(map.containsKey(2L));
+        assertSame(second, map.get(1025L));
+        assertSame(second, table.get(1025));
+        assertNull(map.get(2L));
+        assertEquals(Set.of(1L, 7L, 1025L), new HashSet<>(map.keySet()));
+        assertThrows(IllegalArgumentException.class, () -> map.put(2L, first));
+
+        assertSame(third, map.remove(7L));
+        assertFalse(table.isPending(7));
+
+        Iterator<Long> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next() == 1L) {
+                it.remove();
+            }
+        }
+        assertFalse(table.isPending(1));
+        assertEquals(1, table.size());
+
+        map.clear();
+        assertEquals(0, table.size());
+        assertTrue(map.isEmpty());
+    }
+
+    private static MethodCall createCall(long _serial, long _timeout) throws DBusException {
+        MethodCall call = new MethodCall("org.example", "/org/example", "org.example.Iface", "Method", (byte) 0, null);
+        call.assignSerial(_serial);
+        call.setTimeout(_timeout);
+        return call;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -228,6 +229,35 @@ class ReceivingServiceTest extends AbstractBaseTest {
 
     }
 
+    /**
+     * Test that executors provided by the caller are used and only executors owned by the service are shut down.
+     */
+    @Test
+    void testCustomExecutors() {
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        ExecutorService[] created = new ExecutorService[1];
+
+        ReceivingServiceConfig build = new ReceivingServiceConfigBuilder<>(null)
+            .withExecutorService(ExecutorNames.SIGNAL, shared)
+            .withExecutorServiceFactory(ExecutorNames.METHODCALL, () -> {
+                created[0] = Executors.newCachedThreadPool();
+                return created[0];
+            })
+            .build();
+
+        ReceivingService service = new ReceivingService(build);
+        assertSame(shared, service.getExecutor(ExecutorNames.SIGNAL));
+        assertSame(created[0], service.getExecutor(ExecutorNames.METHODCALL));
+
+        service.shutdown(1, TimeUnit.SECONDS);
+
+        assertFalse(shared.isShutdown(), "Shared executor must not be shut down");
+        assertTrue(created[0].isShutdown(), "Created executor should be shut down");
+        assertThrows(IllegalThreadPoolStateException.class, () -> service.execSignalHandler(() -> System.out.println("hi")));
+
+        shared.shutdown();
+    }
+
     /**
      * Executor service which does nothing but throw exceptions.
      */
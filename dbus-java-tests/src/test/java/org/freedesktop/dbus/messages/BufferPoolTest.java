@@ -0,0 +1,265 @@
+package org.freedesktop.dbus.messages;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.freedesktop.dbus.DBusAsyncReply;
+import org.freedesktop.dbus.connections.impl.DirectConnection;
+import org.freedesktop.dbus.connections.impl.DirectConnectionBuilder;
+import org.freedesktop.dbus.connections.transports.TransportBuilder;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.interfaces.DBusInterface;
+import org.freedesktop.dbus.test.AbstractBaseTest;
+import org.freedesktop.dbus.test.helper.P2pTestServer;
+import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterface;
+import org.junit.jupiter.api.Test;
+
+public class BufferPoolTest extends AbstractBaseTest {
+
+    @Test
+    public void testAcquireAndRelease() {
+        BufferPool pool = new BufferPool(1);
+
+        byte[] buf = pool.acquire(100);
+        assertEquals(128, buf.length);
+
+        pool.release(buf);
+        assertSame(buf, pool.acquire(128));
+        assertNotSame(buf, pool.acquire(128));
+
+        // only one array of each size is kept
+        byte[] other = new byte[128];
+        pool.release(buf);
+        pool.release(other);
+        assertSame(buf, pool.acquire(65));
+        assertNotSame(other, pool.acquire(65));
+
+        // arrays which do not have a pooled size are dropped
+        pool.release(new byte[200]);
+        assertEquals(256, pool.acquire(200).length);
+
+        assertEquals(2 * 1024 * 1024 + 1, pool.acquire(2 * 1024 * 1024 + 1).length);
+    }
+
+    @Test
+    public void testPooledMessageReleasedAfterSending() throws Exception {
+        BufferPool pool = new BufferPool(2);
+        MethodCall unpooled = new MethodCall("foo.bar", "/foo/bar", "foo.Bar", "baz", (byte) 0, "sai", "hello", new int[] {1, 2, 3});
+        MethodCall pooled = MessageFactory.createMethodCall(pool, "foo.bar", "/foo/bar", "foo.Bar", "baz", (byte) 0, "sai", "hello", new int[] {1, 2, 3});
+
+        ByteBuffer[] buffers = pooled.getWireBuffers();
+        assertArrayEquals(flatten(unpooled.getWireBuffers()), flatten(buffers));
+
+        byte[] array = buffers[buffers.length - 1].array();
+        pooled.releaseWireData();
+
+        assertThrows(IllegalStateException.class, pooled::getWireData);
+        assertThrows(IllegalStateException.class, pooled::getWireBuffers);
+        // releasing twice must not add the array to the pool twice
+        pooled.releaseWireData();
+        assertSame(array, pool.acquire(array.length));
+        assertNotSame(array, pool.acquire(array.length));
+    }
+
+    @Test
+    public void testUnpooledMessageNotReleased() throws Exception {
+        MethodCall call = new MethodCall("foo.bar", "/foo/bar", "foo.Bar", "baz", (byte) 0, "s", "hello");
+        byte[] before = flatten(call.getWireBuffers());
+
+        call.releaseWireData();
+
+        // messages created by the user can be sent again
+        assertArrayEquals(before, flatten(call.getWireBuffers()));
+    }
+
+    @Test
+    public void testPooledReply() throws Exception {
+        BufferPool pool = new BufferPool(2);
+        MethodCall call = new MethodCall("foo.bar", "/foo/bar", "foo.Bar", "baz", (byte) 0, null);
+
+        MethodReturn reply = MessageFactory.createMethodReturn(pool, call, "s", "result");
+        MethodReturn expected = new MethodReturn(call, "s", "result");
+
+        assertSame(call, reply.getCall());
+        assertArrayEquals(flatten(expected.getWireBuffers()), flatten(reply.getWireBuffers()));
+
+        reply.releaseWireData();
+        assertThrows(IllegalStateException.class, reply::getWireData);
+    }
+
+    @Test
+    public void testPooledSignal() throws Exception {
+        BufferPool pool = new BufferPool(2);
+        DBusSignal unpooled = new DBusSignal(":1.5", "/foo/bar", "foo.Bar", "Baz", "sai", "hello", new int[] {1, 2, 3});
+        DBusSignal pooled = MessageFactory.createSignal(pool, ":1.5", "/foo/bar", "foo.Bar", "Baz", "sai", "hello", new int[] {1, 2, 3});
+        assertArrayEquals(flatten(unpooled.getWireBuffers()), flatten(pooled.getWireBuffers()));
+
+        byte[] array = pooled.getWireBuffers()[0].array();
+        pooled.releaseWireData();
+        assertThrows(IllegalStateException.class, pooled::getWireBuffers);
+
+        // the next signal is marshalled into the released array
+        DBusSignal next = MessageFactory.createSignal(pool, ":1.5", "/foo/bar", "foo.Bar", "Baz", "sai", "again", new int[] {4, 5, 6});
+        assertSame(array, next.getWireBuffers()[0].array());
+    }
+
+    @Test
+    public void testPooledSignalSubclass() throws Exception {
+        BufferPool pool = new BufferPool(2);
+        PooledSignals.Counter unpooled = new PooledSignals.Counter("/foo/bar", 42);
+        unpooled.appendbody(null);
+        PooledSignals.Counter pooled = new PooledSignals.Counter(pool, "/foo/bar", 42);
+        pooled.appendbody(null);
+        assertArrayEquals(flatten(unpooled.getWireBuffers()), flatten(pooled.getWireBuffers()));
+
+        byte[] array = pooled.getWireBuffers()[0].array();
+        pooled.releaseWireData();
+        assertSame(array, pool.acquire(array.length));
+    }
+
+    @Test
+    public void testZeroCopySegmentKeepsPooledArray() throws Exception {
+        BufferPool pool = new BufferPool(2);
+        ByteBuffer data = ByteBuffer.wrap(new byte[16 * 1024]);
+        DBusSignal unpooled = new DBusSignal(":1.5", "/foo/bar", "foo.Bar", "Baz", "says", "before", data, "after");
+        DBusSignal pooled = MessageFactory.createSignal(pool, ":1.5", "/foo/bar", "foo.Bar", "Baz", "says", "before", data, "after");
+
+        ByteBuffer[] buffers = pooled.getWireBuffers();
+        assertEquals(3, buffers.length);
+        assertSame(data.array(), buffers[1].array());
+        // the pooled array is not copied when the zero-copy segment is added
+        byte[] header = buffers[0].array();
+        assertTrue(header.length > buffers[0].remaining());
+
+        // only completely filled copies are handed out, the pooled arrays stay owned by the message
+        byte[][] segments = pooled.getWireData();
+        assertArrayEquals(flatten(unpooled.getWireBuffers()), flatten(buffers));
+        assertNotSame(header, segments[0]);
+        assertEquals(buffers[0].remaining(), segments[0].length);
+
+        byte[] last = buffers[2].array();
+        pooled.releaseWireData();
+        assertSame(header, pool.acquire(header.length));
+        assertSame(last, pool.acquire(last.length));
+    }
+
+    @Test
+    public void testConnectionReusesPoolForSignals() throws Exception {
+        String address = TransportBuilder.createDynamicSession(TransportBuilder.getRegisteredBusTypes().get(0), false);
+        LinkedBlockingQueue<Integer> received = new LinkedBlockingQueue<>();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        Thread server = new Thread(() -> {
+            try (DirectConnection dc = DirectConnectionBuilder.forAddress(address + ",listen=true").build()) {
+                dc.addSigHandler(PooledSignals.Counter.class, s -> received.add(s.getValue()));
+                dc.listen();
+                finished.await();
+            } catch (Exception _ex) {
+                _ex.printStackTrace();
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+
+        Thread.sleep(1000L);
+
+        try (DirectConnection dc = DirectConnectionBuilder.forAddress(address)
+                .transportConfig().withBufferPoolSize(4).back().build()) {
+            Set<byte[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                PooledSignals.Counter signal = new PooledSignals.Counter(dc.getBufferPool(), "/foo/bar", i);
+                arrays.add(signal.getWireBuffers()[0].array());
+                dc.sendMessage(signal);
+                values.add(received.poll(10, TimeUnit.SECONDS));
+                // the array is released right after writing, give the sending thread time to do so
+                Thread.sleep(20L);
+            }
+            assertEquals(20, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(i, values.get(i));
+            }
+            assertTrue(arrays.size() < 3, "Pooled arrays were not reused: " + arrays.size());
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    @Test
+    public void testConnectionWithPool() throws Exception {
+        String address = TransportBuilder.createDynamicSession(TransportBuilder.getRegisteredBusTypes().get(0), false);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        Thread server = new Thread(() -> {
+            try (DirectConnection dc = DirectConnectionBuilder.forAddress(address + ",listen=true")
+                    .transportConfig().withBufferPoolSize(4).back().build()) {
+                dc.exportObject("/Test", new P2pTestServer());
+                dc.listen();
+                finished.await();
+            } catch (Exception _ex) {
+                _ex.printStackTrace();
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+
+        Thread.sleep(1000L);
+
+        try (DirectConnection dc = DirectConnectionBuilder.forAddress(address)
+                .transportConfig().withBufferPoolSize(4).back().build()) {
+            assertNotNull(dc.getBufferPool());
+            SampleRemoteInterface remote = dc.getRemoteObject("/Test", SampleRemoteInterface.class);
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals("Peer2Peer Server", remote.getName());
+                assertEquals(17.093f, remote.testfloat(new float[] {17.093f, -23f, 0.0f, 31.42f}));
+            }
+
+            // asynchronous calls are handed out to the caller and therefore never pooled
+            DBusAsyncReply<?> reply = dc.callMethodAsync(remote, "getName");
+            for (int i = 0; i < 100 && !reply.hasReply(); i++) {
+                Thread.sleep(50L);
+            }
+            assertEquals("Peer2Peer Server", reply.getReply());
+            assertNotNull(reply.getCall().getWireData());
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    public interface PooledSignals extends DBusInterface {
+        class Counter extends DBusSignal {
+            private final int value;
+
+            public Counter(String _path, int _value) throws DBusException {
+                super(_path, _value);
+                value = _value;
+            }
+
+            public Counter(BufferPool _pool, String _path, int _value) throws DBusException {
+                super(_pool, _path, _value);
+                value = _value;
+            }
+
+            public int getValue() {
+                return value;
+            }
+        }
+    }
+
+    private static byte[] flatten(ByteBuffer[] _buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buf : _buffers) {
+            out.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        }
+        return out.toByteArray();
+    }
+}
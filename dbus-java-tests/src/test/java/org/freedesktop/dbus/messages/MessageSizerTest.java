@@ -0,0 +1,119 @@
+package org.freedesktop.dbus.messages;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.freedesktop.dbus.DBusPath;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.test.AbstractBaseTest;
+import org.freedesktop.dbus.types.UInt64;
+import org.freedesktop.dbus.types.Variant;
+import org.junit.jupiter.api.Test;
+
+public class MessageSizerTest extends AbstractBaseTest {
+
+    @Test
+    public void testStrings() throws Exception {
+        assertMeasured("s", "");
+        assertMeasured("s", "plain");
+        assertMeasured("ysys", (byte) 1, "ä€𝄞", (byte) 2, "odd");
+        assertMeasured("yog", (byte) 1, new DBusPath("/foo/bar"), "a{sv}");
+    }
+
+    @Test
+    public void testVariants() throws Exception {
+        assertMeasured("v", new Variant<>("text"));
+        assertMeasured("yv", (byte) 1, new Variant<>(new UInt64(5)));
+        assertMeasured("vv", new Variant<>(Arrays.asList("a", "bc"), "as"), new Variant<>(new Variant<>(7)));
+
+        Map<String, Variant<?>> map = new LinkedHashMap<>();
+        map.put("one", new Variant<>(1));
+        map.put("two", new Variant<>(2.5d));
+        map.put("three", new Variant<>(new byte[] {1, 2, 3}));
+        assertMeasured("ya{sv}", (byte) 1, map);
+    }
+
+    @Test
+    public void testNestedArrays() throws Exception {
+        List<List<Integer>> ints = new ArrayList<>();
+        ints.add(Arrays.asList(1, 2, 3));
+        ints.add(new ArrayList<>());
+        ints.add(Arrays.asList(4));
+        assertMeasured("yaai", (byte) 1, ints);
+
+        // padding to the element alignment is added for empty arrays too
+        assertMeasured("axxat", new long[0], 2L, new ArrayList<>());
+        assertMeasured("aas", Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")));
+        assertMeasured("ya(ias)", (byte) 1, Arrays.asList(
+                new Object[] {1, Arrays.asList("x", "yz")},
+                new Object[] {2, new ArrayList<>()}));
+
+        Map<String, List<Integer>> map = new LinkedHashMap<>();
+        map.put("a", Arrays.asList(1, 2));
+        map.put("b", new ArrayList<>());
+        assertMeasured("a{sai}", map);
+        assertMeasured("yad", (byte) 1, new double[] {1.5, 2.5});
+    }
+
+    @Test
+    public void testByteBuffers() throws Exception {
+        // large heap buffers are added without copying
+        ByteBuffer zeroCopy = ByteBuffer.wrap(new byte[16 * 1024]);
+        assertTrue(Message.isZeroCopy(zeroCopy));
+        assertMeasured("yays", (byte) 1, zeroCopy, "after");
+
+        // small and direct buffers are copied
+        ByteBuffer small = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5}, 1, 3);
+        ByteBuffer direct = ByteBuffer.allocateDirect(100);
+        direct.position(10);
+        assertMeasured("ayyay", small, (byte) 1, direct);
+    }
+
+    private static void assertMeasured(String _sig, Object... _args) throws DBusException {
+        SizedMessage msg = new SizedMessage(_sig, _args);
+        assertNotNull(msg.measured, "Values must match signature " + _sig);
+
+        long marshalled = 0;
+        long copied = 0;
+        for (byte[] segment : msg.getWireData()) {
+            marshalled += segment.length;
+            copied += isZeroCopySegment(segment, _args) ? 0 : segment.length;
+        }
+
+        assertEquals(marshalled, msg.measured.getSize(), "Size of " + _sig);
+        assertEquals(copied, msg.measured.getCopiedSize(), "Copied size of " + _sig);
+    }
+
+    private static boolean isZeroCopySegment(byte[] _segment, Object[] _args) {
+        for (Object arg : _args) {
+            if (arg instanceof ByteBuffer && ((ByteBuffer) arg).hasArray() && ((ByteBuffer) arg).array() == _segment) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Message measuring its size right before it is marshalled.
+     */
+    private static final class SizedMessage extends Message {
+        private final MessageSizer measured;
+
+        SizedMessage(String _sig, Object... _args) throws DBusException {
+            super(Message.Endian.LITTLE, Message.MessageType.SIGNAL, (byte) 0);
+
+            List<Object> hargs = new ArrayList<>();
+            hargs.add(createHeaderArgs(HeaderField.PATH, ArgumentType.OBJECT_PATH_STRING, "/foo/bar"));
+            hargs.add(createHeaderArgs(HeaderField.INTERFACE, ArgumentType.STRING_STRING, "foo.Bar"));
+            hargs.add(createHeaderArgs(HeaderField.MEMBER, ArgumentType.STRING_STRING, "Baz"));
+            hargs.add(createHeaderArgs(HeaderField.SIGNATURE, ArgumentType.SIGNATURE_STRING, _sig));
+
+            measured = MessageSizer.measure(getByteCounter(), 42, hargs.toArray(), _sig, _args);
+            padAndMarshall(hargs, 42, _sig, _args);
+        }
+    }
+}
@@ -1,24 +1,34 @@
 package org.freedesktop.dbus.messages;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.freedesktop.dbus.exceptions.MarshallingException;
 import org.freedesktop.dbus.test.AbstractBaseTest;
 import org.freedesktop.dbus.types.UInt32;
+import org.freedesktop.dbus.types.Variant;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
 public class MessageTest extends AbstractBaseTest {
 
+    private static final byte[] HEADER_BYTES = {
+            61, 0, 0, 0, 0, 0, 0, 0, 6, 1, 115, 0, 5, 0, 0, 0, 58, 49, 46, 50, 48, 0, 0, 0, 5, 1,
+            117, 0, 1, 0, 0, 0, 8, 1, 103, 0, 1, 115, 0, 0, 7, 1, 115, 0, 20, 0, 0, 0, 111, 114,
+            103, 46, 102, 114, 101, 101, 100, 101, 115, 107, 116, 111, 112, 46, 68, 66, 117, 115,
+            0, 0, 0, 0
+    };
+
     @Test
     public void testReadMessageHeader() throws Exception {
 
-        byte[] headerBytes = {
-                61, 0, 0, 0, 0, 0, 0, 0, 6, 1, 115, 0, 5, 0, 0, 0, 58, 49, 46, 50, 48, 0, 0, 0, 5, 1,
-                117, 0, 1, 0, 0, 0, 8, 1, 103, 0, 1, 115, 0, 0, 7, 1, 115, 0, 20, 0, 0, 0, 111, 114,
-                103, 46, 102, 114, 101, 101, 100, 101, 115, 107, 116, 111, 112, 46, 68, 66, 117, 115,
-                0, 0, 0, 0
-        };
-
-        Object[] extractHeader = new Message().extractHeader(headerBytes);
+        Object[] extractHeader = new Message().extractHeader(HEADER_BYTES);
 
         assertEquals(1, extractHeader.length);
         assertInstanceOf(List.class, extractHeader[0]);
@@ -49,4 +59,314 @@ public class MessageTest extends AbstractBaseTest {
 
     }
 
+    @Test
+    public void testDecodeHeaderFields() throws Exception {
+        byte[] fixedHeader = {
+                Message.Endian.LITTLE, Message.MessageType.METHOD_RETURN, 0, Message.PROTOCOL, 0, 0, 0, 0, 2, 0, 0, 0
+        };
+
+        Message msg = new Message();
+        msg.populate(fixedHeader, HEADER_BYTES, new byte[0], null);
+
+        assertEquals(2, msg.getSerial());
+        assertEquals("org.freedesktop.DBus", msg.getSource());
+        assertEquals(":1.20", msg.getDestination());
+        assertEquals(1, msg.getReplySerial());
+        assertEquals("s", msg.getSig());
+        assertNull(msg.getPath());
+        assertEquals(new UInt32(1), msg.getHeader(Message.HeaderField.REPLY_SERIAL));
+
+        // generic header map is created on demand and contains the same values
+        assertEquals(4, msg.getHeaders().size());
+        assertEquals("org.freedesktop.DBus", msg.getSource());
+        assertEquals(1, msg.getReplySerial());
+    }
+
+    @Test
+    public void testHeaderMap() throws Exception {
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, null);
+        Map<Byte, Object> headers = call.getHeaders();
+
+        assertEquals(List.of(Message.HeaderField.PATH, Message.HeaderField.INTERFACE, Message.HeaderField.MEMBER,
+                Message.HeaderField.DESTINATION), List.copyOf(headers.keySet()));
+
+        headers.put(Message.HeaderField.SENDER, ":1.5");
+        assertEquals(":1.5", call.getSource());
+        headers.remove(Message.HeaderField.SENDER);
+        assertNull(call.getSource());
+
+        assertThrows(IllegalArgumentException.class, () -> headers.put((byte) 42, "unknown"));
+    }
+
+    @Test
+    public void testStringCacheDeduplicatesHeaders() throws Exception {
+        byte[] fixedHeader = {
+                Message.Endian.LITTLE, Message.MessageType.METHOD_RETURN, 0, Message.PROTOCOL, 0, 0, 0, 0, 2, 0, 0, 0
+        };
+
+        StringCache cache = new StringCache(100);
+        assertEquals(128, cache.getCapacity());
+
+        Message msg1 = MessageFactory.createMessage(Message.MessageType.METHOD_RETURN, fixedHeader, HEADER_BYTES, new byte[0], null, cache);
+        Message msg2 = MessageFactory.createMessage(Message.MessageType.METHOD_RETURN, fixedHeader, HEADER_BYTES, new byte[0], null, cache);
+
+        assertEquals("org.freedesktop.DBus", msg1.getSource());
+        assertSame(msg1.getSource(), msg2.getSource());
+        assertSame(msg1.getDestination(), msg2.getDestination());
+    }
+
+    @Test
+    public void testBodyReader() throws Exception {
+        Map<String, Variant<?>> props = new LinkedHashMap<>();
+        props.put("Name", new Variant<>("hello"));
+        props.put("Count", new Variant<>(42));
+
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "sa{sv}x", "first", props, 99L);
+        call.assignSerial(1);
+        MessageBodyReader reader = receive(call).getBodyReader();
+
+        assertEquals(Message.ArgumentType.STRING, reader.nextType());
+        reader.skip();
+        assertEquals("a{sv}", reader.nextSignature());
+
+        reader.enterArray();
+        reader.enterStruct();
+        assertEquals("Name", reader.readString());
+        reader.exitStruct();
+        reader.enterStruct();
+        assertEquals("Count", reader.readString());
+        assertEquals("i", reader.enterVariant());
+        assertEquals(42, reader.readInt32());
+        reader.exitVariant();
+        reader.exitStruct();
+        assertFalse(reader.hasNext());
+        reader.exitArray();
+
+        assertThrows(MarshallingException.class, reader::readString);
+        assertEquals(99L, reader.readInt64());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testLazyVariant() throws Exception {
+        Map<String, Variant<?>> props = new LinkedHashMap<>();
+        props.put("Name", new Variant<>("hello"));
+        props.put("Nested", new Variant<>(new Variant<>(42L)));
+        props.put("Values", new Variant<>(largeList(), "as"));
+
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "a{sv}i", props, 7);
+        call.assignSerial(1);
+        Object[] params = receive(call).getParameters();
+
+        // small values are decoded right away, large arrays on first access
+        Map<?, ?> received = (Map<?, ?>) params[0];
+        assertFalse(received.get("Name") instanceof LazyVariant);
+        assertFalse(received.get("Nested") instanceof LazyVariant);
+        assertInstanceOf(LazyVariant.class, received.get("Values"));
+        assertEquals(7, params[1]);
+        assertEquals("v", ((Variant<?>) received.get("Nested")).getSig());
+        assertEquals(new Variant<>(new Variant<>(42L)), received.get("Nested"));
+        assertEquals(new Variant<>("hello"), received.get("Name"));
+        assertEquals("as", ((Variant<?>) received.get("Values")).getSig());
+        assertEquals(new Variant<>(largeList(), "as"), received.get("Values"));
+    }
+
+    @Test
+    public void testLazyVariantIndependentOfBody() throws Exception {
+        Map<String, Variant<?>> props = new LinkedHashMap<>();
+        props.put("Name", new Variant<>("hello"));
+        props.put("Values", new Variant<>(largeList(), "as"));
+
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "a{sv}", props);
+        call.assignSerial(1);
+        Message received = receive(call);
+        Map<?, ?> map = (Map<?, ?>) received.getParameters()[0];
+
+        // variants keep their own copy of the encoded value
+        for (byte[] b : received.getWireData()) {
+            Arrays.fill(b, (byte) 0);
+        }
+        assertEquals("hello", ((Variant<?>) map.get("Name")).getValue());
+        assertEquals(largeList(), ((Variant<?>) map.get("Values")).getValue());
+    }
+
+    @Test
+    public void testMalformedVariantFailsOnDecode() throws Exception {
+        Map<String, Variant<?>> props = new LinkedHashMap<>();
+        props.put("Values", new Variant<>(largeList(), "as"));
+
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "a{sv}", props);
+        call.assignSerial(1);
+        byte[] all = flatten(call);
+
+        // length of a string in the lazily decoded array exceeds the message body
+        byte[] value = {8, 0, 0, 0, 'v', 'a', 'l', 'u', 'e', '-', '1', '7'};
+        int pos = indexOf(all, value);
+        assertTrue(pos > 0);
+        all[pos + 2] = 100;
+
+        assertThrows(MarshallingException.class, () -> receive(all).getParameters());
+    }
+
+    @Test
+    public void testBodyWriter() throws Exception {
+        MethodCall expected = new MethodCall(null, "org.dest", "/org/path", "org.iface", "Member", (byte) 0, "sa(is)", "rows",
+                List.of(new Object[] {1, "one"}, new Object[] {2, "two"}));
+        MethodCall streamed = new MethodCall(null, "org.dest", "/org/path", "org.iface", "Member", (byte) 0, "sa(is)", w -> {
+            w.writeValue("rows");
+            w.beginArray();
+            w.writeValue(new Object[] {1, "one"});
+            w.beginStruct();
+            w.writeValue(2);
+            w.writeValue("two");
+            w.endStruct();
+            w.endArray();
+        });
+        expected.assignSerial(1);
+        streamed.assignSerial(1);
+
+        assertArrayEquals(flatten(expected), flatten(streamed));
+
+        assertThrows(MarshallingException.class,
+            () -> new MethodCall(null, "org.dest", "/org/path", "org.iface", "Member", (byte) 0, "si", w -> w.writeValue("only")));
+    }
+
+    @Test
+    public void testSendByteBuffer() throws Exception {
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        for (int i = 0; i < 16; i++) {
+            direct.put((byte) i);
+        }
+        direct.position(4).limit(10);
+
+        byte[] large = new byte[16384];
+        Arrays.fill(large, (byte) 7);
+
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "ayay", direct, ByteBuffer.wrap(large));
+        call.assignSerial(1);
+
+        // position of the given buffers is not changed
+        assertEquals(4, direct.position());
+        // large heap buffers are used without copying
+        assertTrue(Arrays.stream(call.getWireData()).anyMatch(b -> b == large));
+
+        Object[] params = receive(call).getParameters();
+        assertArrayEquals(new byte[] {4, 5, 6, 7, 8, 9}, (byte[]) params[0]);
+        assertArrayEquals(large, (byte[]) params[1]);
+
+        assertThrows(MarshallingException.class,
+            () -> new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "ai", ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    public void testReadByteBuffer() throws Exception {
+        MethodCall call = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "ays", new byte[] {1, 2, 3}, "after");
+        call.assignSerial(1);
+        MessageBodyReader reader = receive(call).getBodyReader();
+
+        ByteBuffer buf = reader.readByteBuffer();
+        assertTrue(buf.isReadOnly());
+        assertEquals(3, buf.remaining());
+        assertEquals(1, buf.get(0));
+        assertEquals(3, buf.get(2));
+        assertEquals("after", reader.readString());
+
+        MessageBodyReader other = receive(call).getBodyReader();
+        other.skip();
+        assertThrows(MarshallingException.class, other::readByteBuffer);
+    }
+
+    @Test
+    public void testVariantAllocation() throws Exception {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled());
+
+        int entries = 200;
+        Map<String, Variant<?>> variants = new LinkedHashMap<>();
+        Map<String, Integer> plain = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            variants.put("Key" + i, new Variant<>(i));
+            plain.put("Key" + i, i);
+        }
+        MethodCall variantCall = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "a{sv}", variants);
+        variantCall.assignSerial(1);
+        MethodCall plainCall = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "a{si}", plain);
+        plainCall.assignSerial(1);
+        MethodCall largeCall = new MethodCall("org.dest", "/org/path", "org.iface", "Member", (byte) 0, "v",
+                new Variant<>(largeList(), "as"));
+        largeCall.assignSerial(1);
+
+        // small variants only add the Variant itself, their values are not copied
+        long variantBytes = measureDecoding(mx, flatten(variantCall), false);
+        long plainBytes = measureDecoding(mx, flatten(plainCall), false);
+        assertTrue((variantBytes - plainBytes) / entries < 100,
+                "Small variants allocate " + (variantBytes - plainBytes) / entries + " bytes each");
+
+        // large arrays are only decoded when they are read
+        long unread = measureDecoding(mx, flatten(largeCall), false);
+        long read = measureDecoding(mx, flatten(largeCall), true);
+        assertTrue(unread * 2 < read, "Unread variant allocated " + unread + " bytes, read variant " + read + " bytes");
+    }
+
+    /**
+     * Returns the lowest number of bytes allocated while decoding the parameters of the given message.
+     */
+    private static long measureDecoding(com.sun.management.ThreadMXBean _mx, byte[] _data, boolean _readVariants) throws Exception {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 2000; i++) {
+            Message msg = receive(_data);
+            long before = _mx.getCurrentThreadAllocatedBytes();
+            Object[] params = msg.getParameters();
+            if (_readVariants) {
+                for (Object param : params) {
+                    ((Variant<?>) param).getValue();
+                }
+            }
+            min = Math.min(min, _mx.getCurrentThreadAllocatedBytes() - before);
+        }
+        return min;
+    }
+
+    private static List<String> largeList() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            values.add(String.format("value-%02d", i));
+        }
+        return values;
+    }
+
+    private static byte[] flatten(Message _msg) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (byte[] b : _msg.getWireData()) {
+            bos.write(b);
+        }
+        return bos.toByteArray();
+    }
+
+    private static int indexOf(byte[] _data, byte[] _search) {
+        for (int i = 0; i <= _data.length - _search.length; i++) {
+            if (Arrays.equals(_data, i, i + _search.length, _search, 0, _search.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Message receive(Message _msg) throws Exception {
+        return receive(flatten(_msg));
+    }
+
+    private static Message receive(byte[] _data) throws Exception {
+        byte[] all = _data;
+        int headerLen = (int) Message.demarshallint(all, 12, all[0], 4);
+        int paddedLen = (headerLen + 7) & ~7;
+        byte[] header = new byte[paddedLen + 8];
+        System.arraycopy(all, 12, header, 0, 4);
+        System.arraycopy(all, 16, header, 8, paddedLen);
+
+        return MessageFactory.createMessage(all[1], Arrays.copyOfRange(all, 0, 12), header,
+                Arrays.copyOfRange(all, 16 + paddedLen, all.length), null);
+    }
+
 }
@@ -0,0 +1,104 @@
+package org.freedesktop.dbus.test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import org.freedesktop.dbus.ConversionPlan;
+import org.freedesktop.dbus.DBusMap;
+import org.freedesktop.dbus.Marshalling;
+import org.junit.jupiter.api.Test;
+
+public class DBusMapTest extends AbstractBaseTest {
+
+    @Test
+    public void testLookupAroundIndexThreshold() {
+        // maps with 16 or more entries use the hash index
+        for (int size : new int[] {15, 16, 17}) {
+            DBusMap<String, Integer> map = new DBusMap<>(createEntries(size));
+
+            assertEquals(size, map.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, map.get("key" + i), "Wrong value in map of size " + size);
+                assertTrue(map.containsKey("key" + i));
+            }
+            assertNull(map.get("key" + size));
+            assertFalse(map.containsKey("missing"));
+            assertNull(map.get(null));
+        }
+    }
+
+    @Test
+    public void testDuplicateKeysFirstWins() {
+        for (int size : new int[] {4, 20}) {
+            Object[][] entries = createEntries(size);
+            entries[size - 1][0] = "key1";
+            DBusMap<String, Integer> map = new DBusMap<>(entries);
+
+            assertEquals(1, map.get("key1"), "Wrong value in map of size " + size);
+        }
+    }
+
+    @Test
+    public void testCollidingAndNullKeys() {
+        for (int size : new int[] {4, 20}) {
+            Object[][] entries = createEntries(size);
+            // "Aa" and "BB" have the same hash code
+            entries[0][0] = "Aa";
+            entries[1][0] = "BB";
+            entries[2][0] = null;
+            DBusMap<String, Integer> map = new DBusMap<>(entries);
+
+            assertEquals(0, map.get("Aa"), "Wrong value in map of size " + size);
+            assertEquals(1, map.get("BB"), "Wrong value in map of size " + size);
+            assertEquals(2, map.get(null), "Wrong value in map of size " + size);
+            assertTrue(map.containsKey(null));
+            assertEquals(3, map.get("key3"));
+        }
+    }
+
+    @Test
+    public void testIndexUpdatedAfterKeyConversion() throws Exception {
+        Type[] types = MapSample.class.getDeclaredMethod("Update", Map.class).getGenericParameterTypes();
+
+        DBusMap<Object, Object> map = createLetterMap();
+        // build the index using the received keys
+        assertEquals(0, map.get("A"));
+        Object[] params = Marshalling.deSerializeParameters(new Object[] {map}, types, null);
+        assertSame(map, params[0]);
+        assertEquals(0, map.get(Letter.A));
+        assertEquals(19, map.get(Letter.T));
+        assertNull(map.get("A"));
+
+        DBusMap<Object, Object> planned = createLetterMap();
+        assertEquals(19, planned.get("T"));
+        ConversionPlan.create(types, "a{si}").apply(new Object[] {planned}, null);
+        assertEquals(19, planned.get(Letter.T));
+        assertNull(planned.get("T"));
+    }
+
+    private static Object[][] createEntries(int _size) {
+        Object[][] entries = new Object[_size][];
+        for (int i = 0; i < _size; i++) {
+            entries[i] = new Object[] {"key" + i, i};
+        }
+        return entries;
+    }
+
+    private static DBusMap<Object, Object> createLetterMap() {
+        Letter[] letters = Letter.values();
+        Object[][] entries = new Object[letters.length][];
+        for (int i = 0; i < letters.length; i++) {
+            entries[i] = new Object[] {letters[i].name(), i};
+        }
+        return new DBusMap<>(entries);
+    }
+
+    enum Letter {
+        A, B, C, D, E, F, G, H, I, J, K, L, M, N, O, P, Q, R, S, T
+    }
+
+    interface MapSample {
+        void Update(Map<Letter, Integer> _map);
+    }
+}
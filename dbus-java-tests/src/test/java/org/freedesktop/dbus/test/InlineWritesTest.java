@@ -0,0 +1,257 @@
+package org.freedesktop.dbus.test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.freedesktop.dbus.connections.impl.DirectConnection;
+import org.freedesktop.dbus.connections.impl.DirectConnectionBuilder;
+import org.freedesktop.dbus.connections.transports.TransportBuilder;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.exceptions.NotConnected;
+import org.freedesktop.dbus.interfaces.DBusInterface;
+import org.freedesktop.dbus.messages.DBusSignal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests connections writing messages on the sending thread ({@code withInlineWrites(true)}).
+ */
+public class InlineWritesTest extends AbstractBaseTest {
+
+    private static final int THREADS = 4;
+
+    @Test
+    public void testOrderWithQueuedMessages() throws Exception {
+        int perThread = 500;
+        String address = TransportBuilder.createDynamicSession(TransportBuilder.getRegisteredBusTypes().get(0), false);
+        Map<Integer, Integer> lastSeq = new ConcurrentHashMap<>();
+        List<String> errors = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(THREADS * perThread);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        Thread server = new Thread(() -> {
+            // one signal thread, so signals are handled in the order they were received
+            try (DirectConnection dc = DirectConnectionBuilder.forAddress(address + ",listen=true").withSignalThreadCount(1).build()) {
+                dc.addSigHandler(InlineSignals.Tick.class, s -> {
+                    Integer last = lastSeq.put(s.getThreadNo(), s.getSeq());
+                    if (last != null && last + 1 != s.getSeq()) {
+                        errors.add("Thread " + s.getThreadNo() + " sent " + s.getSeq() + " after " + last);
+                    }
+                    received.countDown();
+                });
+                dc.listen();
+                finished.await();
+            } catch (Exception _ex) {
+                _ex.printStackTrace();
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+        Thread.sleep(1000L);
+
+        // the batch window keeps messages queued, so inline writes have to wait for them
+        try (DirectConnection dc = DirectConnectionBuilder.forAddress(address)
+                .transportConfig().withInlineWrites(true).withWriteBatchWindow(200, TimeUnit.MICROSECONDS).back().build()) {
+            List<Thread> senders = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int sender = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            dc.sendMessage(new InlineSignals.Tick("/inline", sender, i));
+                        }
+                    } catch (DBusException _ex) {
+                        errors.add(_ex.toString());
+                    }
+                });
+                thread.start();
+                senders.add(thread);
+            }
+            for (Thread thread : senders) {
+                thread.join();
+            }
+
+            assertTrue(received.await(30, TimeUnit.SECONDS), "Not all signals received");
+            assertEquals(List.of(), errors);
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    @Test
+    public void testWriteErrorDoesNotStall() throws Exception {
+        String serverAddress = TransportBuilder.createDynamicSession("TCP", false);
+        Matcher port = Pattern.compile("port=(\\d+)").matcher(serverAddress);
+        assertTrue(port.find());
+        CountDownLatch handlerAdded = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        Thread server = new Thread(() -> {
+            try (DirectConnection dc = DirectConnectionBuilder.forAddress(serverAddress + ",listen=true").build()) {
+                dc.listen();
+                // the client answers this signal on a thread of its receiving service
+                handlerAdded.await();
+                dc.sendMessage(new InlineSignals.Ping("/inline"));
+                finished.await();
+            } catch (Exception _ex) {
+                _ex.printStackTrace();
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+        Thread.sleep(1000L);
+
+        try (ResettingProxy proxy = new ResettingProxy(Integer.parseInt(port.group(1)));
+            DirectConnection dc = DirectConnectionBuilder.forAddress(serverAddress.replace(port.group(), "port=" + proxy.getPort()))
+                .transportConfig().withInlineWrites(true).back().build()) {
+
+            // nothing is read from the client anymore, large writes block while holding the write lock
+            proxy.pause();
+            dc.addSigHandler(InlineSignals.Ping.class, s -> {
+                writing.countDown();
+                try {
+                    dc.sendMessage(new InlineSignals.Data("/inline", new byte[16 * 1024 * 1024]));
+                } catch (DBusException | NotConnected _ex) {
+                    // connection lost
+                }
+            });
+            handlerAdded.countDown();
+
+            assertTrue(writing.await(10, TimeUnit.SECONDS));
+            Thread.sleep(500L);
+            // queued, the sender thread waits for the write lock
+            dc.sendMessage(new InlineSignals.Tick("/inline", 0, 0));
+            Thread.sleep(200L);
+
+            long start = System.nanoTime();
+            proxy.reset();
+
+            while (dc.isConnected() && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+                Thread.sleep(10L);
+            }
+            assertFalse(dc.isConnected());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Disconnecting took too long");
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Forwards one TCP connection to the given port until the connection to the client is reset.
+     */
+    private static final class ResettingProxy implements Closeable {
+        private final ServerSocket serverSocket;
+        private final int          targetPort;
+        private volatile Socket    client;
+        private volatile Socket    target;
+        private volatile boolean   paused;
+
+        ResettingProxy(int _targetPort) throws IOException {
+            targetPort = _targetPort;
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::accept);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void accept() {
+            try {
+                client = serverSocket.accept();
+                target = new Socket("localhost", targetPort);
+                pump(client, target, true);
+                pump(target, client, false);
+            } catch (IOException _ex) {
+                // closed
+            }
+        }
+
+        private void pump(Socket _from, Socket _to, boolean _pausable) {
+            Thread thread = new Thread(() -> {
+                byte[] buf = new byte[8192];
+                try {
+                    int read;
+                    while ((read = _from.getInputStream().read(buf)) >= 0) {
+                        _to.getOutputStream().write(buf, 0, read);
+                        while (_pausable && paused) {
+                            Thread.sleep(10L);
+                        }
+                    }
+                } catch (IOException | InterruptedException _ex) {
+                    // closed
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Stops reading data sent by the client.
+         */
+        void pause() {
+            paused = true;
+        }
+
+        void reset() throws IOException {
+            client.setSoLinger(true, 0);
+            client.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (Socket socket : new Socket[] {client, target}) {
+                if (socket != null) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    public interface InlineSignals extends DBusInterface {
+        class Tick extends DBusSignal {
+            private final int sender;
+            private final int seq;
+
+            public Tick(String _path, int _sender, int _seq) throws DBusException {
+                super(_path, _sender, _seq);
+                sender = _sender;
+                seq = _seq;
+            }
+
+            public int getThreadNo() {
+                return sender;
+            }
+
+            public int getSeq() {
+                return seq;
+            }
+        }
+
+        class Data extends DBusSignal {
+            public Data(String _path, byte[] _data) throws DBusException {
+                super(_path, (Object) _data);
+            }
+        }
+
+        class Ping extends DBusSignal {
+            public Ping(String _path) throws DBusException {
+                super(_path);
+            }
+        }
+    }
+}
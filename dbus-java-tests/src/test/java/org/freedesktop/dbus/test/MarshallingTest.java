@@ -7,11 +7,14 @@ import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.freedesktop.dbus.ConversionPlan;
+import org.freedesktop.dbus.DBusMap;
 import org.freedesktop.dbus.DBusPath;
 import org.freedesktop.dbus.Marshalling;
 import org.freedesktop.dbus.ObjectPath;
@@ -103,6 +106,58 @@ public class MarshallingTest extends AbstractBaseTest {
         assertEquals(mt.getMessage(), "marked slot rootfs.1 as good", "Message does not match after deSerialization");
     }
     
+    @Test
+    public void testConversionPlan() throws Exception {
+        Method props = PlanSample.class.getDeclaredMethod("Props", Map.class);
+        assertTrue(ConversionPlan.forParameters(props, "a{sv}").isNoop(), "Map of variants should not require conversion");
+
+        Method update = PlanSample.class.getDeclaredMethod("Update", Map.class, List.class);
+        ConversionPlan plan = ConversionPlan.forParameters(update, "a{sv}ao");
+        assertFalse(plan.isNoop());
+        assertSame(plan, ConversionPlan.forParameters(update, "a{sv}ao"));
+
+        DBusMap<String, Variant<?>> map = new DBusMap<>(new Object[][] {{"Name", new Variant<>("x")}});
+        List<Object> paths = new ArrayList<>(List.of(new ObjectPath(null, "/a")));
+        Object[] params = plan.apply(new Object[] {map, paths}, null);
+
+        assertSame(map, params[0]);
+        assertEquals(DBusPath.class, ((List<?>) params[1]).get(0).getClass());
+        assertEquals("/a", ((DBusPath) ((List<?>) params[1]).get(0)).getPath());
+
+        // plans for different signatures do not replace each other
+        Method any = PlanSample.class.getDeclaredMethod("Any", Object.class);
+        ConversionPlan string = ConversionPlan.forParameters(any, "s");
+        ConversionPlan variant = ConversionPlan.forParameters(any, "v");
+        assertNotSame(string, variant);
+        assertSame(string, ConversionPlan.forParameters(any, "s"));
+        assertSame(variant, ConversionPlan.forParameters(any, "v"));
+    }
+
+    @Test
+    public void testByteBufferParameter() throws Exception {
+        assertEquals("ay", Marshalling.getDBusType(new Type[] {ByteBuffer.class}));
+
+        // received byte arrays are wrapped, not copied
+        byte[] data = {1, 2, 3};
+        Object[] params = Marshalling.deSerializeParameters(new Object[] {data}, new Type[] {ByteBuffer.class}, null);
+        assertInstanceOf(ByteBuffer.class, params[0]);
+        assertSame(data, ((ByteBuffer) params[0]).array());
+    }
+
+    @Test
+    public void testDeserializeStructWithWidening() throws Exception {
+        // int and float values have to be widened to match the constructor
+        Object[] params = Marshalling.deSerializeParameters(new Object[] {new Object[] {"wide", 5, 1.5f}},
+                new Type[] {WideningStruct.class}, null);
+
+        assertInstanceOf(WideningStruct.class, params[0]);
+        WideningStruct struct = (WideningStruct) params[0];
+        assertEquals("wide", struct.name);
+        assertEquals(5L, struct.count);
+        assertEquals(1.5d, struct.factor);
+        assertArrayEquals(new Object[] {"wide", 5L, 1.5d}, struct.getParameters());
+    }
+
     /*
      ****************************************** 
      *
@@ -174,7 +229,30 @@ public class MarshallingTest extends AbstractBaseTest {
         
     }
 
+    public static class WideningStruct extends Struct {
+        @Position(0)
+        private final String name;
+        @Position(1)
+        private final long count;
+        @Position(2)
+        private final double factor;
+
+        public WideningStruct(String _name, long _count, double _factor) {
+            name = _name;
+            count = _count;
+            factor = _factor;
+        }
+    }
+
     public interface Installer extends DBusInterface {
         public MarkTuple Mark(String state, String slotIdentifier);
     }
+
+    public interface PlanSample extends DBusInterface {
+        void Props(Map<String, Variant<?>> _props);
+
+        void Update(Map<String, Variant<?>> _props, List<DBusPath> _paths);
+
+        void Any(Object _value);
+    }
 }
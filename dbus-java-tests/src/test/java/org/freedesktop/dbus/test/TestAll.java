@@ -7,6 +7,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.freedesktop.dbus.DBusAsyncReply;
 import org.freedesktop.dbus.DBusMatchRule;
@@ -33,6 +36,7 @@ import org.freedesktop.dbus.test.helper.callbacks.handler.CallbackHandlerImpl;
 import org.freedesktop.dbus.test.helper.interfaces.SampleNewInterface;
 import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterface;
 import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterface2;
+import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterfaceAsync;
 import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterfaceEnum;
 import org.freedesktop.dbus.test.helper.interfaces.SampleRemoteInterfaceEnum.TestEnum;
 import org.freedesktop.dbus.test.helper.signals.SampleSignals;
@@ -474,6 +478,22 @@ public class TestAll extends AbstractDBusBaseTest {
 
     }
 
+    @Test
+    public void testCallWithFuture() throws Exception {
+        SampleRemoteInterface tri = (SampleRemoteInterface) clientconn.getRemoteObject("foo.bar.Test", TEST_OBJECT_PATH);
+        SampleRemoteInterfaceAsync async = clientconn.getAsyncView(tri, SampleRemoteInterfaceAsync.class);
+
+        CompletableFuture<String> name = async.getName();
+        CompletableFuture<String> error = async.getNameAndThrow();
+        CompletableFuture<Object> byName = clientconn.callMethodFuture(tri, "getName");
+
+        assertEquals(tri.getName(), name.get(5, TimeUnit.SECONDS));
+        assertEquals(name.get(), byName.get(5, TimeUnit.SECONDS));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> error.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SampleException.class, ex.getCause());
+    }
+
     @Test
     public void testCallWithCallback() throws DBusException, InterruptedException {
         SampleRemoteInterface tri = (SampleRemoteInterface) clientconn.getRemoteObject("foo.bar.Test", TEST_OBJECT_PATH);
@@ -0,0 +1,14 @@
+package org.freedesktop.dbus.test.helper.interfaces;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.freedesktop.dbus.interfaces.DBusInterface;
+
+/**
+ * Asynchronous view of some methods of {@link SampleRemoteInterface}.
+ */
+public interface SampleRemoteInterfaceAsync extends DBusInterface {
+    CompletableFuture<String> getName();
+
+    CompletableFuture<String> getNameAndThrow();
+}
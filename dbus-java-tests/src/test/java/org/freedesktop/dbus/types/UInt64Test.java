@@ -0,0 +1,108 @@
+package org.freedesktop.dbus.types;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.freedesktop.dbus.test.AbstractBaseTest;
+import org.junit.jupiter.api.Test;
+
+public class UInt64Test extends AbstractBaseTest {
+
+    private static final BigInteger LOWER_32_BITS = BigInteger.valueOf(0xFFFFFFFFL);
+
+    @Test
+    public void testValuesMatchBigInteger() {
+        for (BigInteger big : createValues()) {
+            UInt64 value = new UInt64(big);
+            String msg = "Wrong result for " + big;
+
+            assertEquals(big, value.value(), msg);
+            assertEquals(big.toString(), value.toString(), msg);
+            assertEquals(big.longValue(), value.longValue(), msg);
+            assertEquals(big.longValue(), value.bits(), msg);
+            assertEquals(big.intValue(), value.intValue(), msg);
+            assertEquals(big.shortValue(), value.shortValue(), msg);
+            assertEquals(big.byteValue(), value.byteValue(), msg);
+            assertEquals(big.doubleValue(), value.doubleValue(), msg);
+            assertEquals(big.floatValue(), value.floatValue(), msg);
+            assertEquals(big.shiftRight(32).longValue(), value.top(), msg);
+            assertEquals(big.and(LOWER_32_BITS).longValue(), value.bottom(), msg);
+
+            assertEquals(value, new UInt64(big.toString()), msg);
+            assertEquals(value, new UInt64(value.top(), value.bottom()), msg);
+            assertEquals(value, UInt64.fromBits(big.longValue()), msg);
+            assertEquals(value.hashCode(), UInt64.fromBits(value.bits()).hashCode(), msg);
+        }
+    }
+
+    @Test
+    public void testCompareUnsigned() {
+        List<BigInteger> values = createValues();
+        for (BigInteger a : values) {
+            for (BigInteger b : values) {
+                UInt64 ua = new UInt64(a);
+                UInt64 ub = new UInt64(b);
+                assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(ua.compareTo(ub)), "Wrong order of " + a + " and " + b);
+                assertEquals(a.equals(b), ua.equals(ub), "Wrong equality of " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    public void testMaxValue() {
+        UInt64 max = new UInt64(UInt64.MAX_BIG_VALUE);
+        assertEquals("18446744073709551615", max.toString());
+        assertEquals(-1L, max.bits());
+        assertEquals(0xFFFFFFFFL, max.top());
+        assertEquals(0xFFFFFFFFL, max.bottom());
+        assertEquals(max, UInt64.fromBits(-1L));
+        assertEquals(max, new UInt64(0xFFFFFFFFL, 0xFFFFFFFFL));
+        assertTrue(max.compareTo(new UInt64(UInt64.MAX_LONG_VALUE)) > 0);
+
+        assertThrows(NumberFormatException.class, () -> new UInt64(UInt64.MAX_BIG_VALUE.add(BigInteger.ONE)));
+        assertThrows(NumberFormatException.class, () -> new UInt64("18446744073709551616"));
+        assertThrows(NumberFormatException.class, () -> new UInt64(0x100000000L, 0));
+        assertThrows(NumberFormatException.class, () -> new UInt64(BigInteger.valueOf(-1)));
+        assertThrows(NumberFormatException.class, () -> new UInt64(-1L));
+        assertThrows(NumberFormatException.class, () -> new UInt64(-1L, 0));
+    }
+
+    @Test
+    public void testTopBottomConstructor() {
+        // parts outside of 32 bits are added like in the BigInteger calculation
+        assertEquals(new UInt64(BigInteger.ONE.shiftLeft(32).add(BigInteger.valueOf(5))), new UInt64(0, 0x100000005L));
+        assertEquals(new UInt64(0xFFFFFFFFL), new UInt64(1, -1));
+        assertEquals(new UInt64(0x1234567890L), new UInt64(0x12, 0x34567890L));
+    }
+
+    @Test
+    public void testValueOfCache() {
+        assertSame(UInt64.valueOf(0), UInt64.valueOf(0));
+        assertSame(UInt64.valueOf(255), UInt64.fromBits(255));
+        assertEquals(new UInt64(256), UInt64.valueOf(256));
+        assertThrows(NumberFormatException.class, () -> UInt64.valueOf(-1));
+    }
+
+    private static List<BigInteger> createValues() {
+        List<BigInteger> values = new ArrayList<>();
+        for (long l : new long[] {0, 1, 255, 256, 0xFFFFFFFFL, 0x100000000L, Long.MAX_VALUE - 1, Long.MAX_VALUE}) {
+            values.add(BigInteger.valueOf(l));
+        }
+        BigInteger highBit = BigInteger.ONE.shiftLeft(63);
+        values.add(highBit);
+        values.add(highBit.add(BigInteger.ONE));
+        // rounding to double and float depends on the lowest bits
+        values.add(highBit.add(BigInteger.valueOf(1025)));
+        values.add(highBit.add(BigInteger.valueOf(0x7FFFFFFFFFL)));
+        values.add(UInt64.MAX_BIG_VALUE.subtract(BigInteger.ONE));
+        values.add(UInt64.MAX_BIG_VALUE);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            values.add(new BigInteger(64, random));
+        }
+        return values;
+    }
+}
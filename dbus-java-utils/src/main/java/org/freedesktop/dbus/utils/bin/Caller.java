@@ -55,8 +55,8 @@ public final class Caller {
                 }
                 m = new MethodCall(_args[0], _args[1], _args[2], _args[3], (byte) 0, _args[4], os);
             }
-            long serial = m.getSerial();
             conn.writeMessage(m);
+            long serial = m.getSerial();
             do {
                 m = conn.readMessage();
             } while (serial != m.getReplySerial());